@@ -0,0 +1,305 @@
+package com.bretpatterson.schemagen.graphql.apt;
+
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLController;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLDescription;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLMutation;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLParam;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLQuery;
+import com.bretpatterson.schemagen.graphql.datafetchers.IMethodInvoker;
+import com.bretpatterson.schemagen.graphql.impl.AbstractGraphQLControllerMetadata;
+import com.bretpatterson.schemagen.graphql.impl.GraphQLControllerMetadataIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Annotation processor that generates an {@link AbstractGraphQLControllerMetadata} subclass for every {@link GraphQLController}
+ * annotated class and lists them in the {@link GraphQLControllerMetadataIndex#INDEX_RESOURCE} index. Schema generation uses the
+ * generated classes to find query and mutation methods without scanning the controller, to read their {@link GraphQLParam} and
+ * {@link GraphQLDescription} parameter annotations without reflection and to invoke them without reflection.
+ *
+ * Private controllers and private methods can't be called from generated code, these are left to the reflection based processing.
+ */
+public class GraphQLControllerProcessor extends AbstractProcessor {
+
+	static final String METADATA_CLASS_SUFFIX = "_GraphQLMetadata";
+
+	// controller binary name --> generated metadata class name
+	private final Map<String, String> index = new TreeMap<>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(GraphQLController.class.getName());
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(GraphQLController.class)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				continue;
+			}
+			TypeElement controller = (TypeElement) element;
+			if (!isAccessible(controller)) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+						"Controller is not accessible from generated code, it will be processed through reflection.", controller);
+				continue;
+			}
+			try {
+				index.put(processingEnv.getElementUtils().getBinaryName(controller).toString(), writeMetadata(controller));
+			} catch (IOException ex) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write GraphQL metadata: " + ex.getMessage(), controller);
+			}
+		}
+
+		if (roundEnv.processingOver() && !index.isEmpty()) {
+			writeIndex();
+		}
+		return false;
+	}
+
+	private boolean isAccessible(TypeElement type) {
+		Element current = type;
+		while (current.getKind().isClass() || current.getKind().isInterface()) {
+			if (current.getModifiers().contains(Modifier.PRIVATE)) {
+				return false;
+			}
+			current = current.getEnclosingElement();
+		}
+		return true;
+	}
+
+	private List<ExecutableElement> getMethodsWithAnnotation(TypeElement controller, Class<? extends Annotation> annotation) {
+		List<ExecutableElement> methods = new ArrayList<>();
+		for (ExecutableElement method : ElementFilter.methodsIn(controller.getEnclosedElements())) {
+			if (method.getAnnotation(annotation) != null) {
+				methods.add(method);
+			}
+		}
+		return methods;
+	}
+
+	private String writeMetadata(TypeElement controller) throws IOException {
+		PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(controller);
+		String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+		String controllerName = typeName(controller.asType());
+		String metadataSimpleName = getMetadataSimpleName(controller);
+		String metadataName = packageName.isEmpty() ? metadataSimpleName : packageName + "." + metadataSimpleName;
+
+		List<ExecutableElement> queries = getMethodsWithAnnotation(controller, GraphQLQuery.class);
+		List<ExecutableElement> mutations = getMethodsWithAnnotation(controller, GraphQLMutation.class);
+		List<ExecutableElement> methods = new ArrayList<>(queries);
+		methods.addAll(mutations);
+
+		JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(metadataName, controller);
+		try (PrintWriter out = new PrintWriter(sourceFile.openWriter())) {
+			if (!packageName.isEmpty()) {
+				out.println("package " + packageName + ";");
+				out.println();
+			}
+			out.println("/**");
+			out.println(" * GraphQL metadata for {@link " + controllerName + "}. Generated by " + getClass().getName() + ", do not edit.");
+			out.println(" */");
+			out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+			out.println("public final class " + metadataSimpleName + " extends " + AbstractGraphQLControllerMetadata.class.getName() + " {");
+			out.println();
+			out.println("\tpublic " + metadataSimpleName + "() {");
+			out.println("\t\tsuper(" + controllerName + ".class);");
+			out.println("\t}");
+			out.println();
+			writeMethodList(out, "loadQueryMethods", queries);
+			writeMethodList(out, "loadMutationMethods", mutations);
+			writeInvokers(out, controllerName, methods);
+			out.println();
+			writeParameterAnnotations(out, methods);
+			out.println("}");
+		}
+
+		return metadataName;
+	}
+
+	private void writeMethodList(PrintWriter out, String loaderName, List<ExecutableElement> methods) {
+		out.println("\t@Override");
+		out.println("\tprotected java.util.List<java.lang.reflect.Method> " + loaderName + "() {");
+		out.print("\t\treturn com.google.common.collect.ImmutableList.<java.lang.reflect.Method> of(");
+		for (int i = 0; i < methods.size(); i++) {
+			ExecutableElement method = methods.get(i);
+			out.print(i == 0 ? "\n" : ",\n");
+			out.print("\t\t\t\tmethod(\"" + method.getSimpleName() + "\"");
+			for (VariableElement parameter : method.getParameters()) {
+				out.print(", " + typeName(parameter.asType()) + ".class");
+			}
+			out.print(")");
+		}
+		out.println(");");
+		out.println("\t}");
+		out.println();
+	}
+
+	private void writeInvokers(PrintWriter out, String controllerName, List<ExecutableElement> methods) {
+		out.println("\t@Override");
+		out.println("\tprotected " + IMethodInvoker.class.getName() + " newMethodInvoker(int index) {");
+		out.println("\t\tswitch (index) {");
+		for (int i = 0; i < methods.size(); i++) {
+			ExecutableElement method = methods.get(i);
+			// private methods can only be invoked through reflection
+			if (method.getModifiers().contains(Modifier.PRIVATE)) {
+				continue;
+			}
+			out.println("\t\t\tcase " + i + ":");
+			out.println("\t\t\t\treturn new " + IMethodInvoker.class.getName() + "() {");
+			out.println("\t\t\t\t\t@Override");
+			out.println("\t\t\t\t\tpublic Object invoke(Object targetObject, Object[] arguments) throws Exception {");
+			StringBuilder call = new StringBuilder();
+			if (method.getModifiers().contains(Modifier.STATIC)) {
+				call.append(controllerName);
+			} else {
+				call.append("((").append(controllerName).append(") targetObject)");
+			}
+			call.append('.').append(method.getSimpleName()).append('(');
+			List<? extends VariableElement> parameters = method.getParameters();
+			for (int p = 0; p < parameters.size(); p++) {
+				if (p > 0) {
+					call.append(", ");
+				}
+				call.append('(').append(boxedTypeName(parameters.get(p).asType())).append(") arguments[").append(p).append(']');
+			}
+			call.append(')');
+			if (method.getReturnType().getKind() == TypeKind.VOID) {
+				out.println("\t\t\t\t\t\t" + call + ";");
+				out.println("\t\t\t\t\t\treturn null;");
+			} else {
+				out.println("\t\t\t\t\t\treturn " + call + ";");
+			}
+			out.println("\t\t\t\t\t}");
+			out.println("\t\t\t\t};");
+		}
+		out.println("\t\t\tdefault:");
+		out.println("\t\t\t\treturn null;");
+		out.println("\t\t}");
+		out.println("\t}");
+	}
+
+	private void writeParameterAnnotations(PrintWriter out, List<ExecutableElement> methods) {
+		out.println("\t@Override");
+		out.println("\tprotected java.lang.annotation.Annotation[][] loadParameterAnnotations(int index) {");
+		out.println("\t\tswitch (index) {");
+		for (int i = 0; i < methods.size(); i++) {
+			ExecutableElement method = methods.get(i);
+			// parameters with other annotations are read reflectively, so none of their annotations are missing
+			if (!hasOnlyGraphQLParameterAnnotations(method)) {
+				continue;
+			}
+			out.println("\t\t\tcase " + i + ":");
+			out.print("\t\t\t\treturn new java.lang.annotation.Annotation[][] {");
+			List<? extends VariableElement> parameters = method.getParameters();
+			for (int p = 0; p < parameters.size(); p++) {
+				out.print(p == 0 ? " " : ", ");
+				out.print("{ " + getParameterAnnotations(parameters.get(p)) + " }");
+			}
+			out.println(" };");
+		}
+		out.println("\t\t\tdefault:");
+		out.println("\t\t\t\treturn null;");
+		out.println("\t\t}");
+		out.println("\t}");
+	}
+
+	private boolean hasOnlyGraphQLParameterAnnotations(ExecutableElement method) {
+		for (VariableElement parameter : method.getParameters()) {
+			for (AnnotationMirror annotation : parameter.getAnnotationMirrors()) {
+				String annotationName = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+				if (!annotationName.equals(GraphQLParam.class.getName()) && !annotationName.equals(GraphQLDescription.class.getName())) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private String getParameterAnnotations(VariableElement parameter) {
+		StringBuilder rv = new StringBuilder();
+		GraphQLParam param = parameter.getAnnotation(GraphQLParam.class);
+		if (param != null) {
+			rv.append("param(").append(literal(param.name())).append(", ").append(literal(param.defaultValue())).append(", ").append(param.required()).append(')');
+		}
+		GraphQLDescription description = parameter.getAnnotation(GraphQLDescription.class);
+		if (description != null) {
+			rv.append(rv.length() > 0 ? ", " : "").append("description(").append(literal(description.value())).append(')');
+		}
+		return rv.toString();
+	}
+
+	private String literal(String value) {
+		return processingEnv.getElementUtils().getConstantExpression(value);
+	}
+
+	private void writeIndex() {
+		try {
+			FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", GraphQLControllerMetadataIndex.INDEX_RESOURCE);
+			try (Writer writer = resource.openWriter()) {
+				for (Map.Entry<String, String> entry : index.entrySet()) {
+					writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+				}
+			}
+		} catch (IOException ex) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + GraphQLControllerMetadataIndex.INDEX_RESOURCE + ": " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Nested controllers get their enclosing class names prepended, IE: Outer.Inner --> Outer_Inner_GraphQLMetadata
+	 */
+	private String getMetadataSimpleName(TypeElement controller) {
+		String name = controller.getSimpleName().toString();
+		Element enclosing = controller.getEnclosingElement();
+		while (controller.getNestingKind() == NestingKind.MEMBER && enclosing instanceof TypeElement) {
+			name = enclosing.getSimpleName() + "_" + name;
+			controller = (TypeElement) enclosing;
+			enclosing = controller.getEnclosingElement();
+		}
+		return name + METADATA_CLASS_SUFFIX;
+	}
+
+	private String typeName(TypeMirror type) {
+		return processingEnv.getTypeUtils().erasure(type).toString();
+	}
+
+	private String boxedTypeName(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString();
+		}
+		return typeName(type);
+	}
+}
@@ -0,0 +1,116 @@
+package com.bretpatterson.schemagen.graphql.apt;
+
+import com.bretpatterson.schemagen.graphql.GraphQLSchemaBuilder;
+import com.bretpatterson.schemagen.graphql.IGraphQLControllerMetadata;
+import com.bretpatterson.schemagen.graphql.datafetchers.IMethodInvoker;
+import com.bretpatterson.schemagen.graphql.impl.GraphQLControllerMetadataIndex;
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GraphQLControllerProcessorTest {
+
+	private static final String CONTROLLER_SOURCE = "package com.example;\n"
+			+ "import com.bretpatterson.schemagen.graphql.annotations.*;\n"
+			+ "@GraphQLController\n"
+			+ "public class EchoController {\n"
+			+ "\t@GraphQLQuery\n"
+			+ "\tpublic String echo(@GraphQLParam(name = \"value\", defaultValue = \"x\") @GraphQLDescription(\"The value\") String value,\n"
+			+ "\t\t\t@GraphQLParam(name = \"count\", required = true) int count) {\n"
+			+ "\t\tStringBuilder rv = new StringBuilder();\n"
+			+ "\t\tfor (int i = 0; i < count; i++) rv.append(value);\n"
+			+ "\t\treturn rv.toString();\n"
+			+ "\t}\n"
+			+ "\t@GraphQLQuery\n"
+			+ "\tpublic String deprecatedEcho(@Deprecated @GraphQLParam(name = \"value\") String value) {\n"
+			+ "\t\treturn value;\n"
+			+ "\t}\n"
+			+ "\t@GraphQLMutation\n"
+			+ "\tpublic static String reset() {\n"
+			+ "\t\treturn \"reset\";\n"
+			+ "\t}\n"
+			+ "}\n";
+
+	private File outputDirectory;
+	private ClassLoader classLoader;
+
+	@Before
+	public void compileController() throws IOException {
+		File sourceDirectory = Files.createTempDir();
+		outputDirectory = Files.createTempDir();
+		File source = new File(sourceDirectory, "com/example/EchoController.java");
+		assertTrue(source.getParentFile().mkdirs());
+		Files.write(CONTROLLER_SOURCE, source, Charsets.UTF_8);
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		int result = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"), "-processor",
+				GraphQLControllerProcessor.class.getName(), "-d", outputDirectory.getPath(), "-s", outputDirectory.getPath(), source.getPath());
+		assertEquals(0, result);
+		classLoader = new URLClassLoader(new URL[] { outputDirectory.toURI().toURL() }, getClass().getClassLoader());
+	}
+
+	@Test
+	public void testIndex() throws IOException {
+		File index = new File(outputDirectory, GraphQLControllerMetadataIndex.INDEX_RESOURCE);
+		assertEquals(ImmutableList.of("com.example.EchoController=com.example.EchoController_GraphQLMetadata"), Files.readLines(index, Charsets.UTF_8));
+	}
+
+	@Test
+	public void testMetadata() throws Exception {
+		Class<?> controllerClass = classLoader.loadClass("com.example.EchoController");
+		Optional<IGraphQLControllerMetadata> metadata = GraphQLControllerMetadataIndex.getMetadata(controllerClass);
+		assertTrue(metadata.isPresent());
+		Method echo = controllerClass.getMethod("echo", String.class, int.class);
+		Method deprecatedEcho = controllerClass.getMethod("deprecatedEcho", String.class);
+		Method reset = controllerClass.getMethod("reset");
+		assertEquals(ImmutableList.of(echo, deprecatedEcho), metadata.get().getQueryMethods());
+		assertEquals(ImmutableList.of(reset), metadata.get().getMutationMethods());
+
+		IMethodInvoker invoker = metadata.get().getMethodInvoker(echo).get();
+		assertEquals("abab", invoker.invoke(controllerClass.newInstance(), new Object[] { "ab", 2 }));
+		assertEquals("reset", metadata.get().getMethodInvoker(reset).get().invoke(null, new Object[0]));
+
+		// the generated annotations are equal to the ones read through reflection
+		Annotation[][] parameterAnnotations = metadata.get().getParameterAnnotations(echo).get();
+		assertTrue(Arrays.deepEquals(echo.getParameterAnnotations(), parameterAnnotations));
+		assertTrue(Arrays.deepEquals(parameterAnnotations, echo.getParameterAnnotations()));
+		assertEquals(echo.getParameterAnnotations()[0][0].hashCode(), parameterAnnotations[0][0].hashCode());
+		assertEquals(echo.getParameterAnnotations()[0][1].hashCode(), parameterAnnotations[0][1].hashCode());
+		// parameters with other annotations are read reflectively
+		assertFalse(metadata.get().getParameterAnnotations(deprecatedEcho).isPresent());
+	}
+
+	@Test
+	public void testSchema() throws Exception {
+		Object controller = classLoader.loadClass("com.example.EchoController").newInstance();
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerGraphQLControllerObjects(ImmutableList.of(controller))
+				.build();
+		assertEquals("The value", schema.getQueryType().getFieldDefinition("echo").getArgument("value").getDescription());
+
+		ExecutionResult result = new GraphQL(schema).execute("{ echo(count: 2) deprecatedEcho(value: \"y\") }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals(ImmutableMap.of("echo", "xx", "deprecatedEcho", "y"), result.getData());
+	}
+}
@@ -4,11 +4,11 @@ import com.bretpatterson.schemagen.graphql.annotations.GraphQLQuery;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLController;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
+import com.bretpatterson.schemagen.graphql.GraphQLExecutor;
 import com.bretpatterson.schemagen.graphql.GraphQLSchemaBuilder;
 import com.bretpatterson.schemagen.graphql.examples.common.JacksonTypeFactory;
 
 import graphql.ExecutionResult;
-import graphql.GraphQL;
 import graphql.schema.GraphQLSchema;
 
 /**
@@ -42,7 +42,7 @@ public class HelloWorld {
 		}
 
 		// now lets execute a query against the schema
-		ExecutionResult result = new GraphQL(schema).execute(queryString);
+		ExecutionResult result = new GraphQLExecutor(schema).execute(queryString);
 		if (result.getErrors().size() != 0) {
 			// if there are any errors serialize them using jackson and write them to stderr
 			System.err.println(objectMapper.writeValueAsString(result.getErrors()));
@@ -1,5 +1,6 @@
 package com.bretpatterson.schemagen.graphql.examples;
 
+import com.bretpatterson.schemagen.graphql.GraphQLExecutor;
 import com.bretpatterson.schemagen.graphql.GraphQLSchemaBuilder;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLController;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLIgnore;
@@ -11,7 +12,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import graphql.ExecutionResult;
-import graphql.GraphQL;
 import graphql.schema.GraphQLSchema;
 
 import java.io.BufferedReader;
@@ -50,6 +50,8 @@ public class KeyValueStoreController {
 				// register the instance of Hello World as our query handler
 				.registerGraphQLControllerObjects(ImmutableList.<Object> of(keyValueStoreController))
 				.build();
+		// parses and validates each distinct query once
+		GraphQLExecutor executor = new GraphQLExecutor(schema);
 
 		BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
 		do {
@@ -61,7 +63,7 @@ public class KeyValueStoreController {
 			}
 
 			// now lets execute a query against the schema
-			ExecutionResult result = new GraphQL(schema).execute(queryString);
+			ExecutionResult result = executor.execute(queryString);
 			if (result.getErrors().size() != 0) {
 				// if there are any errors serialize them using jackson and write them to stderr
 				System.err.println(objectMapper.writeValueAsString(result.getErrors()));
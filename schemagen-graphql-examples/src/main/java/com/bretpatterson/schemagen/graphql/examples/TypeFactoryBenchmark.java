@@ -0,0 +1,71 @@
+package com.bretpatterson.schemagen.graphql.examples;
+
+import com.bretpatterson.schemagen.graphql.ITypeFactory;
+import com.bretpatterson.schemagen.graphql.examples.common.JacksonTypeFactory;
+import com.bretpatterson.schemagen.graphql.examples.common.TokenBufferJacksonTypeFactory;
+import com.bretpatterson.schemagen.graphql.impl.NativeTypeFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of converting mutation arguments with the string based {@link JacksonTypeFactory}, the
+ * {@link TokenBufferJacksonTypeFactory} and the {@link NativeTypeFactory}. The number of iterations can be passed as the first argument.
+ */
+public class TypeFactoryBenchmark {
+
+	public static class Address {
+		public String street;
+		public String city;
+		public int zip;
+	}
+
+	public static class Customer {
+		public String name;
+		public long id;
+		public List<Address> addresses;
+		public Map<String, String> attributes;
+	}
+
+	public static void main(String[] args) {
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		ObjectMapper objectMapper = new ObjectMapper();
+
+		// the arguments as graphql coerces them, IE: the input object of a customer with two addresses
+		Map<String, Object> address = ImmutableMap.<String, Object> of("street", "1 Main St", "city", "Austin", "zip", 78701);
+		Map<String, Object> customer = ImmutableMap.<String, Object> of("name", "customer", "id", 12L, "addresses",
+				ImmutableList.of(address, address), "attributes", ImmutableMap.of("tier", "gold"));
+		@SuppressWarnings("serial")
+		Type customersType = new TypeToken<List<Customer>>() {
+		}.getType();
+		List<Object> customers = ImmutableList.<Object> of(customer, customer, customer);
+
+		Map<String, ITypeFactory> typeFactories = ImmutableMap.of(
+				"JacksonTypeFactory", new JacksonTypeFactory(objectMapper),
+				"TokenBufferJacksonTypeFactory", new TokenBufferJacksonTypeFactory(objectMapper),
+				"NativeTypeFactory", new NativeTypeFactory());
+		for (Map.Entry<String, ITypeFactory> typeFactory : typeFactories.entrySet()) {
+			// warm up the caches and the jit before measuring
+			run(typeFactory.getValue(), customersType, customers, iterations);
+			long nanos = run(typeFactory.getValue(), customersType, customers, iterations);
+			System.out.println(String.format("%-30s %10d ns/op", typeFactory.getKey(), nanos / iterations));
+		}
+	}
+
+	private static long run(ITypeFactory typeFactory, Type type, Object value, int iterations) {
+		Stopwatch stopwatch = Stopwatch.createStarted();
+		for (int i = 0; i < iterations; i++) {
+			if (typeFactory.convertToType(type, value) == null) {
+				throw new IllegalStateException("Conversion failed");
+			}
+		}
+		return stopwatch.elapsed(TimeUnit.NANOSECONDS);
+	}
+}
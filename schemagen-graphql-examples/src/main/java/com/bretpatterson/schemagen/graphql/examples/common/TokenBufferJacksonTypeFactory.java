@@ -0,0 +1,46 @@
+package com.bretpatterson.schemagen.graphql.examples.common;
+
+import com.bretpatterson.schemagen.graphql.ITypeFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Jackson based type factory that converts the GraphQL generic structures through a {@link TokenBuffer} instead of a JSON string. The
+ * JavaType and reader of every type are created once and reused, so conversions keep the deserializers registered with the object mapper.
+ */
+public class TokenBufferJacksonTypeFactory implements ITypeFactory {
+	private final ObjectMapper objectMapper;
+	private final ConcurrentMap<Type, ObjectReader> readers = Maps.newConcurrentMap();
+
+	public TokenBufferJacksonTypeFactory(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public Object convertToType(Type type, Object arg) {
+		try {
+			// the buffer holds the tokens of the value, which the reader of the type reads back without any text
+			TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+			objectMapper.writeValue(buffer, arg);
+			return getReader(type).readValue(buffer.asParser());
+		} catch (IOException ex) {
+			return Throwables.propagate(ex);
+		}
+	}
+
+	private ObjectReader getReader(Type type) {
+		ObjectReader rv = readers.get(type);
+		if (rv == null) {
+			rv = objectMapper.reader(objectMapper.getTypeFactory().constructType(type));
+			readers.putIfAbsent(type, rv);
+		}
+		return rv;
+	}
+}
@@ -0,0 +1,120 @@
+package com.bretpatterson.schemagen.graphql.examples.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.TypeToken;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@link TokenBufferJacksonTypeFactory} converts values the same way the string based {@link JacksonTypeFactory} does.
+ */
+public class TokenBufferJacksonTypeFactoryTest {
+
+	private ObjectMapper objectMapper;
+	private JacksonTypeFactory jacksonTypeFactory;
+	private TokenBufferJacksonTypeFactory tokenBufferTypeFactory;
+
+	public static class Price {
+		public final long cents;
+
+		public Price(long cents) {
+			this.cents = cents;
+		}
+	}
+
+	public static class Address {
+		public String street;
+		public int zip;
+	}
+
+	public static class Customer {
+		public String name;
+		public long id;
+		public Double rating;
+		public TimeUnit unit;
+		public Price limit;
+		public List<Address> addresses;
+		public Map<String, String> attributes;
+	}
+
+	@Before
+	public void setup() {
+		SimpleModule module = new SimpleModule();
+		// a custom deserializer, which both type factories must use
+		module.addDeserializer(Price.class, new JsonDeserializer<Price>() {
+			@Override
+			public Price deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+				return new Price(Math.round(Double.parseDouble(parser.getText()) * 100));
+			}
+		});
+		objectMapper = new ObjectMapper().registerModule(module);
+		jacksonTypeFactory = new JacksonTypeFactory(objectMapper);
+		tokenBufferTypeFactory = new TokenBufferJacksonTypeFactory(objectMapper);
+	}
+
+	private void assertSameConversion(Type type, Object value) throws IOException {
+		Object expected = jacksonTypeFactory.convertToType(type, value);
+		Object actual = tokenBufferTypeFactory.convertToType(type, value);
+		if (expected == null) {
+			assertNull(actual);
+			return;
+		}
+		assertEquals(expected.getClass(), actual.getClass());
+		assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(actual));
+	}
+
+	@Test
+	public void testScalars() throws IOException {
+		assertSameConversion(String.class, "value");
+		assertSameConversion(Integer.class, 12);
+		assertSameConversion(Long.class, 12);
+		assertSameConversion(long.class, 12L);
+		assertSameConversion(Double.class, 1.5);
+		assertSameConversion(Float.class, 1.5);
+		assertSameConversion(Boolean.class, true);
+		assertSameConversion(TimeUnit.class, "SECONDS");
+		assertSameConversion(String.class, null);
+	}
+
+	@SuppressWarnings("serial")
+	@Test
+	public void testObjects() throws IOException {
+		Map<String, Object> address = ImmutableMap.<String, Object> of("street", "1 Main St", "zip", 78701);
+		Map<String, Object> customer = ImmutableMap.<String, Object> builder()
+				.put("name", "customer")
+				.put("id", 12)
+				.put("rating", 4)
+				.put("unit", "DAYS")
+				.put("limit", "12.5")
+				.put("addresses", ImmutableList.of(address, address))
+				.put("attributes", ImmutableMap.of("tier", "gold"))
+				.build();
+
+		assertSameConversion(Customer.class, customer);
+		assertSameConversion(new TypeToken<List<Customer>>() {
+		}.getType(), ImmutableList.of(customer, customer));
+		assertSameConversion(new TypeToken<Map<String, Address>>() {
+		}.getType(), ImmutableMap.of("home", address));
+
+		Customer converted = (Customer) tokenBufferTypeFactory.convertToType(Customer.class, customer);
+		assertEquals(1250, converted.limit.cents);
+		assertEquals(TimeUnit.DAYS, converted.unit);
+		assertTrue(converted.addresses.get(0) instanceof Address);
+	}
+}
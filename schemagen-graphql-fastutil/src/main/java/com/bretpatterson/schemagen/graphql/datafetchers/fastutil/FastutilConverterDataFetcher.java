@@ -0,0 +1,160 @@
+package com.bretpatterson.schemagen.graphql.datafetchers.fastutil;
+
+import com.bretpatterson.schemagen.graphql.GraphQLSchemaBuilder;
+import com.bretpatterson.schemagen.graphql.datafetchers.DefaultTypeConverter;
+import com.bretpatterson.schemagen.graphql.datafetchers.ScalarList;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import graphql.Scalars;
+import graphql.schema.DataFetcher;
+import it.unimi.dsi.fastutil.doubles.DoubleCollection;
+import it.unimi.dsi.fastutil.doubles.DoubleList;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.IntCollection;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongList;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Type converter of fastutil primitive collections and maps. Primitive lists are exposed as a {@link ScalarList} view that reads the
+ * primitive values directly, other primitive collections are iterated as they are. The entries of {@link Int2ObjectMap}s and
+ * {@link Long2ObjectMap}s are iterated with their fast iterator when the map has one, which doesn't allocate an entry per value.
+ *
+ * Register the type converters returned by {@link #getDefaultTypeConverters()} with
+ * {@link GraphQLSchemaBuilder#registerDefaultTypeConverters(Map)} to use it.
+ */
+public class FastutilConverterDataFetcher extends DefaultTypeConverter {
+
+	public FastutilConverterDataFetcher(DataFetcher dataFetcher) {
+		super(dataFetcher);
+	}
+
+	/**
+	 * The default type converters of {@link GraphQLSchemaBuilder} and this converter for the fastutil types it handles. The converters of the
+	 * most specific types are last, so they take precedence.
+	 * @return
+	 */
+	public static Map<Class<?>, Class<? extends DefaultTypeConverter>> getDefaultTypeConverters() {
+		return ImmutableMap.<Class<?>, Class<? extends DefaultTypeConverter>>builder()
+				.putAll(GraphQLSchemaBuilder.getDefaultTypeConverters())
+				.put(IntCollection.class, FastutilConverterDataFetcher.class)
+				.put(LongCollection.class, FastutilConverterDataFetcher.class)
+				.put(DoubleCollection.class, FastutilConverterDataFetcher.class)
+				.put(Int2ObjectMap.class, FastutilConverterDataFetcher.class)
+				.put(Long2ObjectMap.class, FastutilConverterDataFetcher.class)
+				.build();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Object convert(Object value) {
+		if (value == null) {
+			return ImmutableList.of();
+		}
+		if (value instanceof IntList) {
+			return new IntListView((IntList) value);
+		} else if (value instanceof LongList) {
+			return new LongListView((LongList) value);
+		} else if (value instanceof DoubleList) {
+			return new DoubleListView((DoubleList) value);
+		} else if (value instanceof Int2ObjectMap) {
+			Iterable<?> entries = ((Int2ObjectMap<Object>) value).int2ObjectEntrySet();
+			if (entries instanceof Int2ObjectMap.FastEntrySet) {
+				return new FastIterable(((Int2ObjectMap.FastEntrySet<Object>) entries).fastIterator());
+			}
+			return entries;
+		} else if (value instanceof Long2ObjectMap) {
+			Iterable<?> entries = ((Long2ObjectMap<Object>) value).long2ObjectEntrySet();
+			if (entries instanceof Long2ObjectMap.FastEntrySet) {
+				return new FastIterable(((Long2ObjectMap.FastEntrySet<Object>) entries).fastIterator());
+			}
+			return entries;
+		}
+
+		return value;
+	}
+
+	private static final class IntListView extends ScalarList {
+		private final IntList list;
+
+		IntListView(IntList list) {
+			super(Scalars.GraphQLInt);
+			this.list = list;
+		}
+
+		@Override
+		public Object get(int index) {
+			return list.getInt(index);
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+	}
+
+	private static final class LongListView extends ScalarList {
+		private final LongList list;
+
+		LongListView(LongList list) {
+			super(Scalars.GraphQLLong);
+			this.list = list;
+		}
+
+		@Override
+		public Object get(int index) {
+			return list.getLong(index);
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+	}
+
+	private static final class DoubleListView extends ScalarList {
+		private final DoubleList list;
+
+		DoubleListView(DoubleList list) {
+			super(Scalars.GraphQLFloat);
+			this.list = list;
+		}
+
+		@Override
+		public Object get(int index) {
+			return toFloat(list.getDouble(index));
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+	}
+
+	/**
+	 * Iterable of a fast iterator, which returns the same entry object for every entry and can only be iterated once. The key and value of
+	 * each entry are fetched before the next entry is completed.
+	 */
+	private static final class FastIterable implements Iterable<Object> {
+		private Iterator<?> iterator;
+
+		FastIterable(Iterator<?> iterator) {
+			this.iterator = iterator;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public synchronized Iterator<Object> iterator() {
+			if (iterator == null) {
+				throw new IllegalStateException("The entries have already been iterated.");
+			}
+			Iterator<?> rv = iterator;
+			iterator = null;
+			return (Iterator<Object>) rv;
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.bretpatterson.schemagen.graphql.typemappers.it.unimi.dsi.fastutil.ints;
+
+import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.datafetchers.fastutil.FastutilConverterDataFetcher;
+import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
+import graphql.Scalars;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLOutputType;
+import it.unimi.dsi.fastutil.ints.IntCollection;
+
+import java.lang.reflect.Type;
+
+/**
+ * Interface type mapper for all int collections, IE: IntList. Maps them to a GraphQLList of Ints, the values are read without boxing
+ * them up front when the {@link FastutilConverterDataFetcher} is registered as their type converter.
+ */
+@GraphQLTypeMapper(type = IntCollection.class)
+public class IntCollectionMapper implements IGraphQLTypeMapper {
+	@Override
+	public boolean handlesType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		Class<?> typeClass = graphQLObjectMapper.getClassFromType(type);
+		return IntCollection.class.isAssignableFrom(typeClass);
+	}
+
+	@Override
+	public GraphQLOutputType getOutputType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		return new GraphQLList(Scalars.GraphQLInt);
+	}
+
+	@Override
+	public GraphQLInputType getInputType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		return new GraphQLList(Scalars.GraphQLInt);
+	}
+}
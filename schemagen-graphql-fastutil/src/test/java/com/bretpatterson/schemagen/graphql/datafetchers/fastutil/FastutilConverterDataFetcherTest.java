@@ -0,0 +1,124 @@
+package com.bretpatterson.schemagen.graphql.datafetchers.fastutil;
+
+import com.bretpatterson.schemagen.graphql.GraphQLSchemaBuilder;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLController;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLQuery;
+import com.bretpatterson.schemagen.graphql.datafetchers.ScalarList;
+import com.bretpatterson.schemagen.graphql.impl.FutureExecutionStrategy;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.Scalars;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLSchema;
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.doubles.DoubleList;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FastutilConverterDataFetcherTest {
+
+	private GraphQLSchema schema;
+
+	@GraphQLController
+	public static class FastutilController {
+		@GraphQLQuery
+		public IntList ints() {
+			return new IntArrayList(new int[] { 1, 2 });
+		}
+
+		@GraphQLQuery
+		public LongList longs() {
+			return new LongArrayList(new long[] { 3L });
+		}
+
+		@GraphQLQuery
+		public DoubleList doubles() {
+			return new DoubleArrayList(new double[] { 0.5, Double.NaN });
+		}
+
+		@GraphQLQuery
+		public IntSet intSet() {
+			return new IntOpenHashSet(new int[] { 4 });
+		}
+
+		@GraphQLQuery
+		public Int2ObjectMap<String> names() {
+			Int2ObjectMap<String> rv = new Int2ObjectLinkedOpenHashMap<>();
+			rv.put(1, "a");
+			rv.put(2, "b");
+			return rv;
+		}
+
+		@GraphQLQuery
+		public Long2ObjectMap<String> ids() {
+			Long2ObjectMap<String> rv = new Long2ObjectOpenHashMap<>();
+			rv.put(5L, "c");
+			return rv;
+		}
+	}
+
+	@Before
+	public void setUp() {
+		schema = GraphQLSchemaBuilder.newBuilder()
+				.registerDefaultTypeConverters(FastutilConverterDataFetcher.getDefaultTypeConverters())
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new FastutilController()))
+				.build();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testPrimitiveLists() {
+		assertEquals(new GraphQLList(Scalars.GraphQLInt), schema.getQueryType().getFieldDefinition("ints").getType());
+		assertEquals(new GraphQLList(Scalars.GraphQLLong), schema.getQueryType().getFieldDefinition("longs").getType());
+		assertEquals(new GraphQLList(Scalars.GraphQLFloat), schema.getQueryType().getFieldDefinition("doubles").getType());
+		assertEquals(new GraphQLList(Scalars.GraphQLInt), schema.getQueryType().getFieldDefinition("intSet").getType());
+
+		String query = "{ ints longs doubles intSet }";
+		ExecutionResult completed = new GraphQL(schema).execute(query);
+		assertEquals(completed.getErrors().toString(), 0, completed.getErrors().size());
+		Map<String, Object> data = completed.getData();
+		assertEquals(ImmutableList.of(1, 2), data.get("ints"));
+		assertEquals(ImmutableList.of(3L), data.get("longs"));
+		assertEquals(Lists.newArrayList(0.5, null), data.get("doubles"));
+		assertEquals(ImmutableList.of(4), data.get("intSet"));
+
+		// the future strategy returns the views of the lists instead of completing each value
+		ExecutionResult result = new GraphQL(schema, new FutureExecutionStrategy()).execute(query);
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals(data, result.getData());
+		for (String field : ImmutableList.of("ints", "longs", "doubles")) {
+			ScalarList view = (ScalarList) ((Map<String, Object>) result.getData()).get(field);
+			assertSame(((GraphQLList) schema.getQueryType().getFieldDefinition(field).getType()).getWrappedType(), view.getScalarType());
+		}
+	}
+
+	@Test
+	public void testMapEntries() {
+		// the fast iterator returns the same entry for every key, each entry is completed before the next one is read
+		for (GraphQL graphQL : ImmutableList.of(new GraphQL(schema), new GraphQL(schema, new FutureExecutionStrategy()))) {
+			ExecutionResult result = graphQL.execute("{ names { key value } ids { key value } }");
+			assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+			assertEquals(ImmutableMap.of(
+					"names", ImmutableList.of(ImmutableMap.of("key", 1, "value", "a"), ImmutableMap.of("key", 2, "value", "b")),
+					"ids", ImmutableList.of(ImmutableMap.of("key", 5L, "value", "c"))), result.getData());
+		}
+	}
+}
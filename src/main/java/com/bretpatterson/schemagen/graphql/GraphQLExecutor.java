@@ -0,0 +1,158 @@
+package com.bretpatterson.schemagen.graphql;
+
+import com.bretpatterson.schemagen.graphql.impl.FutureExecutionStrategy;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.InvalidSyntaxError;
+import graphql.execution.Execution;
+import graphql.execution.ExecutionId;
+import graphql.execution.ExecutionStrategy;
+import graphql.execution.instrumentation.NoOpInstrumentation;
+import graphql.language.Document;
+import graphql.language.SourceLocation;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.Validator;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Executes queries against a schema like {@link GraphQL}, but parses and validates each distinct query string once. The documents, or
+ * the errors of invalid queries, are cached by query string and the least recently used are evicted once the cache is full. The
+ * executor is thread safe and should be shared by all queries of the schema.
+ */
+public class GraphQLExecutor {
+
+	public static final long DEFAULT_MAX_DOCUMENTS = 1000;
+
+	private final GraphQLSchema schema;
+	private final Execution execution;
+	private final Cache<String, ValidatedDocument> documents;
+
+	/**
+	 * The document of a query string, and its syntax or validation errors.
+	 */
+	private static final class ValidatedDocument {
+		final Document document;
+		final List<GraphQLError> errors;
+
+		ValidatedDocument(Document document, List<? extends GraphQLError> errors) {
+			this.document = document;
+			this.errors = ImmutableList.copyOf(errors);
+		}
+	}
+
+	public GraphQLExecutor(GraphQLSchema schema) {
+		this(schema, null);
+	}
+
+	/**
+	 * A {@link FutureExecutionStrategy} also executes the mutations, which it keeps serial, so their futures are completed as well.
+	 * @param schema the schema
+	 * @param queryStrategy the strategy queries are executed with, or null for the default strategy
+	 */
+	public GraphQLExecutor(GraphQLSchema schema, ExecutionStrategy queryStrategy) {
+		this(schema, queryStrategy, queryStrategy instanceof FutureExecutionStrategy ? queryStrategy : null, DEFAULT_MAX_DOCUMENTS);
+	}
+
+	/**
+	 * @param schema the schema
+	 * @param queryStrategy the strategy queries are executed with, or null for the default strategy
+	 * @param mutationStrategy the strategy mutations are executed with, or null for the default strategy
+	 * @param maxDocuments the maximum number of query strings whose documents are cached
+	 */
+	public GraphQLExecutor(GraphQLSchema schema, ExecutionStrategy queryStrategy, ExecutionStrategy mutationStrategy, long maxDocuments) {
+		this.schema = Preconditions.checkNotNull(schema);
+		this.execution = new Execution(queryStrategy, mutationStrategy, NoOpInstrumentation.INSTANCE);
+		this.documents = CacheBuilder.newBuilder().maximumSize(maxDocuments).recordStats().build();
+	}
+
+	public GraphQLSchema getSchema() {
+		return schema;
+	}
+
+	public ExecutionResult execute(String requestString) {
+		return execute(requestString, null);
+	}
+
+	public ExecutionResult execute(String requestString, Object context) {
+		return execute(requestString, null, context, Collections.<String, Object> emptyMap());
+	}
+
+	public ExecutionResult execute(String requestString, String operationName, Object context) {
+		return execute(requestString, operationName, context, Collections.<String, Object> emptyMap());
+	}
+
+	public ExecutionResult execute(String requestString, Object context, Map<String, Object> arguments) {
+		return execute(requestString, null, context, arguments);
+	}
+
+	public ExecutionResult execute(String requestString, String operationName, Object context, Map<String, Object> arguments) {
+		ValidatedDocument document = getDocument(requestString);
+		if (!document.errors.isEmpty()) {
+			return new ExecutionResultImpl(document.errors);
+		}
+		return execution.execute(ExecutionId.generate(), schema, context, document.document, operationName, arguments);
+	}
+
+	private ValidatedDocument getDocument(final String requestString) {
+		Preconditions.checkNotNull(requestString, "requestString can't be null");
+		try {
+			return documents.get(requestString, new Callable<ValidatedDocument>() {
+				@Override
+				public ValidatedDocument call() {
+					return parse(requestString);
+				}
+			});
+		} catch (ExecutionException | UncheckedExecutionException ex) {
+			throw Throwables.propagate(ex.getCause());
+		}
+	}
+
+	private ValidatedDocument parse(String requestString) {
+		Document document;
+		try {
+			document = new Parser().parseDocument(requestString);
+		} catch (ParseCancellationException ex) {
+			RecognitionException recognitionException = (RecognitionException) ex.getCause();
+			SourceLocation sourceLocation = new SourceLocation(recognitionException.getOffendingToken().getLine(),
+					recognitionException.getOffendingToken().getCharPositionInLine());
+			return new ValidatedDocument(null, ImmutableList.of(new InvalidSyntaxError(sourceLocation)));
+		}
+		return new ValidatedDocument(document, new Validator().validateDocument(schema, document));
+	}
+
+	/**
+	 * The hit, miss and eviction counters of the document cache.
+	 * @return
+	 */
+	public CacheStats getDocumentCacheStats() {
+		return documents.stats();
+	}
+
+	public long getDocumentCacheSize() {
+		return documents.size();
+	}
+
+	/**
+	 * Remove all cached documents, IE: after the schema changed.
+	 */
+	public void invalidateDocuments() {
+		documents.invalidateAll();
+	}
+}
@@ -1,13 +1,20 @@
 package com.bretpatterson.schemagen.graphql;
 
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLCacheable;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLController;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLDescription;
-import com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeMapper;
 import com.bretpatterson.schemagen.graphql.datafetchers.CollectionConverterDataFetcher;
+import com.bretpatterson.schemagen.graphql.datafetchers.DataFetcherExecutor;
 import com.bretpatterson.schemagen.graphql.datafetchers.DefaultTypeConverter;
+import com.bretpatterson.schemagen.graphql.datafetchers.FieldResultCaches;
 import com.bretpatterson.schemagen.graphql.datafetchers.IDataFetcher;
 import com.bretpatterson.schemagen.graphql.datafetchers.MapConverterDataFetcher;
+import com.bretpatterson.schemagen.graphql.datafetchers.PrimitiveArrayConverterDataFetcher;
+import com.bretpatterson.schemagen.graphql.impl.FutureExecutionStrategy;
 import com.bretpatterson.schemagen.graphql.impl.GraphQLObjectMapper;
+import com.bretpatterson.schemagen.graphql.impl.GraphQLSchemaBuildProfiler;
+import com.bretpatterson.schemagen.graphql.impl.GraphQLSchemaSnapshot;
+import com.bretpatterson.schemagen.graphql.impl.GraphQLTypeMapperIndex;
 import com.bretpatterson.schemagen.graphql.impl.SimpleTypeFactory;
 import com.bretpatterson.schemagen.graphql.relay.IRelayNodeFactory;
 import com.bretpatterson.schemagen.graphql.relay.annotations.RelayNodeFactory;
@@ -16,23 +23,40 @@ import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
 import com.bretpatterson.schemagen.graphql.utils.AnnotationUtils;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
-import com.google.common.base.Throwables;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
-import com.google.common.reflect.ClassPath;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLModifiedType;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Main interface to generating your GraphQLSchema. This builder object allows you to configure your environment.
@@ -53,10 +77,10 @@ public class GraphQLSchemaBuilder {
 	private static final Logger LOGGER = LoggerFactory.getLogger(GraphQLSchemaBuilder.class);
 
 	private GraphQLSchema schema;
-	private GraphQLObjectType.Builder rootQueryBuilder;
-	private GraphQLObjectType.Builder rootMutationBuilder;
 	private GraphQLObjectMapper graphQLObjectMapper;
 	private List<Object> graphQLControllers = new LinkedList<>();
+	// fields of each controller in the current schema, null when the schema was restored from a snapshot
+	private List<ControllerFields> controllerFields;
 	private List<IGraphQLTypeMapper> typeMappers = new LinkedList<>();
 	private Optional<ITypeNamingStrategy> typeNamingStrategy = Optional.absent();
 	private Optional<IDataFetcherFactory> dataFetcherFactory = Optional.absent();
@@ -65,20 +89,18 @@ public class GraphQLSchemaBuilder {
 	private RelayDefaultNodeHandler.Builder relayDefaultNodeHandler = RelayDefaultNodeHandler.builder();
 	private List<Class<?>> relayNodeTypes = Lists.newArrayList();
 	private ITypeFactory typeFactory = new SimpleTypeFactory();
-	private ClassLoader classLoader;
-	private ClassPath classPath;
 	private boolean relayEnabled = false;
+	private boolean typeMapperScanningEnabled = false;
+	private Optional<ForkJoinPool> forkJoinPool = Optional.absent();
+	private Optional<File> schemaSnapshotDirectory = Optional.absent();
+	private Optional<GraphQLSchemaBuildProfiler> buildProfiler = Optional.absent();
+	private Optional<DataFetcherExecutor> dataFetcherExecutor = Optional.absent();
+	private FieldResultCaches fieldResultCaches = new FieldResultCaches();
+	// the default type mappers and the relay node handler are only added by the first build
+	private boolean defaultsAdded = false;
 
 	public GraphQLSchemaBuilder() {
-		this.rootQueryBuilder = GraphQLObjectType.newObject().name("Query").description("Root of Query Schema");
-		this.rootMutationBuilder = GraphQLObjectType.newObject().name("Mutation").description("Root of Mutation Schema");
 		this.defaultTypeConverters = getDefaultTypeConverters();
-		try {
-			classLoader = getClass().getClassLoader();
-			classPath = ClassPath.from(classLoader);
-		} catch (IOException ex) {
-			Throwables.propagate(ex);
-		}
 	}
 
 	public static GraphQLSchemaBuilder newBuilder() {
@@ -172,6 +194,7 @@ public class GraphQLSchemaBuilder {
 	 * By default we incldue the following type converters.
 	 * Collection {@literal --->} List
 	 * Map        {@literal --->} List  (list of entries)
+	 * int[], long[], float[], double[], boolean[] {@literal --->} List (view of the array)
 	 *
 	 * These are essentially DataFetchers that delegate to another datafetcher and then convert the returned value.
 	 * @param typeConverters mpa of the types to type converters.
@@ -189,106 +212,504 @@ public class GraphQLSchemaBuilder {
 		return this;
 	}
 
+	/**
+	 * Default type mappers are discovered from the {@link GraphQLTypeMapperIndex#INDEX_RESOURCE} files on the classpath. When enabled
+	 * the classpath is also scanned for {@link com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeMapper} annotated classes
+	 * in the type mapper package that aren't listed in an index. Scanning reads every jar on the classpath so it is disabled by default.
+	 *
+	 * @param typeMapperScanningEnabled true to scan the classpath for type mappers when building the schema
+	 * @return
+	 */
+	public GraphQLSchemaBuilder typeMapperScanningEnabled(boolean typeMapperScanningEnabled) {
+		this.typeMapperScanningEnabled = typeMapperScanningEnabled;
+
+		return this;
+	}
+
+	/**
+	 * Build the schema in parallel using the specified pool. Each controller's queries and mutations are built as separate tasks and the
+	 * fields of the types they reference are resolved concurrently. The generated schema is the same as a sequential build, root fields are
+	 * added in controller registration order.
+	 *
+	 * All registered type mappers, type naming strategies and data fetcher factories must be thread safe when building in parallel.
+	 *
+	 * @param forkJoinPool the pool to build the schema with, or null to build sequentially on the calling thread
+	 * @return
+	 */
+	public GraphQLSchemaBuilder registerForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = Optional.fromNullable(forkJoinPool);
+
+		return this;
+	}
+
+	/**
+	 * Store a snapshot of the generated schema in the directory and restore the schema from it on the next build, as long as the
+	 * configuration and the classes the schema was generated from are unchanged. See {@link GraphQLSchemaSnapshot}.
+	 *
+	 * When the schema can't be restored it's generated as usual. Schemas containing custom scalars, unions or data fetchers that weren't
+	 * created by the object mapper can't be stored and are always generated.
+	 *
+	 * @param schemaSnapshotDirectory the directory to store snapshots in, or null to always generate the schema
+	 * @return
+	 */
+	public GraphQLSchemaBuilder registerSchemaSnapshotDirectory(File schemaSnapshotDirectory) {
+		this.schemaSnapshotDirectory = Optional.fromNullable(schemaSnapshotDirectory);
+
+		return this;
+	}
+
+	/**
+	 * Record where the time building the schema is spent, see {@link GraphQLSchemaBuildProfiler} for the report. Profiling adds a small
+	 * overhead to every type lookup, so it's meant for diagnosing slow builds.
+	 *
+	 * @param buildProfiler the profiler to record the build with, or null to not profile the build
+	 * @return
+	 */
+	public GraphQLSchemaBuilder registerBuildProfiler(GraphQLSchemaBuildProfiler buildProfiler) {
+		this.buildProfiler = Optional.fromNullable(buildProfiler);
+
+		return this;
+	}
+
+	/**
+	 * Invoke the data fetchers of methods on an executor so blocking controller methods of sibling fields run concurrently. The data
+	 * fetchers return futures, execute the schema with the {@link FutureExecutionStrategy}. See {@link DataFetcherExecutor}.
+	 *
+	 * @param dataFetcherExecutor the executor, or null to invoke data fetchers on the thread executing the query
+	 * @return
+	 */
+	public GraphQLSchemaBuilder registerDataFetcherExecutor(DataFetcherExecutor dataFetcherExecutor) {
+		this.dataFetcherExecutor = Optional.fromNullable(dataFetcherExecutor);
+
+		return this;
+	}
+
+	/**
+	 * Cache the values of {@link GraphQLCacheable} methods in the caches, IE: to share them between schemas. Each builder has its own
+	 * caches by default.
+	 *
+	 * @param fieldResultCaches the caches
+	 * @return
+	 */
+	public GraphQLSchemaBuilder registerFieldResultCaches(FieldResultCaches fieldResultCaches) {
+		this.fieldResultCaches = Preconditions.checkNotNull(fieldResultCaches);
+
+		return this;
+	}
+
+	/**
+	 * The caches of the {@link GraphQLCacheable} methods of the schema, mutations invalidate the values they change here.
+	 * @return
+	 */
+	public FieldResultCaches getFieldResultCaches() {
+		return fieldResultCaches;
+	}
+
 	@VisibleForTesting
 	public static List<IGraphQLTypeMapper> getDefaultTypeMappers() {
-		// install all of the default type mappers we include in our packages
-		ImmutableList.Builder<IGraphQLTypeMapper> builder = ImmutableList.builder();
-		try {
-			Set<Class<?>> defaultTypeMappers = AnnotationUtils.getClassesWithAnnotation(GraphQLTypeMapper.class, IGraphQLTypeMapper.class.getPackage().getName())
-					.keySet();
-			for (Class<?> typeMapper : defaultTypeMappers) {
-				builder.add((IGraphQLTypeMapper) typeMapper.newInstance());
-			}
+		return getDefaultTypeMappers(getDefaultClassLoader());
+	}
+
+	private static List<IGraphQLTypeMapper> getDefaultTypeMappers(ClassLoader classLoader) {
+		// install all of the default type mappers listed in the type mapper indexes
+		return GraphQLTypeMapperIndex.newTypeMappers(GraphQLTypeMapperIndex.getTypeMapperClasses(classLoader));
+	}
+
+	/**
+	 * Returns the indexed default type mappers followed by any type mappers found by scanning the classpath.
+	 * @return
+	 */
+	public static List<IGraphQLTypeMapper> getScannedTypeMappers() {
+		return getScannedTypeMappers(getDefaultClassLoader());
+	}
 
-		} catch (InstantiationException | IllegalAccessException ex) {
-			Throwables.propagate(ex);
+	private static List<IGraphQLTypeMapper> getScannedTypeMappers(ClassLoader classLoader) {
+		List<Class<? extends IGraphQLTypeMapper>> typeMapperClasses = Lists.newArrayList(GraphQLTypeMapperIndex.getTypeMapperClasses(classLoader));
+		for (Class<? extends IGraphQLTypeMapper> typeMapperClass : GraphQLTypeMapperIndex.scanTypeMapperClasses(IGraphQLTypeMapper.class.getPackage().getName())) {
+			if (!typeMapperClasses.contains(typeMapperClass)) {
+				LOGGER.info("Found {} which is not listed in {}.", typeMapperClass.getName(), GraphQLTypeMapperIndex.INDEX_RESOURCE);
+				typeMapperClasses.add(typeMapperClass);
+			}
 		}
-		return builder.build();
+		return GraphQLTypeMapperIndex.newTypeMappers(typeMapperClasses);
+	}
+
+	private static ClassLoader getDefaultClassLoader() {
+		// Use the context classloader to work with spring boot executable jars
+		// http://docs.spring.io/spring-boot/docs/current/reference/html/executable-jar.html#executable-jar-system-classloader
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return classLoader != null ? classLoader : GraphQLSchemaBuilder.class.getClassLoader();
+	}
+
+	/**
+	 * The classloader the type mapper indexes and the classes of schema snapshots are loaded from, the context classloader by default.
+	 * @return
+	 */
+	protected ClassLoader getDiscoveryClassLoader() {
+		return getDefaultClassLoader();
 	}
 
 	@VisibleForTesting
 	public static Map<Class<?>, Class<? extends DefaultTypeConverter>> getDefaultTypeConverters() {
-		return ImmutableMap.<Class<?>, Class<? extends DefaultTypeConverter>>of(Collection.class, CollectionConverterDataFetcher.class, Map.class, MapConverterDataFetcher.class);
+		return ImmutableMap.<Class<?>, Class<? extends DefaultTypeConverter>>builder()
+				.put(Collection.class, CollectionConverterDataFetcher.class)
+				.put(Iterable.class, CollectionConverterDataFetcher.class)
+				.put(Iterator.class, CollectionConverterDataFetcher.class)
+				.put(Map.class, MapConverterDataFetcher.class)
+				.put(int[].class, PrimitiveArrayConverterDataFetcher.class)
+				.put(long[].class, PrimitiveArrayConverterDataFetcher.class)
+				.put(float[].class, PrimitiveArrayConverterDataFetcher.class)
+				.put(double[].class, PrimitiveArrayConverterDataFetcher.class)
+				.put(boolean[].class, PrimitiveArrayConverterDataFetcher.class)
+				.build();
 	}
 
 	public GraphQLSchema build() {
+		if (!buildProfiler.isPresent()) {
+			return doBuild();
+		}
+		long startNanos = buildProfiler.get().start();
+		try {
+			return doBuild();
+		} finally {
+			buildProfiler.get().buildFinished(startNanos);
+		}
+	}
 
-		this.typeMappers.addAll(0, getDefaultTypeMappers());
+	private GraphQLSchema doBuild() {
+		ClassLoader discoveryClassLoader = getDiscoveryClassLoader();
+		if (!defaultsAdded) {
+			this.typeMappers.addAll(0, typeMapperScanningEnabled ? getScannedTypeMappers(discoveryClassLoader) : getDefaultTypeMappers(discoveryClassLoader));
+			// add our node handler first, as it's used by relay and we want people to be able to override it if they really want to
+			if (relayEnabled) {
+				graphQLControllers.add(0, relayDefaultNodeHandler.build());
+			}
+			defaultsAdded = true;
+		}
 		this.setGraphQLObjectMapper(new GraphQLObjectMapper(typeFactory, typeMappers, typeNamingStrategy, dataFetcherFactory, defaultMethodDataFetcher, defaultTypeConverters, relayNodeTypes));
-		// add our node handler first, as it's used by relay and we want people to be able to override it if they really want to
-		if (relayEnabled) {
-			graphQLControllers.add(0, relayDefaultNodeHandler.build());
+		this.getGraphQLObjectMapper().setForkJoinPool(forkJoinPool.orNull());
+		this.getGraphQLObjectMapper().setBuildProfiler(buildProfiler.orNull());
+		this.getGraphQLObjectMapper().setDataFetcherExecutor(dataFetcherExecutor.orNull());
+		this.getGraphQLObjectMapper().setFieldResultCaches(fieldResultCaches);
+
+		Optional<GraphQLSchemaSnapshot.Recorder> snapshotRecorder = Optional.absent();
+		if (schemaSnapshotDirectory.isPresent()) {
+			String snapshotKey = getSchemaSnapshotKey();
+			Optional<GraphQLSchema> snapshot = GraphQLSchemaSnapshot.read(getSchemaSnapshotFile(snapshotKey), snapshotKey, getGraphQLObjectMapper(), graphQLControllers,
+					discoveryClassLoader);
+			if (snapshot.isPresent()) {
+				schema = snapshot.get();
+				return schema;
+			}
+			snapshotRecorder = Optional.of(newSchemaSnapshotRecorder(snapshotKey));
+			this.getGraphQLObjectMapper().setSnapshotRecorder(snapshotRecorder.get());
+		}
+
+		controllerFields = buildControllerFields(graphQLControllers, snapshotRecorder);
+		schema = buildSchema();
+
+		if (snapshotRecorder.isPresent()) {
+			this.getGraphQLObjectMapper().setSnapshotRecorder(null);
+			File snapshotFile = getSchemaSnapshotFile(snapshotRecorder.get().getKey());
+			try {
+				snapshotRecorder.get().write(snapshotFile, schema, getGraphQLObjectMapper());
+			} catch (IOException | RuntimeException ex) {
+				LOGGER.warn("Unable to write schema snapshot {}.", snapshotFile, ex);
+			}
+		}
+
+		return schema;
+	}
+
+	/**
+	 * Identifies the configuration the schema is generated with, snapshots are only restored by builders with the same key.
+	 */
+	private String getSchemaSnapshotKey() {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		hasher.putInt(GraphQLSchemaSnapshot.VERSION);
+		hasher.putUnencodedChars(System.getProperty("java.version", ""));
+		for (Object controller : graphQLControllers) {
+			hasher.putUnencodedChars(controller.getClass().getName()).putChar(',');
 		}
+		for (IGraphQLTypeMapper typeMapper : typeMappers) {
+			hasher.putUnencodedChars(typeMapper.getClass().getName()).putChar(',');
+		}
+		hasher.putUnencodedChars(getGraphQLObjectMapper().getTypeNamingStrategy().getClass().getName()).putChar(',');
+		hasher.putUnencodedChars(typeFactory.getClass().getName()).putChar(',');
+		hasher.putUnencodedChars(getGraphQLObjectMapper().getDataFetcherFactory().getClass().getName()).putChar(',');
+		hasher.putUnencodedChars(getGraphQLObjectMapper().getDefaultMethodDataFetcher().getName()).putChar(',');
+		for (Map.Entry<Class<?>, Class<? extends DefaultTypeConverter>> entry : defaultTypeConverters.entrySet()) {
+			hasher.putUnencodedChars(entry.getKey().getName()).putChar('=').putUnencodedChars(entry.getValue().getName()).putChar(',');
+		}
+		hasher.putBoolean(relayEnabled);
+		for (Class<?> relayNodeType : relayNodeTypes) {
+			hasher.putUnencodedChars(relayNodeType.getName()).putChar(',');
+		}
+		return hasher.hash().toString();
+	}
+
+	private File getSchemaSnapshotFile(String snapshotKey) {
+		return new File(schemaSnapshotDirectory.get(), snapshotKey + ".schema");
+	}
+
+	/**
+	 * The recorder for the snapshot of the schema being built. Changes to the classes the builder is configured with make the snapshot out of date.
+	 */
+	private GraphQLSchemaSnapshot.Recorder newSchemaSnapshotRecorder(String snapshotKey) {
+		GraphQLSchemaSnapshot.Recorder recorder = new GraphQLSchemaSnapshot.Recorder(snapshotKey, graphQLControllers);
+		for (IGraphQLTypeMapper typeMapper : typeMappers) {
+			recorder.addClass(typeMapper.getClass());
+		}
+		recorder.addClass(getGraphQLObjectMapper().getTypeNamingStrategy().getClass());
+		recorder.addClass(typeFactory.getClass());
+		recorder.addClass(getGraphQLObjectMapper().getDataFetcherFactory().getClass());
+		recorder.addClass(getGraphQLObjectMapper().getDefaultMethodDataFetcher());
+		for (Class<? extends DefaultTypeConverter> typeConverter : defaultTypeConverters.values()) {
+			recorder.addClass(typeConverter);
+		}
+		for (Class<?> relayNodeType : relayNodeTypes) {
+			recorder.addClass(relayNodeType);
+		}
+		return recorder;
+	}
+
+	/**
+	 * Add a controller to the schema generated by {@link #build()}. Only the types of the new controller that weren't already generated are
+	 * created, all other types of the current schema are reused. The current schema is not modified.
+	 *
+	 * @param controller the controller to add
+	 * @return the new schema
+	 */
+	public synchronized GraphQLSchema addGraphQLController(Object controller) {
+		checkBuilt();
+		// the controller is only kept once its fields were generated
+		controllerFields.addAll(buildControllerFields(ImmutableList.<Object> of(controller), Optional.<GraphQLSchemaSnapshot.Recorder> absent()));
+		graphQLControllers.add(controller);
+		schema = buildSchema();
+
+		return schema;
+	}
 
-		ImmutableList.Builder<GraphQLFieldDefinition> rootViewFieldsBuilder  = ImmutableList.builder();
+	/**
+	 * Remove a controller from the schema generated by {@link #build()}. The types of the remaining controllers are reused, types only used
+	 * by the removed controller stay cached in the object mapper and are reused if they are needed again. The current schema is not modified.
+	 *
+	 * @param controller the controller to remove
+	 * @return the new schema
+	 */
+	public synchronized GraphQLSchema removeGraphQLController(Object controller) {
+		checkBuilt();
+		for (Iterator<Object> iterator = graphQLControllers.iterator(); iterator.hasNext();) {
+			if (iterator.next() == controller) {
+				iterator.remove();
+			}
+		}
+		for (Iterator<ControllerFields> iterator = controllerFields.iterator(); iterator.hasNext();) {
+			if (iterator.next().controller == controller) {
+				iterator.remove();
+			}
+		}
+		schema = buildSchema();
+
+		return schema;
+	}
+
+	private void checkBuilt() {
+		if (schema == null) {
+			throw new IllegalStateException("build() must be called before controllers can be added or removed.");
+		}
+		if (controllerFields == null) {
+			// restored from a snapshot, the fields are generated once from the types of the restored schema
+			controllerFields = buildControllerFields(graphQLControllers, Optional.<GraphQLSchemaSnapshot.Recorder> absent());
+		}
+	}
+
+	/**
+	 * Build the schema from the current controller fields.
+	 */
+	private GraphQLSchema buildSchema() {
+		ImmutableList.Builder<GraphQLFieldDefinition> rootViewFieldsBuilder = ImmutableList.builder();
 		ImmutableList.Builder<GraphQLFieldDefinition> rootMutationFieldsBuilder = ImmutableList.builder();
+		for (ControllerFields fields : controllerFields) {
+			rootViewFieldsBuilder.addAll(fields.rootViewFields);
+			rootMutationFieldsBuilder.addAll(fields.rootMutationFields);
+		}
 
+		GraphQLSchema.Builder builder = GraphQLSchema.newSchema();
+		List<GraphQLObjectType> rootTypes = Lists.newArrayList();
 
-		for (Object queryHandler : graphQLControllers) {
-			GraphQLController graphQLController = queryHandler.getClass().getAnnotation(GraphQLController.class);
-			try {
-				List<GraphQLFieldDefinition> viewFields = graphQLController.queryFactory().newInstance().newMethodQueriesForObject(getGraphQLObjectMapper(), queryHandler);
-				List<GraphQLFieldDefinition> mutFields = graphQLController.mutationFactory().newInstance().newMethodMutationsForObject(getGraphQLObjectMapper(), queryHandler);
+		List<GraphQLFieldDefinition> rootViewFields = rootViewFieldsBuilder.build();
+		if (rootViewFields.size() > 0) {
+			GraphQLObjectType rootQuery = GraphQLObjectType.newObject().name("Query").description("Root of Query Schema").fields(rootViewFields).build();
+			builder.query(rootQuery);
+			rootTypes.add(rootQuery);
+		}
 
-				if (viewFields.size() > 0) {
-					if (AnnotationUtils.isNullValue(graphQLController.rootQueriesObjectName())) {
-						rootViewFieldsBuilder.addAll(viewFields);
-					}
-					else {
-						// creat root object field with the controllers root object name to hold the queries object wrapper
-						GraphQLFieldDefinition.Builder rootViewField = GraphQLFieldDefinition.newFieldDefinition().name(graphQLController.rootQueriesObjectName()).staticValue(queryHandler);
-						// create field object to contain this controllers query fields
-						GraphQLObjectType.Builder viewerObject = GraphQLObjectType.newObject().name(graphQLController.rootQueriesObjectName());
-						if (!AnnotationUtils.isNullValue(graphQLController.queryDescription())) {
-							viewerObject.description(graphQLController.queryDescription());
-						}
-						viewerObject.fields(viewFields);
-
-						rootViewField.type(viewerObject.build());
-						rootViewFieldsBuilder.add(rootViewField.build());
+		List<GraphQLFieldDefinition> rootMutationFields = rootMutationFieldsBuilder.build();
+		if (rootMutationFields.size() > 0) {
+			GraphQLObjectType rootMutation = GraphQLObjectType.newObject().name("Mutation").description("Root of Mutation Schema").fields(rootMutationFields).build();
+			builder.mutation(rootMutation);
+			rootTypes.add(rootMutation);
+		}
+
+		return builder.build(getReferencedInputTypes(rootTypes));
+	}
+
+	/**
+	 * The input types generated by the object mapper that are used by the root types. Input types of removed controllers are still cached
+	 * by the object mapper but are not part of the schema.
+	 */
+	private Set<GraphQLType> getReferencedInputTypes(List<GraphQLObjectType> rootTypes) {
+		Set<GraphQLType> inputTypes = getGraphQLObjectMapper().getInputTypes();
+		Map<String, GraphQLType> inputTypesByName = Maps.newHashMap();
+		for (GraphQLType inputType : inputTypes) {
+			inputTypesByName.put(inputType.getName(), inputType);
+		}
+
+		Set<String> visited = Sets.newHashSet();
+		Deque<GraphQLType> pending = new ArrayDeque<GraphQLType>(rootTypes);
+		while (!pending.isEmpty()) {
+			GraphQLType type = pending.pop();
+			while (type instanceof GraphQLModifiedType) {
+				type = ((GraphQLModifiedType) type).getWrappedType();
+			}
+			if (type instanceof GraphQLTypeReference) {
+				// references to types that were still being built when they were used
+				type = Optional.<GraphQLType> fromNullable(inputTypesByName.get(type.getName()))
+						.or(Optional.<GraphQLType> fromNullable(getGraphQLObjectMapper().getOutputTypeCache().get(type.getName())))
+						.orNull();
+			}
+			if (type == null || !visited.add(type.getName())) {
+				continue;
+			}
+			if (type instanceof GraphQLFieldsContainer) {
+				for (GraphQLFieldDefinition field : ((GraphQLFieldsContainer) type).getFieldDefinitions()) {
+					pending.push(field.getType());
+					for (GraphQLArgument argument : field.getArguments()) {
+						pending.push(argument.getType());
 					}
 				}
+			}
+			if (type instanceof GraphQLObjectType) {
+				pending.addAll(((GraphQLObjectType) type).getInterfaces());
+			}
+			if (type instanceof GraphQLInputObjectType) {
+				for (GraphQLInputObjectField field : ((GraphQLInputObjectType) type).getFields()) {
+					pending.push(field.getType());
+				}
+			}
+		}
+
+		Set<GraphQLType> rv = Sets.newLinkedHashSet();
+		for (GraphQLType inputType : inputTypes) {
+			if (visited.contains(inputType.getName())) {
+				rv.add(inputType);
+			}
+		}
+		return rv;
+	}
+
+	/**
+	 * Build the query and mutation fields of each controller, in the fork join pool if one is registered.
+	 * @param controllers the controllers to build the fields of
+	 * @param snapshotRecorder the recorder of the schema snapshot being written, if any
+	 * @return the fields of each controller that could be loaded, in controller registration order
+	 */
+	private List<ControllerFields> buildControllerFields(List<Object> controllers, Optional<GraphQLSchemaSnapshot.Recorder> snapshotRecorder) {
+		List<ControllerFields> rv = Lists.newArrayListWithCapacity(controllers.size());
+		List<ForkJoinTask<List<GraphQLFieldDefinition>>> tasks = Lists.newArrayList();
 
-				if (mutFields.size() > 0) {
-					if (AnnotationUtils.isNullValue(graphQLController.rootMutationsObjectName())) {
-						rootMutationFieldsBuilder.addAll(mutFields);
+		for (final Object queryHandler : controllers) {
+			final GraphQLController graphQLController = queryHandler.getClass().getAnnotation(GraphQLController.class);
+			try {
+				final IQueryFactory queryFactory = graphQLController.queryFactory().newInstance();
+				final IMutationFactory mutationFactory = graphQLController.mutationFactory().newInstance();
+				ForkJoinTask<List<GraphQLFieldDefinition>> viewFields = ForkJoinTask.adapt(new Callable<List<GraphQLFieldDefinition>>() {
+					@Override
+					public List<GraphQLFieldDefinition> call() {
+						return queryFactory.newMethodQueriesForObject(getGraphQLObjectMapper(), queryHandler);
 					}
-					else {
-						// create root object field with the controllers root object name to hold the mutations object wrapper
-						GraphQLFieldDefinition.Builder rootMutationField = GraphQLFieldDefinition.newFieldDefinition().name(graphQLController.rootMutationsObjectName()).staticValue(queryHandler);
-						// create field object to contain this controllers mutation fields
-						GraphQLObjectType.Builder mutObject = GraphQLObjectType.newObject().name(graphQLController.rootMutationsObjectName());
-						if (!AnnotationUtils.isNullValue(graphQLController.mutationDescription())) {
-							mutObject.description(graphQLController.mutationDescription());
-						}
-						mutObject.fields(mutFields);
-
-						rootMutationField.type(mutObject.build());
-						rootMutationFieldsBuilder.add(rootMutationField.build());
+				});
+				ForkJoinTask<List<GraphQLFieldDefinition>> mutFields = ForkJoinTask.adapt(new Callable<List<GraphQLFieldDefinition>>() {
+					@Override
+					public List<GraphQLFieldDefinition> call() {
+						return mutationFactory.newMethodMutationsForObject(getGraphQLObjectMapper(), queryHandler);
 					}
+				});
+				if (forkJoinPool.isPresent()) {
+					forkJoinPool.get().execute(viewFields);
+					forkJoinPool.get().execute(mutFields);
+				} else {
+					viewFields.invoke();
+					mutFields.invoke();
 				}
-
-				// now do mutations
+				tasks.add(viewFields);
+				tasks.add(mutFields);
+				rv.add(new ControllerFields(queryHandler, graphQLController));
 			} catch (InstantiationException | IllegalAccessException ex) {
 				LOGGER.warn("Failed to load {}.  This is probably because of an unsatisfied runtime dependency.", ex);
 			}
 		}
-		GraphQLSchema.Builder builder = GraphQLSchema.newSchema();
 
-		List<GraphQLFieldDefinition> rootViewFields = rootViewFieldsBuilder.build();
-		if (rootViewFields.size() > 0) {
-			rootQueryBuilder.fields(rootViewFieldsBuilder.build());
-			builder.query(rootQueryBuilder.build());
+		for (int i = 0; i < rv.size(); i++) {
+			ControllerFields fields = rv.get(i);
+			fields.rootViewFields = getRootFields(fields.controller, tasks.get(i * 2).join(), fields.graphQLController.rootQueriesObjectName(),
+					fields.graphQLController.queryDescription(), snapshotRecorder);
+			fields.rootMutationFields = getRootFields(fields.controller, tasks.get(i * 2 + 1).join(), fields.graphQLController.rootMutationsObjectName(),
+					fields.graphQLController.mutationDescription(), snapshotRecorder);
 		}
 
-		List<GraphQLFieldDefinition> rootMutationFields = rootMutationFieldsBuilder.build();
-		if (rootMutationFields.size() > 0) {
-			rootMutationBuilder.fields(rootMutationFieldsBuilder.build());
-			builder.mutation(rootMutationBuilder.build());
+		return rv;
+	}
+
+	/**
+	 * The root fields of a controller. When the controller has a root object name its fields are wrapped in an object with that name.
+	 */
+	private List<GraphQLFieldDefinition> getRootFields(Object queryHandler, List<GraphQLFieldDefinition> fields, String rootObjectName, String description,
+			Optional<GraphQLSchemaSnapshot.Recorder> snapshotRecorder) {
+		if (fields.isEmpty() || AnnotationUtils.isNullValue(rootObjectName)) {
+			return fields;
 		}
-		schema = builder.build(graphQLObjectMapper.getInputTypes());
+		// create root object field with the controllers root object name to hold the object wrapper
+		GraphQLFieldDefinition.Builder rootField = GraphQLFieldDefinition.newFieldDefinition().name(rootObjectName).staticValue(queryHandler);
+		// create field object to contain this controllers fields
+		GraphQLObjectType.Builder rootObject = GraphQLObjectType.newObject().name(rootObjectName);
+		if (!AnnotationUtils.isNullValue(description)) {
+			rootObject.description(description);
+		}
+		rootObject.fields(fields);
 
-		return schema;
+		rootField.type(rootObject.build());
+		GraphQLFieldDefinition rootFieldDefinition = rootField.build();
+		if (snapshotRecorder.isPresent()) {
+			snapshotRecorder.get().bindStatic(rootFieldDefinition, queryHandler);
+		}
+		return ImmutableList.of(rootFieldDefinition);
+	}
+
+	/**
+	 * The root query and mutation fields built for a controller.
+	 */
+	private static class ControllerFields {
+		private final Object controller;
+		private final GraphQLController graphQLController;
+		private List<GraphQLFieldDefinition> rootViewFields;
+		private List<GraphQLFieldDefinition> rootMutationFields;
+
+		private ControllerFields(Object controller, GraphQLController graphQLController) {
+			this.controller = controller;
+			this.graphQLController = graphQLController;
+		}
+	}
+
+	@VisibleForTesting
+	List<Object> getGraphQLControllers() {
+		return graphQLControllers;
+	}
+
+	@VisibleForTesting
+	List<IGraphQLTypeMapper> getTypeMappers() {
+		return typeMappers;
 	}
 
 	@VisibleForTesting
@@ -0,0 +1,54 @@
+package com.bretpatterson.schemagen.graphql;
+
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLController;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLDescription;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLMutation;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLParam;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLQuery;
+import com.bretpatterson.schemagen.graphql.datafetchers.IMethodInvoker;
+import com.google.common.base.Optional;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Compile time metadata for a {@link GraphQLController} annotated class. Implementations are generated by the
+ * schemagen-graphql-apt annotation processor and let schema generation skip scanning the controller for
+ * annotated methods and invoke those methods directly instead of through reflection.
+ */
+public interface IGraphQLControllerMetadata {
+
+	/**
+	 * The controller class this metadata describes.
+	 * @return
+	 */
+	Class<?> getControllerClass();
+
+	/**
+	 * All {@link GraphQLQuery} annotated methods declared on the controller, in declaration order.
+	 * @return
+	 */
+	List<Method> getQueryMethods();
+
+	/**
+	 * All {@link GraphQLMutation} annotated methods declared on the controller, in declaration order.
+	 * @return
+	 */
+	List<Method> getMutationMethods();
+
+	/**
+	 * Get a direct call invoker for the specified query or mutation method if one was generated.
+	 * @param method the query or mutation method
+	 * @return the invoker, or absent if the method must be invoked reflectively
+	 */
+	Optional<IMethodInvoker> getMethodInvoker(Method method);
+
+	/**
+	 * Get the {@link GraphQLParam} and {@link GraphQLDescription} annotations of the parameters of the specified query or mutation method
+	 * if they were read at compile time.
+	 * @param method the query or mutation method
+	 * @return the annotations of each parameter, or absent if they must be read reflectively
+	 */
+	Optional<Annotation[][]> getParameterAnnotations(Method method);
+}
@@ -1,7 +1,7 @@
 package com.bretpatterson.schemagen.graphql;
 
 /**
- * A simple abstraction around a key/value cache
+ * A simple abstraction around a key/value cache. Implementations must be safe for concurrent use when the schema is built in parallel.
  */
 public interface IGraphQLTypeCache<T> {
 
@@ -9,6 +9,14 @@ public interface IGraphQLTypeCache<T> {
 
 	T put(String typeName, T value);
 
+	/**
+	 * Store the value only if there isn't already a value cached for the type name.
+	 * @param typeName the type name
+	 * @param value the value to cache
+	 * @return the previously cached value if there was one, otherwise null.
+	 */
+	T putIfAbsent(String typeName, T value);
+
 	T get(String typeName);
 
 	T remove(String typeName);
@@ -0,0 +1,41 @@
+package com.bretpatterson.schemagen.graphql.annotations;
+
+import com.bretpatterson.schemagen.graphql.datafetchers.BatchedMethodDataFetcher;
+import com.bretpatterson.schemagen.graphql.impl.FutureExecutionStrategy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Methods annotated with this fetch the field for many objects at once. The first parameter of the method is the List of objects the
+ * field is fetched for, followed by the {@link GraphQLParam} parameters, and it returns a List with the value of each object at the same
+ * index. The method is static, or a method of a controller. The field is exposed as the type of the values. For example a field of a Game:
+ *
+ * <pre>
+ * &#64;GraphQLBatched
+ * public static List&lt;List&lt;User&gt;&gt; getUsers(List&lt;Game&gt; games)
+ * </pre>
+ *
+ * When executed with the {@link FutureExecutionStrategy} the objects of a query that need the field with the same arguments are
+ * collected and the method is invoked once for all of them, see {@link BatchedMethodDataFetcher}. Other strategies invoke the method
+ * once per object.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+public @interface GraphQLBatched {
+
+	/**
+	 * The maximum number of objects passed to a single invocation, or 0 for no limit.
+	 * @return
+	 */
+	int maxBatchSize() default 0;
+
+	/**
+	 * Set to false to pass the same object to the method as many times as it occurs. By default the same object is passed once per query
+	 * and shares its value, objects are compared by identity rather than equals.
+	 * @return
+	 */
+	boolean deduplicate() default true;
+}
@@ -0,0 +1,55 @@
+package com.bretpatterson.schemagen.graphql.annotations;
+
+import com.bretpatterson.schemagen.graphql.datafetchers.FieldResultCaches;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query methods of controllers annotated with this cache their values across queries. The values are cached per controller and the
+ * values of the key arguments after they're converted to the parameter types. Use it for methods whose values change rarely, mutations
+ * that change them can invalidate the cached values through {@link FieldResultCaches}. Iterators and Iterables other than Collections are
+ * copied into a list before they're cached.
+ *
+ * Methods of other types fail the schema build. Data fetchers that override invokeMethod don't cache the values, they're loaded without the
+ * environment of the query.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+public @interface GraphQLCacheable {
+
+	/**
+	 * How long values are cached after they're fetched.
+	 * @return
+	 */
+	long ttl() default 60;
+
+	/**
+	 * The unit of ttl and refreshAfter.
+	 * @return
+	 */
+	TimeUnit unit() default TimeUnit.SECONDS;
+
+	/**
+	 * Values older than this are refreshed in the background when they're requested, the cached value is returned until the refresh
+	 * completes. 0 to fetch the value again only once it expires.
+	 * @return
+	 */
+	long refreshAfter() default 0;
+
+	/**
+	 * The maximum number of values cached, the least recently used values are evicted first.
+	 * @return
+	 */
+	long maxEntries() default 1000;
+
+	/**
+	 * The names of the parameters the value depends on, all parameters by default. Every parameter of the method must be listed, values
+	 * are refreshed with the arguments of the call that loaded them.
+	 * @return
+	 */
+	String[] keyArgs() default {};
+}
@@ -21,4 +21,12 @@ public @interface GraphQLQuery {
 	 * @return
 	 */
 	String name() default AnnotationUtils.DEFAULT_NULL;
+
+	/**
+	 * Set to true to invoke the method once per source object and argument values of a query, when executed by the
+	 * FutureExecutionStrategy. The values are discarded once the query completes. Memoized methods are invoked on the thread executing the
+	 * query, also when a DataFetcherExecutor is registered.
+	 * @return
+	 */
+	boolean memoize() default false;
 }
@@ -0,0 +1,191 @@
+package com.bretpatterson.schemagen.graphql.datafetchers;
+
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLBatched;
+import com.bretpatterson.schemagen.graphql.impl.FutureExecutionStrategy;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Data fetcher of {@link GraphQLBatched} methods. Within a query executed by the {@link FutureExecutionStrategy} it returns a future of the
+ * value of each object, and invokes the method for all objects collected with the same arguments once the first of the values is waited
+ * for. The strategy only waits once every field that can be fetched has been, so the objects of every item of a list are invoked at once.
+ *
+ * Other execution strategies don't wait for futures, the method is then invoked for every object separately.
+ */
+public class BatchedMethodDataFetcher extends DefaultMethodDataFetcher {
+
+	private int maxBatchSize;
+	private boolean deduplicate = true;
+
+	@Override
+	public void setMethod(Method method) {
+		super.setMethod(method);
+		GraphQLBatched batched = method != null ? method.getAnnotation(GraphQLBatched.class) : null;
+		if (batched != null) {
+			this.maxBatchSize = batched.maxBatchSize();
+			this.deduplicate = batched.deduplicate();
+		}
+	}
+
+	@Override
+	public Object invokeMethod(DataFetchingEnvironment environment, Method method, Object target, Object[] arguments) {
+		Optional<ConcurrentMap<Object, Object>> queryAttributes = FutureExecutionStrategy.getQueryAttributes();
+		if (!queryAttributes.isPresent()) {
+			List<?> values = invokeBatch(environment, method, ImmutableList.of(environment.getSource()), arguments);
+			return values.get(0);
+		}
+		return getBatch(queryAttributes.get(), environment, method, arguments).load(environment.getSource());
+	}
+
+	/**
+	 * The batch of the query for the arguments, IE: the objects of the query that fetch the field with the same arguments. Batches are keyed
+	 * by the arguments of the field rather than the converted values, which don't necessarily implement equals.
+	 */
+	@SuppressWarnings("unchecked")
+	private Batch getBatch(ConcurrentMap<Object, Object> queryAttributes, DataFetchingEnvironment environment, Method method, Object[] arguments) {
+		Map<Map<String, Object>, Batch> batches = (Map<Map<String, Object>, Batch>) queryAttributes.get(this);
+		if (batches == null) {
+			batches = Maps.newHashMap();
+			Map<Map<String, Object>, Batch> existing = (Map<Map<String, Object>, Batch>) queryAttributes.putIfAbsent(this, batches);
+			if (existing != null) {
+				batches = existing;
+			}
+		}
+		synchronized (batches) {
+			Map<String, Object> key = Maps.newHashMap(environment.getArguments());
+			Batch rv = batches.get(key);
+			if (rv == null) {
+				rv = new Batch(environment, method, arguments);
+				batches.put(key, rv);
+			}
+			return rv;
+		}
+	}
+
+	private List<?> invokeBatch(DataFetchingEnvironment environment, Method method, List<Object> sources, Object[] arguments) {
+		Object[] batchArguments = new Object[arguments.length + 1];
+		batchArguments[0] = sources;
+		System.arraycopy(arguments, 0, batchArguments, 1, arguments.length);
+		// the objects are passed as an argument, the method is invoked on the controller if any
+		Object rv = super.invokeMethod(environment, method, targetObject.orNull(), batchArguments);
+		if (!(rv instanceof List) || ((List<?>) rv).size() != sources.size()) {
+			throw new IllegalStateException(String.format("%s must return a List with a value for each of the %d objects.", method, sources.size()));
+		}
+		return (List<?>) rv;
+	}
+
+	/**
+	 * The objects waiting for the method to be invoked with the same arguments.
+	 */
+	private final class Batch {
+		private final DataFetchingEnvironment environment;
+		private final Method method;
+		private final Object[] arguments;
+		private final List<BatchFuture> queued = Lists.newArrayList();
+		// the values of the objects already loaded, when deduplicating. Objects are compared by identity, equal objects can have different values
+		private final Map<Object, BatchFuture> loaded = Maps.newIdentityHashMap();
+
+		Batch(DataFetchingEnvironment environment, Method method, Object[] arguments) {
+			this.environment = environment;
+			this.method = method;
+			this.arguments = arguments;
+		}
+
+		synchronized Future<Object> load(Object source) {
+			BatchFuture rv = deduplicate ? loaded.get(source) : null;
+			if (rv == null) {
+				rv = new BatchFuture(this, source);
+				queued.add(rv);
+				if (deduplicate) {
+					loaded.put(source, rv);
+				}
+			}
+			return rv;
+		}
+
+		synchronized void dispatch() {
+			while (!queued.isEmpty()) {
+				List<BatchFuture> futures = queued.subList(0, maxBatchSize > 0 ? Math.min(maxBatchSize, queued.size()) : queued.size());
+				List<Object> sources = Lists.newArrayListWithCapacity(futures.size());
+				for (BatchFuture future : futures) {
+					sources.add(future.source);
+				}
+				try {
+					List<?> values = invokeBatch(environment, method, sources, arguments);
+					for (int i = 0; i < futures.size(); i++) {
+						futures.get(i).complete(values.get(i), null);
+					}
+				} catch (RuntimeException ex) {
+					for (BatchFuture future : futures) {
+						future.complete(null, ex);
+					}
+				}
+				futures.clear();
+			}
+		}
+	}
+
+	/**
+	 * The value of an object, the batch is invoked when it's waited for.
+	 */
+	private static final class BatchFuture implements Future<Object> {
+		private final Batch batch;
+		private final Object source;
+		private volatile boolean done;
+		private Object value;
+		private Throwable exception;
+
+		BatchFuture(Batch batch, Object source) {
+			this.batch = batch;
+			this.source = source;
+		}
+
+		void complete(Object value, Throwable exception) {
+			this.value = value;
+			this.exception = exception;
+			this.done = true;
+		}
+
+		@Override
+		public Object get() throws ExecutionException {
+			if (!done) {
+				batch.dispatch();
+			}
+			if (exception != null) {
+				throw new ExecutionException(exception);
+			}
+			return value;
+		}
+
+		@Override
+		public Object get(long timeout, TimeUnit unit) throws ExecutionException {
+			return get();
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return false;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+
+		@Override
+		public boolean isDone() {
+			return done;
+		}
+	}
+}
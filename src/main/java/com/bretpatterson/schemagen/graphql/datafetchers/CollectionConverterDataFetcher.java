@@ -5,9 +5,15 @@ import com.google.common.collect.ImmutableList;
 import graphql.schema.DataFetcher;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 
 /**
- * This converts any Collection object to a ImmutableList of the objects. Additionally this converts a null value to an empty list.
+ * This exposes Collections, Iterables and Iterators as the Iterable GraphQL lists are completed from, without copying their elements.
+ * Lists are returned as they are, other Collections as a read only view and Iterators are iterated once when the list is completed.
+ * Values shared by several fields, IE: memoized or cached values, are copied by the {@link DefaultMethodDataFetcher} before they're shared.
+ * Additionally this converts a null value to an empty list.
  */
 public class CollectionConverterDataFetcher extends DefaultTypeConverter {
 
@@ -17,13 +23,39 @@ public class CollectionConverterDataFetcher extends DefaultTypeConverter {
 
 	@Override
 	public Object convert(Object value) {
-		Collection<?> rv = (Collection<?>) value;
-
-		if (rv == null) {
+		if (value == null) {
 			return ImmutableList.of();
 		}
+		if (value instanceof List) {
+			return value;
+		} else if (value instanceof Collection) {
+			return Collections.unmodifiableCollection((Collection<?>) value);
+		} else if (value instanceof Iterator) {
+			return new IteratorIterable((Iterator<?>) value);
+		}
 
-		return ImmutableList.copyOf(rv);
+		return value;
 	}
 
+	/**
+	 * Iterable of an Iterator, which can only be iterated once.
+	 */
+	private static final class IteratorIterable implements Iterable<Object> {
+		private Iterator<?> iterator;
+
+		IteratorIterable(Iterator<?> iterator) {
+			this.iterator = iterator;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public synchronized Iterator<Object> iterator() {
+			if (iterator == null) {
+				throw new IllegalStateException("The iterator has already been iterated.");
+			}
+			Iterator<?> rv = iterator;
+			iterator = null;
+			return (Iterator<Object>) rv;
+		}
+	}
 }
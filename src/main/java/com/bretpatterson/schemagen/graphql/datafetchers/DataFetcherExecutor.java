@@ -0,0 +1,184 @@
+package com.bretpatterson.schemagen.graphql.datafetchers;
+
+import com.bretpatterson.schemagen.graphql.impl.FutureExecutionStrategy;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the data fetchers of methods on an executor, so blocking controller methods of sibling fields and list items are invoked
+ * concurrently. The data fetchers return a {@link Future} of their value, execute the schema with the {@link FutureExecutionStrategy}.
+ *
+ * The number of data fetchers running at once is limited per query, the limit is kept with the state of the query the
+ * {@link FutureExecutionStrategy} executes. Data fetchers invoked outside of that strategy share a single limit. The executor keeps
+ * statistics of the invocations that had to wait for the limit and of the invocations that blocked an executor thread for longer than
+ * the slow invocation threshold.
+ */
+public class DataFetcherExecutor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DataFetcherExecutor.class);
+
+	private final ExecutorService executorService;
+	private final int maxConcurrentFetches;
+	private final Ticker ticker;
+	private final Semaphore sharedPermits;
+	private volatile long slowInvocationNanos = TimeUnit.SECONDS.toNanos(1);
+	private final AtomicLong invocations = new AtomicLong();
+	private final AtomicLong throttledInvocations = new AtomicLong();
+	private final AtomicLong permitWaitNanos = new AtomicLong();
+	private final AtomicLong slowInvocations = new AtomicLong();
+
+	/**
+	 * @param executorService the executor to invoke the data fetchers on
+	 * @param maxConcurrentFetches the maximum number of data fetchers of a query running at once
+	 */
+	public DataFetcherExecutor(ExecutorService executorService, int maxConcurrentFetches) {
+		this(executorService, maxConcurrentFetches, Ticker.systemTicker());
+	}
+
+	DataFetcherExecutor(ExecutorService executorService, int maxConcurrentFetches, Ticker ticker) {
+		Preconditions.checkArgument(maxConcurrentFetches > 0, "maxConcurrentFetches must be positive");
+		this.executorService = Preconditions.checkNotNull(executorService);
+		this.maxConcurrentFetches = maxConcurrentFetches;
+		this.ticker = ticker;
+		this.sharedPermits = new Semaphore(maxConcurrentFetches, true);
+	}
+
+	/**
+	 * Invocations that keep an executor thread busy for longer than the threshold are logged and counted as slow invocations.
+	 * @param threshold the duration
+	 * @param unit the unit of the duration
+	 */
+	public void setSlowInvocationThreshold(long threshold, TimeUnit unit) {
+		this.slowInvocationNanos = unit.toNanos(threshold);
+	}
+
+	public int getMaxConcurrentFetches() {
+		return maxConcurrentFetches;
+	}
+
+	public long getInvocations() {
+		return invocations.get();
+	}
+
+	/**
+	 * The number of invocations that had to wait because their query already had the maximum number of data fetchers running.
+	 */
+	public long getThrottledInvocations() {
+		return throttledInvocations.get();
+	}
+
+	/**
+	 * The total time queries spent waiting for their limit, in nanoseconds.
+	 */
+	public long getPermitWaitNanos() {
+		return permitWaitNanos.get();
+	}
+
+	/**
+	 * The number of invocations that blocked an executor thread for longer than the slow invocation threshold.
+	 */
+	public long getSlowInvocations() {
+		return slowInvocations.get();
+	}
+
+	/**
+	 * Wraps the data fetcher so it's invoked on the executor.
+	 * @param dataFetcher the data fetcher to wrap
+	 * @return the data fetcher returning a future of the value
+	 */
+	public DataFetcher wrap(final DataFetcher dataFetcher) {
+		return new ExecutorDataFetcher(dataFetcher);
+	}
+
+	/**
+	 * Data fetcher that invokes its delegate on the executor.
+	 */
+	public class ExecutorDataFetcher implements DataFetcher {
+		private final DataFetcher delegate;
+
+		ExecutorDataFetcher(DataFetcher delegate) {
+			this.delegate = delegate;
+		}
+
+		public DataFetcher getDelegate() {
+			return delegate;
+		}
+
+		@Override
+		public Object get(DataFetchingEnvironment environment) {
+			return submit(delegate, environment);
+		}
+	}
+
+	private Future<Object> submit(final DataFetcher dataFetcher, final DataFetchingEnvironment environment) {
+		final Semaphore permits = getPermits();
+		acquire(permits);
+		invocations.incrementAndGet();
+		try {
+			return executorService.submit(new Callable<Object>() {
+				@Override
+				public Object call() throws Exception {
+					long startNanos = ticker.read();
+					try {
+						return dataFetcher.get(environment);
+					} finally {
+						permits.release();
+						long elapsedNanos = ticker.read() - startNanos;
+						if (elapsedNanos > slowInvocationNanos) {
+							slowInvocations.incrementAndGet();
+							LOGGER.warn("Fetching {} blocked an executor thread for {} ms", environment.getFields().get(0).getName(),
+									TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+						}
+					}
+				}
+			});
+		} catch (RejectedExecutionException ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	/**
+	 * The permits of the query being executed by the current thread, they are discarded with the query.
+	 */
+	private Semaphore getPermits() {
+		Optional<ConcurrentMap<Object, Object>> queryAttributes = FutureExecutionStrategy.getQueryAttributes();
+		if (!queryAttributes.isPresent()) {
+			return sharedPermits;
+		}
+		Semaphore rv = (Semaphore) queryAttributes.get().get(this);
+		if (rv == null) {
+			rv = new Semaphore(maxConcurrentFetches, true);
+			Semaphore existing = (Semaphore) queryAttributes.get().putIfAbsent(this, rv);
+			if (existing != null) {
+				rv = existing;
+			}
+		}
+		return rv;
+	}
+
+	private void acquire(Semaphore permits) {
+		if (permits.tryAcquire()) {
+			return;
+		}
+		throttledInvocations.incrementAndGet();
+		long startNanos = ticker.read();
+		permits.acquireUninterruptibly();
+		permitWaitNanos.addAndGet(ticker.read() - startNanos);
+		LOGGER.debug("Waited for one of the {} data fetchers of the query to finish", maxConcurrentFetches);
+	}
+}
@@ -1,23 +1,44 @@
 package com.bretpatterson.schemagen.graphql.datafetchers;
 
 import com.bretpatterson.schemagen.graphql.ITypeFactory;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLCacheable;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLQuery;
+import com.bretpatterson.schemagen.graphql.impl.FutureExecutionStrategy;
+import com.bretpatterson.schemagen.graphql.utils.ClassMetadata;
 import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import graphql.language.Field;
 import graphql.schema.DataFetchingEnvironment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Implementation of a IMethodDataFetcher that will invoke a method call with the provided GraphQL arguments. If null and a default value is
  * provided for the argument then the default value will be used, otherwise null will be sent to the method. Parameter objects are converted
  * from <i>GraphQL</i> Deserialized types to the arguments declared type using the regisered {@link ITypeFactory}.
+ *
+ * The configuration is compiled into an immutable invocation the first time the data fetcher is used, immutable default values, IE:
+ * strings, numbers and enums, are converted once at that point and shared by all calls. The data fetcher can be used by multiple threads but can't be reconfigured once used.
+ *
+ * The values of methods annotated with {@link GraphQLQuery#memoize()} are remembered for the query being executed by the
+ * {@link FutureExecutionStrategy}, the method is invoked once for each source object and distinct argument values of the query. The values
+ * of methods annotated with {@link GraphQLCacheable} are cached across queries in the {@link FieldResultCache} of the method.
  */
 public class DefaultMethodDataFetcher implements IMethodDataFetcher {
 
@@ -25,32 +46,103 @@ public class DefaultMethodDataFetcher implements IMethodDataFetcher {
 	protected ITypeFactory typeFactory;
 
 	protected Method method;
+	protected Optional<IMethodInvoker> methodInvoker = Optional.absent();
 	protected String fieldName;
 	protected Optional<Object> targetObject = Optional.absent();
 	protected LinkedHashMap<String, Type> argumentTypeMap = new LinkedHashMap<>();
 	protected Map<String, Object> parameterDefaultValue = Maps.newHashMap();
+	protected boolean memoize;
+	protected Optional<FieldResultCache> resultCache = Optional.absent();
+	// compiled from the configuration above on first use, the data fetcher can't be changed afterwards
+	private volatile Invocation invocation;
+
+	// values of these types can't be changed by the method, so their converted default values are shared by all calls
+	private static final Set<Class<?>> IMMUTABLE_TYPES = ImmutableSet.<Class<?>> of(String.class, Boolean.class, Character.class, Byte.class,
+			Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class);
+
+	/**
+	 * A parameter of the method. Immutable default values are converted to the parameter type once, other default values are converted
+	 * for each call so a call can't change the default value of the next calls.
+	 */
+	private static final class ArgumentSlot {
+		final String name;
+		final Type type;
+		final Object defaultValue;
+		final boolean convertDefaultValue;
+
+		ArgumentSlot(String name, Type type, Object defaultValue, boolean convertDefaultValue) {
+			this.name = name;
+			this.type = type;
+			this.defaultValue = defaultValue;
+			this.convertDefaultValue = convertDefaultValue;
+		}
+	}
+
+	/**
+	 * Everything needed to invoke the method, compiled once so invocations don't look anything up.
+	 */
+	private static final class Invocation {
+		final Object targetObject;
+		final IMethodInvoker methodInvoker;
+		final ArgumentSlot[] arguments;
+		final boolean memoize;
+		final FieldResultCache resultCache;
+		// indexes of the arguments the cached values are keyed by
+		final int[] keyArguments;
+
+		Invocation(Object targetObject, IMethodInvoker methodInvoker, ArgumentSlot[] arguments, boolean memoize, FieldResultCache resultCache,
+				int[] keyArguments) {
+			this.targetObject = targetObject;
+			this.methodInvoker = methodInvoker;
+			this.arguments = arguments;
+			this.memoize = memoize;
+			this.resultCache = resultCache;
+			this.keyArguments = keyArguments;
+		}
+	}
+
+	/**
+	 * Identifies a memoized value: the source object, by identity, and the GraphQL values of the arguments.
+	 */
+	private static final class MemoKey {
+		final Object source;
+		final List<Object> arguments;
+
+		MemoKey(Object source, List<Object> arguments) {
+			this.source = source;
+			this.arguments = arguments;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof MemoKey)) {
+				return false;
+			}
+			MemoKey that = (MemoKey) o;
+			return source == that.source && arguments.equals(that.arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(source) + arguments.hashCode();
+		}
+	}
 
 	@Override
 	public void setTargetObject(Object targetObject) {
+		checkNotCompiled();
 		this.targetObject = Optional.fromNullable(targetObject);
 	}
 
 	@Override
 	public void addParam(String name, Type type, Optional<Object> defaultValue) {
+		checkNotCompiled();
 		argumentTypeMap.put(name, type);
 		if (defaultValue.isPresent()) {
 			parameterDefaultValue.put(name, defaultValue.get());
 		}
 	}
 
-	Object getDefaultValue(DataFetchingEnvironment environment, String name, Type argumentType) {
-		if (parameterDefaultValue.containsKey(name)) {
-			return typeFactory.convertToType(argumentTypeMap.get(name), parameterDefaultValue.get(name));
-		} else {
-			return null;
-		}
-	}
-
 	Object convertToType(Type argumentType, Object value) {
 		if (value == null)
 			return value;
@@ -58,35 +150,155 @@ public class DefaultMethodDataFetcher implements IMethodDataFetcher {
 		return typeFactory.convertToType(argumentType, value);
 	}
 
-	Object getParamValue(DataFetchingEnvironment environment, String argumentName, Type argumentType) {
-		Object value = environment.getArgument(argumentName);
-		if (value == null) {
-			value = getDefaultValue(environment, argumentName, argumentType);
+	private void checkNotCompiled() {
+		if (invocation != null) {
+			throw new IllegalStateException("The data fetcher of " + fieldName + " can't be changed once it's used.");
+		}
+	}
+
+	private Invocation getInvocation() {
+		Invocation rv = invocation;
+		if (rv == null) {
+			ArgumentSlot[] arguments = new ArgumentSlot[argumentTypeMap.size()];
+			int index = 0;
+			for (Map.Entry<String, Type> entry : argumentTypeMap.entrySet()) {
+				Object defaultValue = null;
+				boolean convertDefaultValue = false;
+				if (parameterDefaultValue.containsKey(entry.getKey())) {
+					defaultValue = convertDefaultValue(entry.getValue(), parameterDefaultValue.get(entry.getKey()));
+					if (defaultValue != null && !IMMUTABLE_TYPES.contains(defaultValue.getClass()) && !(defaultValue instanceof Enum)) {
+						defaultValue = parameterDefaultValue.get(entry.getKey());
+						convertDefaultValue = true;
+					}
+				}
+				arguments[index++] = new ArgumentSlot(entry.getKey(), entry.getValue(), defaultValue, convertDefaultValue);
+			}
+			rv = new Invocation(targetObject.orNull(), methodInvoker.orNull(), arguments, memoize, resultCache.orNull(), getKeyArguments(arguments));
+			invocation = rv;
+		}
+		return rv;
+	}
+
+	private Object convertDefaultValue(Type type, Object defaultValue) {
+		return convertToType(type, typeFactory.convertToType(type, defaultValue));
+	}
+
+	private Object getDefaultValue(ArgumentSlot slot) {
+		return slot.convertDefaultValue ? convertDefaultValue(slot.type, slot.defaultValue) : slot.defaultValue;
+	}
+
+	private int[] getKeyArguments(ArgumentSlot[] arguments) {
+		GraphQLCacheable cacheable = method != null ? method.getAnnotation(GraphQLCacheable.class) : null;
+		if (cacheable == null || cacheable.keyArgs().length == 0) {
+			int[] rv = new int[arguments.length];
+			for (int i = 0; i < rv.length; i++) {
+				rv[i] = i;
+			}
+			return rv;
+		}
+		int[] rv = new int[cacheable.keyArgs().length];
+		for (int i = 0; i < rv.length; i++) {
+			rv[i] = -1;
+			for (int j = 0; j < arguments.length; j++) {
+				if (arguments[j].name.equals(cacheable.keyArgs()[i])) {
+					rv[i] = j;
+				}
+			}
+			if (rv[i] < 0) {
+				throw new IllegalStateException(String.format("%s has no parameter named %s.", method, cacheable.keyArgs()[i]));
+			}
 		}
-		return convertToType(argumentType, value);
+		return rv;
 	}
 
 	@Override
 	public Object get(DataFetchingEnvironment environment) {
+		Invocation invocation = getInvocation();
+		if (invocation.memoize) {
+			Optional<ConcurrentMap<Object, Object>> queryAttributes = FutureExecutionStrategy.getQueryAttributes();
+			if (queryAttributes.isPresent()) {
+				return getMemoized(queryAttributes.get(), invocation, environment);
+			}
+		}
+		return invoke(invocation, environment);
+	}
 
-		for (Field field : environment.getFields()) {
-			if (field.getName().equals(fieldName)) {
-				Object[] arguments = new Object[argumentTypeMap.size()];
-				int index = 0;
-				for (String argumentName : argumentTypeMap.keySet()) {
-					arguments[index] = getParamValue(environment, argumentName, argumentTypeMap.get(argumentName));
-					index++;
-				}
-				return invokeMethod(environment, method, targetObject.isPresent() ? targetObject.get() : environment.getSource(), arguments);
+	@SuppressWarnings("unchecked")
+	private Object getMemoized(ConcurrentMap<Object, Object> queryAttributes, Invocation invocation, DataFetchingEnvironment environment) {
+		ConcurrentMap<MemoKey, Optional<Object>> memo = (ConcurrentMap<MemoKey, Optional<Object>>) queryAttributes.get(this);
+		if (memo == null) {
+			memo = Maps.newConcurrentMap();
+			ConcurrentMap<MemoKey, Optional<Object>> existing = (ConcurrentMap<MemoKey, Optional<Object>>) queryAttributes.putIfAbsent(this, memo);
+			if (existing != null) {
+				memo = existing;
+			}
+		}
+		Object[] values = new Object[invocation.arguments.length];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = environment.getArgument(invocation.arguments[i].name);
+		}
+		MemoKey key = new MemoKey(environment.getSource(), Arrays.asList(values));
+		Optional<Object> rv = memo.get(key);
+		if (rv == null) {
+			rv = Optional.fromNullable(reusable(invoke(invocation, environment)));
+			// fields fetched concurrently share the value remembered first
+			Optional<Object> existing = memo.putIfAbsent(key, rv);
+			if (existing != null) {
+				rv = existing;
 			}
 		}
-		return null;
+		return rv.orNull();
+	}
 
+	/**
+	 * The value, or a copy of it that can be completed more than once when the value is an Iterator or an Iterable other than a Collection,
+	 * which may only be iterable once.
+	 */
+	private static Object reusable(Object value) {
+		if (value instanceof Iterator) {
+			return Lists.newArrayList((Iterator<?>) value);
+		} else if (value instanceof Iterable && !(value instanceof Collection)) {
+			return Lists.newArrayList((Iterable<?>) value);
+		}
+		return value;
+	}
+
+	private Object invoke(Invocation invocation, DataFetchingEnvironment environment) {
+		ArgumentSlot[] slots = invocation.arguments;
+		Object[] arguments = new Object[slots.length];
+		for (int i = 0; i < slots.length; i++) {
+			Object value = environment.getArgument(slots[i].name);
+			arguments[i] = value != null ? convertToType(slots[i].type, value) : getDefaultValue(slots[i]);
+		}
+		Object target = invocation.targetObject != null ? invocation.targetObject : environment.getSource();
+		if (invocation.resultCache != null) {
+			return getCached(invocation, target, arguments);
+		}
+		return invokeMethod(environment, method, target, arguments);
+	}
+
+	private Object getCached(Invocation invocation, final Object target, final Object[] arguments) {
+		Object[] keyArguments = new Object[invocation.keyArguments.length];
+		for (int i = 0; i < keyArguments.length; i++) {
+			keyArguments[i] = arguments[invocation.keyArguments[i]];
+		}
+		// the value may be refreshed after the query, so the loader doesn't keep the environment
+		return invocation.resultCache.get(target, Arrays.asList(keyArguments), new Callable<Object>() {
+			@Override
+			public Object call() {
+				// cached values are completed by many queries
+				return reusable(invokeMethod(null, method, target, arguments));
+			}
+		});
 	}
 
 	@Override
 	public Object invokeMethod(DataFetchingEnvironment environment, Method method, Object target, Object[] arguments) {
 		try {
+			IMethodInvoker methodInvoker = getInvocation().methodInvoker;
+			if (methodInvoker != null && (method == this.method || method.equals(this.method))) {
+				return methodInvoker.invoke(target, arguments);
+			}
 			return method.invoke(target, (Object[]) arguments);
 		} catch (Exception ex) {
 			LOGGER.error("Unexpected exception.", ex);
@@ -96,16 +308,48 @@ public class DefaultMethodDataFetcher implements IMethodDataFetcher {
 
 	@Override
 	public void setFieldName(String fieldName) {
+		checkNotCompiled();
 		this.fieldName = fieldName;
 	}
 
 	@Override
 	public void setMethod(Method method) {
+		checkNotCompiled();
 		this.method = method;
+		// bound once per method and shared by all data fetchers of the method
+		this.methodInvoker = method != null ? ClassMetadata.of(method).getMethodInvoker() : Optional.<IMethodInvoker> absent();
+		GraphQLQuery query = method != null ? method.getAnnotation(GraphQLQuery.class) : null;
+		this.memoize = query != null && query.memoize();
+	}
+
+	/**
+	 * @return true if the values of the method are remembered for the query being executed by the current thread
+	 */
+	public boolean isMemoized() {
+		return memoize;
+	}
+
+	/**
+	 * Cache the values of the method in the cache, the method is then invoked without the environment.
+	 * @param resultCache the cache, or null to invoke the method every time
+	 */
+	public void setResultCache(FieldResultCache resultCache) {
+		checkNotCompiled();
+		this.resultCache = Optional.fromNullable(resultCache);
+	}
+
+	/**
+	 * Use the specified invoker, typically generated at compile time, to call the method instead of the {@link MethodHandleInvoker}.
+	 * @param methodInvoker invoker for the method set through {@link #setMethod(Method)}
+	 */
+	public void setMethodInvoker(IMethodInvoker methodInvoker) {
+		checkNotCompiled();
+		this.methodInvoker = Optional.fromNullable(methodInvoker);
 	}
 
 	@Override
 	public void setTypeFactory(ITypeFactory typeFactory) {
+		checkNotCompiled();
 		this.typeFactory = typeFactory;
 	}
 }
@@ -1,8 +1,12 @@
 package com.bretpatterson.schemagen.graphql.datafetchers;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 
+import java.util.concurrent.Future;
+
 /**
  * Created by bpatterson on 3/3/16.
  */
@@ -15,7 +19,17 @@ public abstract class DefaultTypeConverter implements DataFetcher {
 
 	@Override
 	public Object get(DataFetchingEnvironment environment) {
-		return convert(dataFetcher.get(environment));
+		Object rv = dataFetcher.get(environment);
+		if (rv instanceof Future) {
+			// values fetched asynchronously are converted once they're available
+			return Futures.lazyTransform((Future<?>) rv, new Function<Object, Object>() {
+				@Override
+				public Object apply(Object value) {
+					return convert(value);
+				}
+			});
+		}
+		return convert(rv);
 	}
 
 	public Object convert(Object rv) {
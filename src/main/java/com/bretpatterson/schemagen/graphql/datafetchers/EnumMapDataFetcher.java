@@ -0,0 +1,34 @@
+package com.bretpatterson.schemagen.graphql.datafetchers;
+
+import com.bretpatterson.schemagen.graphql.typemappers.java.util.MapMapper;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Data fetcher of the field of an enum constant of the objects {@link MapMapper} exposes enum keyed maps as. The value is read from the
+ * map by the constant, which for an {@link EnumMap} is an array read by the ordinal of the constant.
+ */
+public class EnumMapDataFetcher implements DataFetcher {
+
+	private final Enum<?> key;
+
+	public EnumMapDataFetcher(Enum<?> key) {
+		this.key = key;
+	}
+
+	public Enum<?> getKey() {
+		return key;
+	}
+
+	@Override
+	public Object get(DataFetchingEnvironment environment) {
+		Object source = environment.getSource();
+		if (source == null) {
+			return null;
+		}
+		return ((Map<?, ?>) source).get(key);
+	}
+}
@@ -0,0 +1,153 @@
+package com.bretpatterson.schemagen.graphql.datafetchers;
+
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLCacheable;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the values of a {@link GraphQLCacheable} method, by the object the method is invoked on, by identity, and the converted values of
+ * its key arguments. The least recently used values are evicted once the cache is full, and values are refreshed in the background when
+ * they're requested after the refresh interval, until then the stale value is returned.
+ */
+public class FieldResultCache {
+
+	private final LoadingCache<CacheKey, Optional<Object>> cache;
+
+	/**
+	 * The identity of a cached value. The loader invokes the method with the arguments of the first call, it's not part of the identity.
+	 */
+	private static final class CacheKey {
+		final Object target;
+		final List<?> keyArguments;
+		final Callable<Object> loader;
+
+		CacheKey(Object target, List<?> keyArguments, Callable<Object> loader) {
+			this.target = target;
+			this.keyArguments = keyArguments;
+			this.loader = loader;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey that = (CacheKey) o;
+			return target == that.target && keyArguments.equals(that.keyArguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(target) + keyArguments.hashCode();
+		}
+	}
+
+	public FieldResultCache(GraphQLCacheable cacheable, Executor refreshExecutor) {
+		this(cacheable.maxEntries(), cacheable.ttl(), cacheable.refreshAfter(), cacheable.unit(), refreshExecutor);
+	}
+
+	/**
+	 * @param maxEntries the maximum number of values cached
+	 * @param ttl how long values are cached after they're fetched
+	 * @param refreshAfter how long after they're fetched values are refreshed in the background, 0 to never refresh them
+	 * @param unit the unit of ttl and refreshAfter
+	 * @param refreshExecutor the executor values are refreshed on
+	 */
+	public FieldResultCache(long maxEntries, long ttl, long refreshAfter, TimeUnit unit, Executor refreshExecutor) {
+		this(maxEntries, ttl, refreshAfter, unit, refreshExecutor, Ticker.systemTicker());
+	}
+
+	@VisibleForTesting
+	FieldResultCache(long maxEntries, long ttl, long refreshAfter, TimeUnit unit, final Executor refreshExecutor, Ticker ticker) {
+		CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl, unit).ticker(ticker).recordStats();
+		if (refreshAfter > 0) {
+			builder.refreshAfterWrite(refreshAfter, unit);
+		}
+		this.cache = builder.build(new CacheLoader<CacheKey, Optional<Object>>() {
+			@Override
+			public Optional<Object> load(CacheKey key) throws Exception {
+				return Optional.fromNullable(key.loader.call());
+			}
+
+			@Override
+			public ListenableFuture<Optional<Object>> reload(final CacheKey key, Optional<Object> oldValue) {
+				ListenableFutureTask<Optional<Object>> task = ListenableFutureTask.create(new Callable<Optional<Object>>() {
+					@Override
+					public Optional<Object> call() throws Exception {
+						return load(key);
+					}
+				});
+				refreshExecutor.execute(task);
+				return task;
+			}
+		});
+	}
+
+	/**
+	 * The cached value, loaded by the loader if it's not cached.
+	 * @param target the object the method is invoked on
+	 * @param keyArguments the converted values of the key arguments
+	 * @param loader invokes the method, it's kept to refresh the value
+	 * @return the value
+	 */
+	public Object get(Object target, List<?> keyArguments, Callable<Object> loader) {
+		try {
+			return cache.getUnchecked(new CacheKey(target, keyArguments, loader)).orNull();
+		} catch (UncheckedExecutionException | ExecutionError ex) {
+			throw Throwables.propagate(ex.getCause());
+		}
+	}
+
+	/**
+	 * Invalidate the value of the key arguments for the object.
+	 * @param target the object the method is invoked on, IE: the controller of query methods
+	 * @param keyArguments the converted values of the key arguments, in the order of {@link GraphQLCacheable#keyArgs()}
+	 */
+	public void invalidate(Object target, List<?> keyArguments) {
+		cache.invalidate(new CacheKey(target, keyArguments, null));
+	}
+
+	/**
+	 * Invalidate all values of the object.
+	 * @param target the object the method is invoked on, IE: the controller of query methods
+	 */
+	public void invalidate(Object target) {
+		for (Iterator<CacheKey> keys = cache.asMap().keySet().iterator(); keys.hasNext();) {
+			if (keys.next().target == target) {
+				keys.remove();
+			}
+		}
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * The hit, miss and load counters of the cache.
+	 * @return
+	 */
+	public CacheStats getStats() {
+		return cache.stats();
+	}
+
+	public long size() {
+		return cache.size();
+	}
+}
@@ -0,0 +1,105 @@
+package com.bretpatterson.schemagen.graphql.datafetchers;
+
+import com.bretpatterson.schemagen.graphql.GraphQLSchemaBuilder;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLCacheable;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The caches of the {@link GraphQLCacheable} methods of a schema, one per method. Mutations that change the values of cached methods
+ * invalidate them here, get the instance the schema uses from {@link GraphQLSchemaBuilder#getFieldResultCaches()} or register it with
+ * {@link GraphQLSchemaBuilder#registerFieldResultCaches(FieldResultCaches)}.
+ */
+public class FieldResultCaches {
+
+	private static final int REFRESH_THREADS = 2;
+	private static final int MAX_QUEUED_REFRESHES = 100;
+
+	private final ConcurrentMap<Method, FieldResultCache> caches = Maps.newConcurrentMap();
+	private final Executor refreshExecutor;
+
+	/**
+	 * Caches that refresh values on a few daemon threads. Once too many refreshes are queued the query that requests the stale value
+	 * refreshes it.
+	 */
+	public FieldResultCaches() {
+		this(newRefreshExecutor());
+	}
+
+	/**
+	 * @param refreshExecutor the executor values are refreshed on
+	 */
+	public FieldResultCaches(Executor refreshExecutor) {
+		this.refreshExecutor = Preconditions.checkNotNull(refreshExecutor);
+	}
+
+	private static Executor newRefreshExecutor() {
+		ThreadPoolExecutor rv = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(MAX_QUEUED_REFRESHES),
+				new ThreadFactoryBuilder().setDaemon(true).setNameFormat("graphql-cache-refresh-%d").build(), new ThreadPoolExecutor.CallerRunsPolicy());
+		rv.allowCoreThreadTimeOut(true);
+		return rv;
+	}
+
+	/**
+	 * The cache of the method, created from its {@link GraphQLCacheable} annotation.
+	 * @param method the annotated method
+	 * @return the cache
+	 */
+	public FieldResultCache getCache(Method method) {
+		FieldResultCache rv = caches.get(method);
+		if (rv == null) {
+			GraphQLCacheable cacheable = method.getAnnotation(GraphQLCacheable.class);
+			Preconditions.checkArgument(cacheable != null, "%s is not annotated with @GraphQLCacheable", method);
+			rv = new FieldResultCache(cacheable, refreshExecutor);
+			FieldResultCache existing = caches.putIfAbsent(method, rv);
+			if (existing != null) {
+				rv = existing;
+			}
+		}
+		return rv;
+	}
+
+	/**
+	 * The cache of the method of the type with the name, if the method has been cached.
+	 * @param type the class declaring or inheriting the method
+	 * @param methodName the name of the method
+	 * @return
+	 */
+	public Optional<FieldResultCache> getCache(Class<?> type, String methodName) {
+		for (Map.Entry<Method, FieldResultCache> entry : caches.entrySet()) {
+			if (entry.getKey().getName().equals(methodName) && entry.getKey().getDeclaringClass().isAssignableFrom(type)) {
+				return Optional.of(entry.getValue());
+			}
+		}
+		return Optional.absent();
+	}
+
+	/**
+	 * Invalidate all values of the methods of the type with the name.
+	 * @param type the class declaring or inheriting the methods
+	 * @param methodName the name of the methods
+	 */
+	public void invalidate(Class<?> type, String methodName) {
+		for (Map.Entry<Method, FieldResultCache> entry : caches.entrySet()) {
+			if (entry.getKey().getName().equals(methodName) && entry.getKey().getDeclaringClass().isAssignableFrom(type)) {
+				entry.getValue().invalidateAll();
+			}
+		}
+	}
+
+	public void invalidateAll() {
+		for (FieldResultCache cache : caches.values()) {
+			cache.invalidateAll();
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.bretpatterson.schemagen.graphql.datafetchers;
+
+/**
+ * Invokes a single, fixed method on a target object. The default implementation uses reflection, generated
+ * implementations call the method directly.
+ */
+public interface IMethodInvoker {
+
+	/**
+	 * Invoke the method on the target object with the specified arguments
+	 * @param targetObject the object to invoke the method on
+	 * @param arguments the arguments to the method, already converted to the parameter types
+	 * @return the return value of the method, null for void methods
+	 * @throws Exception
+	 */
+	Object invoke(Object targetObject, Object[] arguments) throws Exception;
+}
@@ -1,14 +1,19 @@
 package com.bretpatterson.schemagen.graphql.datafetchers;
 
+import java.util.Collections;
 import java.util.Map;
 
+import com.bretpatterson.schemagen.graphql.typemappers.java.util.MapMapper;
 import com.google.common.collect.ImmutableList;
 
 import graphql.schema.DataFetcher;
 
 /**
- * This converts all Maps into a List of Entries who's key/values are accessible
+ * This converts all Maps into the List of Entries {@link MapMapper} exposes them as.
  * This gets added to all Map's by default so they can be exposed through GraphQL
+ *
+ * The entries are a read only view of the entry set of the map, they aren't copied. Their key/values are read by the
+ * {@link MapEntryDataFetcher}.
  */
 public class MapConverterDataFetcher extends DefaultTypeConverter {
 
@@ -24,40 +29,6 @@ public class MapConverterDataFetcher extends DefaultTypeConverter {
 			return ImmutableList.of();
 		}
 		Map<Object, Object> valueMap = (Map<Object, Object>) value;
-		// build an accessible copy of the entries to ensure we can get them via property datafetcher
-		ImmutableList.Builder<Map.Entry<Object, Object>> valueList = ImmutableList.builder();
-		for (final Map.Entry<Object, Object> entry : valueMap.entrySet()) {
-			valueList.add(new Entry(entry));
-		}
-		return valueList.build();
-	}
-
-	/**
-	 * This holds a Map.Entry instance that we use to hold the Map.Entry in maps that we have remapped to {@code List<Entry>} objects.
-	 */
-	public class Entry implements Map.Entry<Object, Object> {
-
-		Object key;
-		Object value;
-
-		public Entry(Map.Entry<Object, Object> entry) {
-			this.key = entry.getKey();
-			this.value = entry.getValue();
-		}
-
-		@Override
-		public Object getKey() {
-			return key;
-		}
-
-		@Override
-		public Object getValue() {
-			return value;
-		}
-
-		@Override
-		public Object setValue(final Object value) {
-			throw new IllegalAccessError("Not implemented");
-		}
+		return Collections.unmodifiableCollection(valueMap.entrySet());
 	}
 }
@@ -0,0 +1,54 @@
+package com.bretpatterson.schemagen.graphql.datafetchers;
+
+import com.bretpatterson.schemagen.graphql.typemappers.java.util.MapMapper;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.PropertyDataFetcher;
+
+import java.util.Map;
+
+/**
+ * Data fetcher of the key and value fields of the entries {@link MapMapper} exposes maps as. The entries of the map are read directly,
+ * the entries of most maps are instances of non public classes whose getters can't be invoked through property reflection.
+ */
+public class MapEntryDataFetcher extends PropertyDataFetcher {
+
+	public static final MapEntryDataFetcher KEY = new MapEntryDataFetcher(MapMapper.KEY_NAME, true);
+	public static final MapEntryDataFetcher VALUE = new MapEntryDataFetcher(MapMapper.VALUE_NAME, false);
+
+	private final String propertyName;
+	private final boolean key;
+
+	private MapEntryDataFetcher(String propertyName, boolean key) {
+		super(propertyName);
+		this.propertyName = propertyName;
+		this.key = key;
+	}
+
+	/**
+	 * The data fetcher of the field of an entry.
+	 * @param propertyName {@link MapMapper#KEY_NAME} or {@link MapMapper#VALUE_NAME}
+	 * @return the data fetcher
+	 */
+	public static MapEntryDataFetcher of(String propertyName) {
+		if (MapMapper.KEY_NAME.equals(propertyName)) {
+			return KEY;
+		} else if (MapMapper.VALUE_NAME.equals(propertyName)) {
+			return VALUE;
+		}
+		throw new IllegalArgumentException(String.format("%s is not a field of map entries", propertyName));
+	}
+
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	@Override
+	public Object get(DataFetchingEnvironment environment) {
+		Object source = environment.getSource();
+		if (source instanceof Map.Entry) {
+			Map.Entry<?, ?> entry = (Map.Entry<?, ?>) source;
+			return key ? entry.getKey() : entry.getValue();
+		}
+		return super.get(environment);
+	}
+}
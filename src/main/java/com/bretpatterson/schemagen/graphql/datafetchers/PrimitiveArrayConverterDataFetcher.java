@@ -0,0 +1,28 @@
+package com.bretpatterson.schemagen.graphql.datafetchers;
+
+import com.google.common.collect.ImmutableList;
+
+import graphql.schema.DataFetcher;
+
+/**
+ * This exposes primitive arrays as a {@link ScalarList} view of the array, GraphQL only completes lists from Iterables and Object arrays.
+ * The elements aren't copied or boxed up front. Additionally this converts a null value to an empty list.
+ */
+public class PrimitiveArrayConverterDataFetcher extends DefaultTypeConverter {
+
+	public PrimitiveArrayConverterDataFetcher(DataFetcher dataFetcher) {
+		super(dataFetcher);
+	}
+
+	@Override
+	public Object convert(Object value) {
+		if (value == null) {
+			return ImmutableList.of();
+		}
+		if (value.getClass().isArray() && value.getClass().getComponentType().isPrimitive()) {
+			return ScalarList.of(value);
+		}
+
+		return value;
+	}
+}
@@ -0,0 +1,202 @@
+package com.bretpatterson.schemagen.graphql.datafetchers;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.PropertyDataFetcher;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Replacement for {@link PropertyDataFetcher} that resolves the property once per source class into a {@link MethodHandle} instead of
+ * looking up the getter or field on every call. Properties are read the same way: map sources by key, otherwise through the public
+ * is/get getter, falling back to the public field, null if the source has neither.
+ *
+ * The accessor of the last source class is kept separately, so fetching from sources of a single class doesn't do any lookups.
+ */
+public class PropertyAccessorDataFetcher implements DataFetcher {
+
+	private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodHandle INVOKE_REFLECTIVELY;
+	private static final MethodHandle GET_REFLECTIVELY;
+	private static final MethodHandle NULL_PROPERTY = MethodHandles.dropArguments(MethodHandles.constant(Object.class, null), 0, Object.class);
+
+	static {
+		try {
+			INVOKE_REFLECTIVELY = MethodHandles.lookup().findStatic(PropertyAccessorDataFetcher.class, "invokeReflectively",
+					MethodType.methodType(Object.class, Method.class, Object.class));
+			GET_REFLECTIVELY = MethodHandles.lookup().findStatic(PropertyAccessorDataFetcher.class, "getReflectively",
+					MethodType.methodType(Object.class, Field.class, Object.class));
+		} catch (ReflectiveOperationException ex) {
+			throw Throwables.propagate(ex);
+		}
+	}
+
+	private static final class Accessor {
+		final Class<?> sourceClass;
+		final MethodHandle methodHandle;
+
+		Accessor(Class<?> sourceClass, MethodHandle methodHandle) {
+			this.sourceClass = sourceClass;
+			this.methodHandle = methodHandle;
+		}
+	}
+
+	private final String propertyName;
+	private final boolean booleanProperty;
+	private final ConcurrentMap<Class<?>, Accessor> accessors = Maps.newConcurrentMap();
+	private volatile Accessor lastAccessor;
+
+	/**
+	 * @param propertyName the name of the property
+	 * @param booleanProperty true to look for an is getter before the get getter
+	 */
+	public PropertyAccessorDataFetcher(String propertyName, boolean booleanProperty) {
+		this.propertyName = propertyName;
+		this.booleanProperty = booleanProperty;
+	}
+
+	/**
+	 * Creates the data fetcher of the property for the java field and binds it to the class declaring the field.
+	 * @param propertyName the name of the property
+	 * @param field the field the property was generated from
+	 */
+	public PropertyAccessorDataFetcher(String propertyName, Field field) {
+		this(propertyName, field.getType() == boolean.class || field.getType() == Boolean.class);
+		this.lastAccessor = getAccessor(field.getDeclaringClass());
+	}
+
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	@Override
+	public Object get(DataFetchingEnvironment environment) {
+		Object source = environment.getSource();
+		if (source == null) {
+			return null;
+		}
+		if (source instanceof Map) {
+			return ((Map<?, ?>) source).get(propertyName);
+		}
+
+		Accessor accessor = lastAccessor;
+		if (accessor == null || accessor.sourceClass != source.getClass()) {
+			accessor = getAccessor(source.getClass());
+			lastAccessor = accessor;
+		}
+		try {
+			return (Object) accessor.methodHandle.invokeExact(source);
+		} catch (Throwable ex) {
+			throw Throwables.propagate(ex);
+		}
+	}
+
+	private Accessor getAccessor(Class<?> sourceClass) {
+		Accessor rv = accessors.get(sourceClass);
+		if (rv == null) {
+			rv = new Accessor(sourceClass, newMethodHandle(sourceClass));
+			Accessor existing = accessors.putIfAbsent(sourceClass, rv);
+			if (existing != null) {
+				rv = existing;
+			}
+		}
+		return rv;
+	}
+
+	private MethodHandle newMethodHandle(Class<?> sourceClass) {
+		if (booleanProperty) {
+			Method getter = findGetter(sourceClass, "is");
+			if (getter != null) {
+				return newMethodHandle(getter);
+			}
+		}
+		Method getter = findGetter(sourceClass, "get");
+		if (getter != null) {
+			return newMethodHandle(getter);
+		}
+		try {
+			return newMethodHandle(sourceClass.getField(propertyName));
+		} catch (NoSuchFieldException ex) {
+			return NULL_PROPERTY;
+		}
+	}
+
+	private MethodHandle newMethodHandle(Method getter) {
+		try {
+			return adapt(MethodHandles.publicLookup().unreflect(getter), getter.getModifiers());
+		} catch (IllegalAccessException ex) {
+			// fails when invoked like PropertyDataFetcher does
+			return INVOKE_REFLECTIVELY.bindTo(getter);
+		}
+	}
+
+	private MethodHandle newMethodHandle(Field field) {
+		try {
+			return adapt(MethodHandles.publicLookup().unreflectGetter(field), field.getModifiers());
+		} catch (IllegalAccessException ex) {
+			return GET_REFLECTIVELY.bindTo(field);
+		}
+	}
+
+	/**
+	 * Adapt the handle to (Object source) -> Object, static members ignore the source.
+	 */
+	private static MethodHandle adapt(MethodHandle methodHandle, int modifiers) {
+		if (Modifier.isStatic(modifiers)) {
+			methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+		}
+		return methodHandle.asType(ACCESSOR_TYPE);
+	}
+
+	/**
+	 * The public getter of the property declared by the nearest public class, or the public getter of the class if no public class declares it.
+	 */
+	private Method findGetter(Class<?> sourceClass, String prefix) {
+		String getterName = prefix + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
+		for (Class<?> current = sourceClass; current != null; current = current.getSuperclass()) {
+			if (Modifier.isPublic(current.getModifiers())) {
+				try {
+					Method getter = current.getMethod(getterName);
+					if (Modifier.isPublic(getter.getModifiers())) {
+						return getter;
+					}
+				} catch (NoSuchMethodException ex) {
+					return null;
+				}
+			}
+		}
+		try {
+			return sourceClass.getMethod(getterName);
+		} catch (NoSuchMethodException ex) {
+			return null;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static Object invokeReflectively(Method getter, Object source) {
+		try {
+			return getter.invoke(source);
+		} catch (ReflectiveOperationException ex) {
+			throw new UndeclaredThrowableException(ex);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static Object getReflectively(Field field, Object source) {
+		try {
+			return field.get(source);
+		} catch (IllegalAccessException ex) {
+			throw new UndeclaredThrowableException(ex);
+		}
+	}
+}
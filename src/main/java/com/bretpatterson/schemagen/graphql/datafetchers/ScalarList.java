@@ -0,0 +1,161 @@
+package com.bretpatterson.schemagen.graphql.datafetchers;
+
+import com.bretpatterson.schemagen.graphql.impl.FutureExecutionStrategy;
+import com.google.common.base.Preconditions;
+import graphql.Scalars;
+import graphql.schema.GraphQLScalarType;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read only List view of primitive values, IE: a primitive array, whose elements are the serialized values of a scalar type. The values
+ * are only boxed as they are read, and the {@link FutureExecutionStrategy} returns the list as the value of list fields of the scalar type
+ * instead of completing each value. Float values that are NaN are read as null, the same way the Float scalar completes them.
+ */
+public abstract class ScalarList extends AbstractList<Object> implements RandomAccess {
+
+	private final GraphQLScalarType scalarType;
+
+	protected ScalarList(GraphQLScalarType scalarType) {
+		this.scalarType = Preconditions.checkNotNull(scalarType);
+	}
+
+	/**
+	 * The scalar type the values are serialized values of.
+	 */
+	public GraphQLScalarType getScalarType() {
+		return scalarType;
+	}
+
+	/**
+	 * @param arrayClass the class of an array
+	 * @return true if arrays of the class have a view, IE: int, long, float, double and boolean arrays
+	 */
+	public static boolean isScalarArray(Class<?> arrayClass) {
+		return arrayClass == int[].class || arrayClass == long[].class || arrayClass == double[].class || arrayClass == float[].class
+				|| arrayClass == boolean[].class;
+	}
+
+	/**
+	 * The view of a primitive array.
+	 * @param array an int, long, float, double or boolean array
+	 * @return the view of the array
+	 */
+	public static ScalarList of(Object array) {
+		if (array instanceof int[]) {
+			return new IntArrayList((int[]) array);
+		} else if (array instanceof long[]) {
+			return new LongArrayList((long[]) array);
+		} else if (array instanceof double[]) {
+			return new DoubleArrayList((double[]) array);
+		} else if (array instanceof float[]) {
+			return new FloatArrayList((float[]) array);
+		} else if (array instanceof boolean[]) {
+			return new BooleanArrayList((boolean[]) array);
+		}
+		throw new IllegalArgumentException(String.format("%s is not an array of a scalar type", array != null ? array.getClass().getName() : null));
+	}
+
+	/**
+	 * The value of a double, null if it's NaN.
+	 */
+	protected static Object toFloat(double value) {
+		return Double.isNaN(value) ? null : value;
+	}
+
+	private static final class IntArrayList extends ScalarList {
+		private final int[] array;
+
+		IntArrayList(int[] array) {
+			super(Scalars.GraphQLInt);
+			this.array = array;
+		}
+
+		@Override
+		public Object get(int index) {
+			return array[index];
+		}
+
+		@Override
+		public int size() {
+			return array.length;
+		}
+	}
+
+	private static final class LongArrayList extends ScalarList {
+		private final long[] array;
+
+		LongArrayList(long[] array) {
+			super(Scalars.GraphQLLong);
+			this.array = array;
+		}
+
+		@Override
+		public Object get(int index) {
+			return array[index];
+		}
+
+		@Override
+		public int size() {
+			return array.length;
+		}
+	}
+
+	private static final class DoubleArrayList extends ScalarList {
+		private final double[] array;
+
+		DoubleArrayList(double[] array) {
+			super(Scalars.GraphQLFloat);
+			this.array = array;
+		}
+
+		@Override
+		public Object get(int index) {
+			return toFloat(array[index]);
+		}
+
+		@Override
+		public int size() {
+			return array.length;
+		}
+	}
+
+	private static final class FloatArrayList extends ScalarList {
+		private final float[] array;
+
+		FloatArrayList(float[] array) {
+			super(Scalars.GraphQLFloat);
+			this.array = array;
+		}
+
+		@Override
+		public Object get(int index) {
+			return toFloat(array[index]);
+		}
+
+		@Override
+		public int size() {
+			return array.length;
+		}
+	}
+
+	private static final class BooleanArrayList extends ScalarList {
+		private final boolean[] array;
+
+		BooleanArrayList(boolean[] array) {
+			super(Scalars.GraphQLBoolean);
+			this.array = array;
+		}
+
+		@Override
+		public Object get(int index) {
+			return array[index];
+		}
+
+		@Override
+		public int size() {
+			return array.length;
+		}
+	}
+}
@@ -0,0 +1,239 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.IGraphQLControllerMetadata;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLDescription;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLParam;
+import com.bretpatterson.schemagen.graphql.datafetchers.IMethodInvoker;
+import com.google.common.base.Objects;
+import com.google.common.base.Optional;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Base class for the controller metadata generated by the schemagen-graphql-apt annotation processor. Generated
+ * subclasses list the query and mutation methods in declaration order and create a direct call invoker and the parameter
+ * annotations for each of them, identified by its index in the combined list of query methods followed by mutation methods.
+ */
+public abstract class AbstractGraphQLControllerMetadata implements IGraphQLControllerMetadata {
+
+	private final Class<?> controllerClass;
+	private List<Method> queryMethods;
+	private List<Method> mutationMethods;
+	private List<Method> methods;
+	private IMethodInvoker[] invokers;
+	private Annotation[][][] parameterAnnotations;
+	// the declared methods of the controller while the methods are loaded
+	private Method[] declaredMethods;
+
+	protected AbstractGraphQLControllerMetadata(Class<?> controllerClass) {
+		this.controllerClass = controllerClass;
+	}
+
+	/**
+	 * @return the query methods of the controller in declaration order
+	 */
+	protected abstract List<Method> loadQueryMethods();
+
+	/**
+	 * @return the mutation methods of the controller in declaration order
+	 */
+	protected abstract List<Method> loadMutationMethods();
+
+	/**
+	 * Create the direct call invoker for the method at the specified index.
+	 * @param index index of the method within the query methods followed by the mutation methods
+	 * @return the invoker or null if the method can't be called directly
+	 */
+	protected abstract IMethodInvoker newMethodInvoker(int index);
+
+	/**
+	 * Create the parameter annotations of the method at the specified index.
+	 * @param index index of the method within the query methods followed by the mutation methods
+	 * @return the annotations of each parameter, or null to read them reflectively
+	 */
+	protected Annotation[][] loadParameterAnnotations(int index) {
+		return null;
+	}
+
+	/**
+	 * Lookup a method declared on the controller class. The declared methods are only listed once while the methods are loaded, their
+	 * annotations and generic signatures aren't read.
+	 */
+	protected Method method(String name, Class<?>... parameterTypes) {
+		Method[] candidates = declaredMethods != null ? declaredMethods : controllerClass.getDeclaredMethods();
+		for (Method method : candidates) {
+			if (method.getName().equals(name) && Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+				return method;
+			}
+		}
+		throw Throwables.propagate(new NoSuchMethodException(controllerClass.getName() + "." + name));
+	}
+
+	/**
+	 * A {@link GraphQLParam} with the specified values.
+	 */
+	protected static GraphQLParam param(String name, String defaultValue, boolean required) {
+		return new GraphQLParamValue(name, defaultValue, required);
+	}
+
+	/**
+	 * A {@link GraphQLDescription} with the specified value.
+	 */
+	protected static GraphQLDescription description(String value) {
+		return new GraphQLDescriptionValue(value);
+	}
+
+	private synchronized void load() {
+		if (methods == null) {
+			declaredMethods = controllerClass.getDeclaredMethods();
+			try {
+				queryMethods = loadQueryMethods();
+				mutationMethods = loadMutationMethods();
+			} finally {
+				declaredMethods = null;
+			}
+			List<Method> allMethods = ImmutableList.<Method> builder().addAll(queryMethods).addAll(mutationMethods).build();
+			invokers = new IMethodInvoker[allMethods.size()];
+			parameterAnnotations = new Annotation[allMethods.size()][][];
+			for (int i = 0; i < invokers.length; i++) {
+				invokers[i] = newMethodInvoker(i);
+				parameterAnnotations[i] = loadParameterAnnotations(i);
+			}
+			methods = allMethods;
+		}
+	}
+
+	@Override
+	public Class<?> getControllerClass() {
+		return controllerClass;
+	}
+
+	@Override
+	public List<Method> getQueryMethods() {
+		load();
+		return queryMethods;
+	}
+
+	@Override
+	public List<Method> getMutationMethods() {
+		load();
+		return mutationMethods;
+	}
+
+	@Override
+	public Optional<IMethodInvoker> getMethodInvoker(Method method) {
+		load();
+		int index = methods.indexOf(method);
+		if (index < 0) {
+			return Optional.absent();
+		}
+		return Optional.fromNullable(invokers[index]);
+	}
+
+	@Override
+	public Optional<Annotation[][]> getParameterAnnotations(Method method) {
+		load();
+		int index = methods.indexOf(method);
+		if (index < 0 || parameterAnnotations[index] == null) {
+			return Optional.absent();
+		}
+		// the arrays are copied like Method.getParameterAnnotations() does
+		Annotation[][] rv = new Annotation[parameterAnnotations[index].length][];
+		for (int i = 0; i < rv.length; i++) {
+			rv[i] = parameterAnnotations[index][i].clone();
+		}
+		return Optional.of(rv);
+	}
+
+	private static final class GraphQLParamValue implements GraphQLParam {
+		private final String name;
+		private final String defaultValue;
+		private final boolean required;
+
+		GraphQLParamValue(String name, String defaultValue, boolean required) {
+			this.name = name;
+			this.defaultValue = defaultValue;
+			this.required = required;
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public String defaultValue() {
+			return defaultValue;
+		}
+
+		@Override
+		public boolean required() {
+			return required;
+		}
+
+		@Override
+		public Class<? extends Annotation> annotationType() {
+			return GraphQLParam.class;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof GraphQLParam)) {
+				return false;
+			}
+			GraphQLParam that = (GraphQLParam) o;
+			return name.equals(that.name()) && defaultValue.equals(that.defaultValue()) && required == that.required();
+		}
+
+		// as specified by Annotation.hashCode()
+		@Override
+		public int hashCode() {
+			return ((127 * "name".hashCode()) ^ name.hashCode()) + ((127 * "defaultValue".hashCode()) ^ defaultValue.hashCode())
+					+ ((127 * "required".hashCode()) ^ Boolean.valueOf(required).hashCode());
+		}
+
+		@Override
+		public String toString() {
+			return "@" + GraphQLParam.class.getName() + "(name=" + name + ", defaultValue=" + defaultValue + ", required=" + required + ")";
+		}
+	}
+
+	private static final class GraphQLDescriptionValue implements GraphQLDescription {
+		private final String value;
+
+		GraphQLDescriptionValue(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public String value() {
+			return value;
+		}
+
+		@Override
+		public Class<? extends Annotation> annotationType() {
+			return GraphQLDescription.class;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof GraphQLDescription && Objects.equal(value, ((GraphQLDescription) o).value());
+		}
+
+		// as specified by Annotation.hashCode()
+		@Override
+		public int hashCode() {
+			return (127 * "value".hashCode()) ^ value.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return "@" + GraphQLDescription.class.getName() + "(value=" + value + ")";
+		}
+	}
+}
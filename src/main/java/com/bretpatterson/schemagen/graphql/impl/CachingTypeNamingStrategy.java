@@ -0,0 +1,85 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
+import com.bretpatterson.schemagen.graphql.ITypeNamingStrategy;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Type naming strategy that remembers the names generated by another strategy. Names of classes and of parameterized types without type
+ * variables are generated once, names of types that depend on the type arguments of the type being built are always generated by the
+ * wrapped strategy. Input type names are remembered per type name.
+ *
+ * The wrapped strategy must always generate the same name for a type.
+ */
+public class CachingTypeNamingStrategy implements ITypeNamingStrategy {
+
+	private final ITypeNamingStrategy delegate;
+	private final ConcurrentMap<Object, String> typeNames = Maps.newConcurrentMap();
+	private final ConcurrentMap<String, String> inputTypeNames = Maps.newConcurrentMap();
+
+	public CachingTypeNamingStrategy(ITypeNamingStrategy delegate) {
+		this.delegate = Preconditions.checkNotNull(delegate, "Type naming strategy cannot be null.");
+	}
+
+	/**
+	 * Wrap the strategy in a caching strategy unless it already is one.
+	 * @param strategy the strategy to wrap
+	 * @return
+	 */
+	public static CachingTypeNamingStrategy of(ITypeNamingStrategy strategy) {
+		if (strategy instanceof CachingTypeNamingStrategy) {
+			return (CachingTypeNamingStrategy) strategy;
+		}
+		return new CachingTypeNamingStrategy(strategy);
+	}
+
+	@Override
+	public String getTypeName(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		Object typeKey = TypeKey.of(type);
+		if (typeKey == null) {
+			return delegate.getTypeName(graphQLObjectMapper, type);
+		}
+		String rv = typeNames.get(typeKey);
+		if (rv == null) {
+			rv = delegate.getTypeName(graphQLObjectMapper, type);
+			typeNames.putIfAbsent(typeKey, rv);
+		}
+		return rv;
+	}
+
+	/**
+	 * The name of the input type of the type with the specified name, IE: Type --> Type_Input
+	 * @param typeName the GraphQL type name
+	 * @return
+	 */
+	public String getInputTypeName(String typeName) {
+		String rv = inputTypeNames.get(typeName);
+		if (rv == null) {
+			rv = new StringBuilder(typeName.length() + getDelimiter().length() + getInputTypePostfix().length())
+					.append(typeName)
+					.append(getDelimiter())
+					.append(getInputTypePostfix())
+					.toString();
+			inputTypeNames.putIfAbsent(typeName, rv);
+		}
+		return rv;
+	}
+
+	@Override
+	public String getInputTypePostfix() {
+		return delegate.getInputTypePostfix();
+	}
+
+	@Override
+	public String getDelimiter() {
+		return delegate.getDelimiter();
+	}
+
+	public ITypeNamingStrategy getDelegate() {
+		return delegate;
+	}
+}
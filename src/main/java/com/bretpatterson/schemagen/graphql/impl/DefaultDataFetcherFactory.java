@@ -2,7 +2,9 @@ package com.bretpatterson.schemagen.graphql.impl;
 
 import com.bretpatterson.schemagen.graphql.IDataFetcherFactory;
 import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
+import com.bretpatterson.schemagen.graphql.datafetchers.DefaultMethodDataFetcher;
 import com.bretpatterson.schemagen.graphql.datafetchers.IMethodDataFetcher;
+import com.bretpatterson.schemagen.graphql.datafetchers.IMethodInvoker;
 import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
 import graphql.schema.DataFetcher;
@@ -48,6 +50,13 @@ public class DefaultDataFetcherFactory implements IDataFetcherFactory {
 				methodDataFetcher.setTargetObject(targetObject.get());
 			}
 			methodDataFetcher.setMethod(method);
+			// use the compile time generated invoker when available
+			if (methodDataFetcher instanceof DefaultMethodDataFetcher) {
+				Optional<IMethodInvoker> methodInvoker = GraphQLControllerMetadataIndex.getMethodInvoker(method);
+				if (methodInvoker.isPresent()) {
+					((DefaultMethodDataFetcher) methodDataFetcher).setMethodInvoker(methodInvoker.get());
+				}
+			}
 		} catch (Exception ex) {
 			throw Throwables.propagate(ex);
 		}
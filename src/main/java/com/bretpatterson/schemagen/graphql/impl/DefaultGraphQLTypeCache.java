@@ -2,15 +2,15 @@ package com.bretpatterson.schemagen.graphql.impl;
 
 import com.bretpatterson.schemagen.graphql.IGraphQLTypeCache;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Cache of GraphQL Types we've discovered during parsing.
  */
 public class DefaultGraphQLTypeCache<T> implements IGraphQLTypeCache<T> {
 
-	Map<String, T> nameCache = new HashMap<String, T>();
+	ConcurrentMap<String, T> nameCache = new ConcurrentHashMap<String, T>();
 
 	@Override
 	public boolean containsKey(String key) {
@@ -23,6 +23,11 @@ public class DefaultGraphQLTypeCache<T> implements IGraphQLTypeCache<T> {
 		return value;
 	}
 
+	@Override
+	public T putIfAbsent(String name, T value) {
+		return nameCache.putIfAbsent(name, value);
+	}
+
 	@Override
 	public T get(String name) {
 		return nameCache.get(name);
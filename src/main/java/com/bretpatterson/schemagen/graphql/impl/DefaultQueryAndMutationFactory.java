@@ -1,16 +1,20 @@
 package com.bretpatterson.schemagen.graphql.impl;
 
+import com.bretpatterson.schemagen.graphql.IGraphQLControllerMetadata;
 import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
 import com.bretpatterson.schemagen.graphql.IMutationFactory;
 import com.bretpatterson.schemagen.graphql.IQueryFactory;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLMutation;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLQuery;
 import com.bretpatterson.schemagen.graphql.utils.AnnotationUtils;
+import com.bretpatterson.schemagen.graphql.utils.ClassMetadata;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLOutputType;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.List;
 
@@ -21,19 +25,31 @@ import java.util.List;
  * <LI>GraphQLOutput type for the return type of the method.</LI>
  * <LI>Configures the Datafetcher based on the Object Instance, Field Name, Method Signature, and Type Factory</LI>
  * </OL>
+ * When the controller was processed by the schemagen-graphql-apt annotation processor the generated {@link IGraphQLControllerMetadata}
+ * is used to find the query and mutation methods, otherwise the controller class is scanned for them.
  */
 public class DefaultQueryAndMutationFactory implements IQueryFactory, IMutationFactory {
 
 	@Override
 	public List<GraphQLFieldDefinition> newMethodMutationsForObject(IGraphQLObjectMapper graphQLObjectMapper, Object targetObject) {
 		List<GraphQLFieldDefinition> results = Lists.newLinkedList();
+		Optional<IGraphQLControllerMetadata> metadata = GraphQLControllerMetadataIndex.getMetadata(targetObject.getClass());
 
-		results.addAll(graphQLObjectMapper.getGraphQLFieldDefinitions(
-				Optional.of(targetObject),
-				targetObject.getClass(),
-				targetObject.getClass(),
-				Optional.of(AnnotationUtils.getFieldsWithAnnotation(targetObject.getClass(), GraphQLMutation.class)),
-				Optional.of(AnnotationUtils.getMethodsWithAnnotation(targetObject.getClass(), GraphQLMutation.class))));
+		if (metadata.isPresent()) {
+			results.addAll(graphQLObjectMapper.getGraphQLFieldDefinitions(
+					Optional.of(targetObject),
+					targetObject.getClass(),
+					targetObject.getClass(),
+					Optional.<List<Field>> of(ImmutableList.<Field> of()),
+					Optional.of(metadata.get().getMutationMethods())));
+		} else {
+			results.addAll(graphQLObjectMapper.getGraphQLFieldDefinitions(
+					Optional.of(targetObject),
+					targetObject.getClass(),
+					targetObject.getClass(),
+					Optional.of(AnnotationUtils.getFieldsWithAnnotation(targetObject.getClass(), GraphQLMutation.class)),
+					Optional.of(AnnotationUtils.getMethodsWithAnnotation(targetObject.getClass(), GraphQLMutation.class))));
+		}
 
 		return results;
 	}
@@ -48,19 +64,29 @@ public class DefaultQueryAndMutationFactory implements IQueryFactory, IMutationF
 	@Override
 	public List<GraphQLFieldDefinition> newMethodQueriesForObject(IGraphQLObjectMapper graphQLObjectMapper, Object targetObject) {
 		List<GraphQLFieldDefinition> results = Lists.newLinkedList();
+		Optional<IGraphQLControllerMetadata> metadata = GraphQLControllerMetadataIndex.getMetadata(targetObject.getClass());
 
-		results.addAll(graphQLObjectMapper.getGraphQLFieldDefinitions(
-				Optional.of(targetObject),
-				targetObject.getClass(),
-				targetObject.getClass(),
-				Optional.of(AnnotationUtils.getFieldsWithAnnotation(targetObject.getClass(), GraphQLQuery.class)),
-				Optional.of(AnnotationUtils.getMethodsWithAnnotation(targetObject.getClass(), GraphQLQuery.class))));
+		if (metadata.isPresent()) {
+			results.addAll(graphQLObjectMapper.getGraphQLFieldDefinitions(
+					Optional.of(targetObject),
+					targetObject.getClass(),
+					targetObject.getClass(),
+					Optional.<List<Field>> of(ImmutableList.<Field> of()),
+					Optional.of(metadata.get().getQueryMethods())));
+		} else {
+			results.addAll(graphQLObjectMapper.getGraphQLFieldDefinitions(
+					Optional.of(targetObject),
+					targetObject.getClass(),
+					targetObject.getClass(),
+					Optional.of(AnnotationUtils.getFieldsWithAnnotation(targetObject.getClass(), GraphQLQuery.class)),
+					Optional.of(AnnotationUtils.getMethodsWithAnnotation(targetObject.getClass(), GraphQLQuery.class))));
+		}
 
 		return results;
 	}
 
 	protected GraphQLOutputType getReturnType(IGraphQLObjectMapper graphQLObjectMapper, Method method) {
-		return graphQLObjectMapper.getOutputType(method.getGenericReturnType());
+		return graphQLObjectMapper.getOutputType(ClassMetadata.of(method).getGenericReturnType());
 	}
 
 }
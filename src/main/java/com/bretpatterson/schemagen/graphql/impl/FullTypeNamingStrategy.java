@@ -10,17 +10,18 @@ import java.lang.reflect.Type;
 public class FullTypeNamingStrategy extends SimpleTypeNamingStrategy {
 
 	@Override
-	public String getTypeName(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+	protected void appendTypeName(IGraphQLObjectMapper graphQLObjectMapper, Type type, StringBuilder typeString) {
 		Class<?> theClass = graphQLObjectMapper.getClassFromType(type);
-		String typeName = super.getTypeName(graphQLObjectMapper, type);
 
 		if (theClass.getPackage() != null) {
-			return String.format("%s%s%s",
-					theClass.getPackage().getName().replace(".", this.getDelimiter()),
-					this.getDelimiter(),
-					typeName);
-		} else {
-			return typeName;
+			String packageName = theClass.getPackage().getName();
+			int start = 0;
+			for (int end = packageName.indexOf('.'); end >= 0; end = packageName.indexOf('.', start)) {
+				typeString.append(packageName, start, end).append(this.getDelimiter());
+				start = end + 1;
+			}
+			typeString.append(packageName, start, packageName.length()).append(this.getDelimiter());
 		}
+		super.appendTypeName(graphQLObjectMapper, type, typeString);
 	}
 }
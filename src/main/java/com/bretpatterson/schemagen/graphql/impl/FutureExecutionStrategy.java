@@ -0,0 +1,220 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.datafetchers.ScalarList;
+import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
+import graphql.ExceptionWhileDataFetching;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQLError;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStrategy;
+import graphql.language.Field;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Execution strategy for schemas whose data fetchers return {@link Future}s, IE: controller methods that return a ListenableFuture.
+ * Fields whose value is a future are only waited for once every other field of the query that can be fetched has been, so the sibling
+ * fields of a query, and the fields of every item of a list, are fetched concurrently. The fields of a mutation are still executed
+ * serially.
+ *
+ * Futures that fail are reported as data fetching errors of their field, the same way exceptions thrown by data fetchers are. Lists of
+ * scalar values that are already serialized, see {@link ScalarList}, are the values of their fields without completing each value.
+ */
+public class FutureExecutionStrategy extends ExecutionStrategy {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(FutureExecutionStrategy.class);
+	private static final ThreadLocal<ExecutionScope> CURRENT_SCOPE = new ThreadLocal<>();
+
+	/**
+	 * The state of the query being executed by the current thread.
+	 */
+	private static final class ExecutionScope {
+		final ExecutionContext executionContext;
+		// fields whose futures haven't been waited for, in the order they were fetched
+		final Deque<PendingField> pendingFields = new ArrayDeque<>();
+		final ConcurrentMap<Object, Object> attributes = Maps.newConcurrentMap();
+
+		ExecutionScope(ExecutionContext executionContext) {
+			this.executionContext = executionContext;
+		}
+	}
+
+	/**
+	 * A field of a result whose future hasn't been waited for yet.
+	 */
+	private static final class PendingField {
+		final Map<String, Object> results;
+		final String fieldName;
+		final ExecutionResult result;
+
+		PendingField(Map<String, Object> results, String fieldName, ExecutionResult result) {
+			this.results = results;
+			this.fieldName = fieldName;
+			this.result = result;
+		}
+
+		void complete() {
+			results.put(fieldName, result.getData());
+		}
+	}
+
+	/**
+	 * The attributes of the query being executed by the current thread, which are discarded once the query completes. Data fetchers use
+	 * them to share state between the fields of a single query.
+	 * @return the attributes, or absent if the current thread isn't executing a query with this strategy
+	 */
+	public static Optional<ConcurrentMap<Object, Object>> getQueryAttributes() {
+		ExecutionScope scope = CURRENT_SCOPE.get();
+		return scope != null ? Optional.of(scope.attributes) : Optional.<ConcurrentMap<Object, Object>> absent();
+	}
+
+	@Override
+	public ExecutionResult execute(ExecutionContext executionContext, GraphQLObjectType parentType, Object source, Map<String, List<Field>> fields) {
+		ExecutionScope outerScope = CURRENT_SCOPE.get();
+		if (outerScope != null && outerScope.executionContext == executionContext) {
+			// the fields of a value of the query being executed
+			return new ExecutionResultImpl(resolveFields(outerScope, executionContext, parentType, source, fields), executionContext.getErrors());
+		}
+
+		// a new query, which may be executed by a data fetcher of another query
+		ExecutionScope scope = new ExecutionScope(executionContext);
+		CURRENT_SCOPE.set(scope);
+		try {
+			Map<String, Object> results = resolveFields(scope, executionContext, parentType, source, fields);
+			completePendingFields(scope);
+			return new ExecutionResultImpl(results, executionContext.getErrors());
+		} finally {
+			if (outerScope != null) {
+				CURRENT_SCOPE.set(outerScope);
+			} else {
+				CURRENT_SCOPE.remove();
+			}
+		}
+	}
+
+	private Map<String, Object> resolveFields(ExecutionScope scope, ExecutionContext executionContext, GraphQLObjectType parentType, Object source,
+			Map<String, List<Field>> fields) {
+		boolean serial = parentType == executionContext.getGraphQLSchema().getMutationType();
+		Map<String, Object> results = new LinkedHashMap<>();
+		for (Map.Entry<String, List<Field>> field : fields.entrySet()) {
+			ExecutionResult resolvedResult = resolveField(executionContext, parentType, source, field.getValue());
+			if (resolvedResult instanceof FutureExecutionResult) {
+				// keeps the position of the field in the result until the future is waited for
+				results.put(field.getKey(), null);
+				scope.pendingFields.add(new PendingField(results, field.getKey(), resolvedResult));
+			} else {
+				results.put(field.getKey(), resolvedResult != null ? resolvedResult.getData() : null);
+			}
+			if (serial) {
+				// a mutation field, including the fields of its value, is complete before the next one is executed
+				completePendingFields(scope);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Wait for the pending fields. Completing a field fetches the fields of its value, so fields are completed until none are left.
+	 */
+	private void completePendingFields(ExecutionScope scope) {
+		PendingField pendingField;
+		while ((pendingField = scope.pendingFields.poll()) != null) {
+			pendingField.complete();
+		}
+	}
+
+	@Override
+	protected ExecutionResult completeValue(ExecutionContext executionContext, GraphQLType fieldType, List<Field> fields, Object result) {
+		if (result instanceof Future) {
+			return new FutureExecutionResult(executionContext, fieldType, fields, (Future<?>) result);
+		}
+		if (result instanceof ScalarList && isListOf(fieldType, ((ScalarList) result).getScalarType())) {
+			// the values are already serialized, the list is the value of the field as it is
+			return new ExecutionResultImpl(result, null);
+		}
+		return super.completeValue(executionContext, fieldType, fields, result);
+	}
+
+	/**
+	 * True if the type is a list of the scalar type whose values can be null.
+	 */
+	private static boolean isListOf(GraphQLType fieldType, GraphQLScalarType scalarType) {
+		if (fieldType instanceof GraphQLNonNull) {
+			fieldType = ((GraphQLNonNull) fieldType).getWrappedType();
+		}
+		return fieldType instanceof GraphQLList && ((GraphQLList) fieldType).getWrappedType() == scalarType;
+	}
+
+	/**
+	 * The result of a field whose value is a future, completed the first time its data is requested.
+	 */
+	private class FutureExecutionResult implements ExecutionResult {
+		private final ExecutionContext executionContext;
+		private final GraphQLType fieldType;
+		private final List<Field> fields;
+		private final Future<?> future;
+		private boolean completed;
+		private Object data;
+
+		FutureExecutionResult(ExecutionContext executionContext, GraphQLType fieldType, List<Field> fields, Future<?> future) {
+			this.executionContext = executionContext;
+			this.fieldType = fieldType;
+			this.fields = fields;
+			this.future = future;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public synchronized <T> T getData() {
+			if (!completed) {
+				ExecutionResult result = completeValue(executionContext, fieldType, fields, getValue());
+				data = result != null ? result.getData() : null;
+				completed = true;
+			}
+			return (T) data;
+		}
+
+		private Object getValue() {
+			try {
+				return future.get();
+			} catch (ExecutionException ex) {
+				LOGGER.warn("Exception while fetching data", ex.getCause());
+				executionContext.addError(new ExceptionWhileDataFetching(ex.getCause()));
+			} catch (CancellationException ex) {
+				executionContext.addError(new ExceptionWhileDataFetching(ex));
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				executionContext.addError(new ExceptionWhileDataFetching(ex));
+			}
+			return null;
+		}
+
+		@Override
+		public List<GraphQLError> getErrors() {
+			return executionContext.getErrors();
+		}
+
+		@Override
+		public Map<Object, Object> getExtensions() {
+			return Collections.emptyMap();
+		}
+	}
+}
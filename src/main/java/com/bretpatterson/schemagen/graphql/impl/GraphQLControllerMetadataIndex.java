@@ -0,0 +1,131 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.IGraphQLControllerMetadata;
+import com.bretpatterson.schemagen.graphql.datafetchers.IMethodInvoker;
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.io.Resources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Locates the {@link IGraphQLControllerMetadata} generated at compile time by the schemagen-graphql-apt annotation processor.
+ * The processor writes one line per controller to {@link #INDEX_RESOURCE} in the form {@code controllerClass=metadataClass}.
+ * Controllers that are not listed in any index are processed through reflection as usual.
+ */
+public class GraphQLControllerMetadataIndex {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GraphQLControllerMetadataIndex.class);
+	public static final String INDEX_RESOURCE = "META-INF/schemagen-graphql/controllers";
+
+	// weak keys so the indexes and metadata don't keep discarded class loaders and their classes alive
+	private static final LoadingCache<ClassLoader, Map<String, String>> indexes = CacheBuilder.newBuilder()
+			.weakKeys()
+			.build(new CacheLoader<ClassLoader, Map<String, String>>() {
+				@Override
+				public Map<String, String> load(ClassLoader classLoader) {
+					return loadIndex(classLoader);
+				}
+			});
+	// the metadata references its controller class, soft values let the class be collected
+	private static final LoadingCache<Class<?>, Optional<IGraphQLControllerMetadata>> metadata = CacheBuilder.newBuilder()
+			.weakKeys()
+			.softValues()
+			.build(new CacheLoader<Class<?>, Optional<IGraphQLControllerMetadata>>() {
+				@Override
+				public Optional<IGraphQLControllerMetadata> load(Class<?> controllerClass) {
+					return loadMetadata(controllerClass);
+				}
+			});
+
+	/**
+	 * Get the generated metadata for the controller class, if any.
+	 * @param controllerClass the controller class
+	 * @return
+	 */
+	public static Optional<IGraphQLControllerMetadata> getMetadata(Class<?> controllerClass) {
+		return metadata.getUnchecked(controllerClass);
+	}
+
+	/**
+	 * Get the generated direct call invoker for a controller method, if any.
+	 * @param method the query or mutation method
+	 * @return
+	 */
+	public static Optional<IMethodInvoker> getMethodInvoker(Method method) {
+		Optional<IGraphQLControllerMetadata> controllerMetadata = getMetadata(method.getDeclaringClass());
+		if (controllerMetadata.isPresent()) {
+			return controllerMetadata.get().getMethodInvoker(method);
+		}
+		return Optional.absent();
+	}
+
+	/**
+	 * Get the annotations of the parameters of a controller method read at compile time, if any.
+	 * @param method the query or mutation method
+	 * @return
+	 */
+	public static Optional<Annotation[][]> getParameterAnnotations(Method method) {
+		Optional<IGraphQLControllerMetadata> controllerMetadata = getMetadata(method.getDeclaringClass());
+		if (controllerMetadata.isPresent()) {
+			return controllerMetadata.get().getParameterAnnotations(method);
+		}
+		return Optional.absent();
+	}
+
+	private static Optional<IGraphQLControllerMetadata> loadMetadata(Class<?> controllerClass) {
+		ClassLoader classLoader = controllerClass.getClassLoader();
+		if (classLoader == null) {
+			return Optional.absent();
+		}
+		String metadataClassName = indexes.getUnchecked(classLoader).get(controllerClass.getName());
+		if (metadataClassName == null) {
+			return Optional.absent();
+		}
+		try {
+			return Optional.of((IGraphQLControllerMetadata) Class.forName(metadataClassName, true, classLoader).newInstance());
+		} catch (Exception | LinkageError ex) {
+			LOGGER.warn("Unable to load generated metadata {} for {}, falling back to reflection.", metadataClassName, controllerClass.getName(), ex);
+			return Optional.absent();
+		}
+	}
+
+	private static Map<String, String> loadIndex(ClassLoader classLoader) {
+		Map<String, String> index = Maps.newHashMap();
+		try {
+			Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+			while (resources.hasMoreElements()) {
+				URL resource = resources.nextElement();
+				for (String line : Resources.readLines(resource, Charsets.UTF_8)) {
+					line = line.trim();
+					if (line.isEmpty() || line.startsWith("#")) {
+						continue;
+					}
+					List<String> entry = Splitter.on('=').trimResults().splitToList(line);
+					if (entry.size() == 2) {
+						index.put(entry.get(0), entry.get(1));
+					} else {
+						LOGGER.warn("Ignoring malformed entry {} in {}", line, resource);
+					}
+				}
+			}
+		} catch (IOException ex) {
+			LOGGER.warn("Unable to read {}, falling back to reflection.", INDEX_RESOURCE, ex);
+		}
+		return ImmutableMap.copyOf(index);
+	}
+}
@@ -5,6 +5,8 @@ import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
 import com.bretpatterson.schemagen.graphql.IGraphQLTypeCache;
 import com.bretpatterson.schemagen.graphql.IQueryFactory;
 import com.bretpatterson.schemagen.graphql.ITypeNamingStrategy;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLBatched;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLCacheable;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLController;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLDataFetcher;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLDeprecated;
@@ -17,22 +19,31 @@ import com.bretpatterson.schemagen.graphql.annotations.GraphQLQuery;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeConverter;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeMapper;
 import com.bretpatterson.schemagen.graphql.ITypeFactory;
+import com.bretpatterson.schemagen.graphql.datafetchers.BatchedMethodDataFetcher;
+import com.bretpatterson.schemagen.graphql.datafetchers.DataFetcherExecutor;
 import com.bretpatterson.schemagen.graphql.datafetchers.DefaultMethodDataFetcher;
 import com.bretpatterson.schemagen.graphql.datafetchers.DefaultTypeConverter;
+import com.bretpatterson.schemagen.graphql.datafetchers.FieldResultCaches;
 import com.bretpatterson.schemagen.graphql.datafetchers.IDataFetcher;
+import com.bretpatterson.schemagen.graphql.datafetchers.IMethodDataFetcher;
 import com.bretpatterson.schemagen.graphql.exceptions.NotMappableException;
 import com.bretpatterson.schemagen.graphql.relay.INode;
 import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.typemappers.java.util.MapMapper;
 import com.bretpatterson.schemagen.graphql.utils.AnnotationUtils;
+import com.bretpatterson.schemagen.graphql.utils.ClassMetadata;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.reflect.TypeToken;
 import graphql.Scalars;
 import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLEnumType;
 import graphql.schema.GraphQLFieldDefinition;
@@ -50,7 +61,7 @@ import graphql.schema.TypeResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -58,16 +69,28 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 
 /**
  * This is the meat of the schema gen package. Utilizing the configured properties it will traverse the objects provided and generate a type
  * hierarchy for GraphQL.
+ *
+ * The mapper is safe to use from multiple threads. When a {@link ForkJoinPool} is set and the mapper is called from within that pool the
+ * fields of a type are resolved as independent tasks. Fields of generic types are always resolved on the calling thread as they depend on the
+ * type arguments of the enclosing types.
  */
 public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 
@@ -75,13 +98,35 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 	// class type mappers
 	private ImmutableMap<Type, IGraphQLTypeMapper> classTypeMappers;
 	private ImmutableList<IGraphQLTypeMapper> interfaceTypeMappers;
+	// interface type mappers that may handle each class, see getInterfaceTypeMappers(Class)
+	private ConcurrentMap<Class<?>, List<IGraphQLTypeMapper>> interfaceTypeMappersByClass = Maps.newConcurrentMap();
 	private IGraphQLTypeCache<GraphQLOutputType> outputTypeCache = new DefaultGraphQLTypeCache<>();
 	private IGraphQLTypeCache<GraphQLInputType> inputTypeCache = new DefaultGraphQLTypeCache<>();
+	// first level caches by type identity, see TypeKey
+	private ConcurrentMap<Object, GraphQLOutputType> outputTypesByType = Maps.newConcurrentMap();
+	private ConcurrentMap<Object, GraphQLInputType> inputTypesByType = Maps.newConcurrentMap();
 	private ITypeFactory typeFactory;
 	private ITypeNamingStrategy typeNamingStrategy = new SimpleTypeNamingStrategy();
+	// remembers the names generated by the type naming strategy
+	private CachingTypeNamingStrategy typeNames = CachingTypeNamingStrategy.of(typeNamingStrategy);
 	private List<Class<?>> relayNodeTypes;
-	private Stack<Map<String, Type>> typeArguments = new Stack<>();
-	private Set<GraphQLType> inputTypes = Sets.newHashSet();
+	// type arguments are tracked per thread so separate types can be built concurrently
+	private ThreadLocal<Stack<Map<String, Type>>> typeArguments = new ThreadLocal<Stack<Map<String, Type>>>() {
+		@Override
+		protected Stack<Map<String, Type>> initialValue() {
+			return new Stack<>();
+		}
+	};
+	private Set<GraphQLType> inputTypes = Sets.newConcurrentHashSet();
+	// input object types by input type name
+	private ConcurrentMap<String, GraphQLInputType> inputObjectTypes = Maps.newConcurrentMap();
+	// output type names of object types that were still being built when their input type was requested
+	private Set<String> deferredInputTypes = Sets.newConcurrentHashSet();
+	private Optional<ForkJoinPool> forkJoinPool = Optional.absent();
+	private Optional<GraphQLSchemaSnapshot.Recorder> snapshotRecorder = Optional.absent();
+	private Optional<GraphQLSchemaBuildProfiler> buildProfiler = Optional.absent();
+	private Optional<DataFetcherExecutor> dataFetcherExecutor = Optional.absent();
+	private Optional<FieldResultCaches> fieldResultCaches = Optional.absent();
 	private String nodeTypeName;
 	private IDataFetcherFactory dataFetcherFactory = new DefaultDataFetcherFactory();
 	private Class<? extends IDataFetcher> defaultMethodDataFetcher;
@@ -97,7 +142,7 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 		this.setDefaultMethodDataFetcher(defaultMethodDataFetcher.or(DefaultMethodDataFetcher.class));
 
 		if (typeNamingStrategy.isPresent()) {
-			this.typeNamingStrategy = typeNamingStrategy.get();
+			this.setTypeNamingStrategy(typeNamingStrategy.get());
 		}
 
 		if (dataFetcherFactory.isPresent()) {
@@ -119,7 +164,7 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 		this.classTypeMappers = ImmutableMap.copyOf(classTypeMappersBuilder);
 
 		// store the Node type interface mapping
-		nodeTypeName = getTypeNamingStrategy().getTypeName(this, INode.class);
+		nodeTypeName = typeNames.getTypeName(this, INode.class);
 		this.getOutputTypeCache().put(nodeTypeName,
 				GraphQLInterfaceType.newInterface()
 						.name(nodeTypeName)
@@ -129,6 +174,7 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 	}
 
 	private void buildGenericArgumentTypeMap(ParameterizedType type) {
+		Stack<Map<String, Type>> typeArguments = this.typeArguments.get();
 		Class<?> rawClass = (Class<?>) type.getRawType();
 		TypeVariable<?>[] typeVariables = rawClass.getTypeParameters();
 		Type[] arguments = type.getActualTypeArguments();
@@ -183,12 +229,7 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 	}
 
 	private Optional<Field> getField(Class<?> typeClass, String fieldName) {
-		try {
-			return Optional.of(typeClass.getDeclaredField(fieldName));
-		} catch (Exception ex) {
-			LOGGER.info("No field matching :" + fieldName);
-		}
-		return Optional.absent();
+		return ClassMetadata.of(typeClass).getDeclaredField(fieldName);
 	}
 
 	private GraphQLFieldDefinition.Builder processDeprecated(GraphQLFieldDefinition.Builder builder, Optional<Method> method, Optional<Field> field) {
@@ -239,7 +280,12 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 			return Optional.absent();
 		}
 
-		Type fieldType = method.getGenericReturnType();
+		Type fieldType = ClassMetadata.of(method).getGenericReturnType();
+		boolean batched = method.isAnnotationPresent(GraphQLBatched.class);
+		if (batched) {
+			// batched methods return the values of all objects
+			fieldType = getBatchedValueType(method, fieldType, targetObject);
+		}
 		Class<?> fieldTypeClass = getClassFromType(fieldType);
 		GraphQLOutputType graphQLFieldType = getOutputType(fieldType);
 		Class<? extends DataFetcher> dataFetcherClass = getDefaultMethodDataFetcher();
@@ -263,6 +309,10 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 			}
 		}
 
+		if (batched) {
+			dataFetcherClass = BatchedMethodDataFetcher.class;
+		}
+
 		// next check if there is annotation on the method
 		GraphQLDataFetcher dataFetcherAnnotation = method.getAnnotation(GraphQLDataFetcher.class);
 		// next check field for a datafetcher annotation in case it's not on the method
@@ -280,25 +330,80 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 		DataFetcher dataFetcher;
 		// if we have a datafetcher lets create it using the factory
 		dataFetcher = getDataFetcherFactory().newMethodDataFetcher(this, targetObject, method, fieldName.get(), dataFetcherClass);
+		addResultCache(dataFetcher, method, targetObject);
 		if (IDataFetcher.class.isAssignableFrom(dataFetcher.getClass())) {
-			processMethodArguments(builder, (IDataFetcher) dataFetcher, method);
+			processMethodArguments(Optional.of(builder), (IDataFetcher) dataFetcher, method);
 		}
 
-		dataFetcher = addTypeConverter(Optional.fromNullable(method.getAnnotation(GraphQLTypeConverter.class)), fieldTypeClass, dataFetcher);
+		Class<? extends DefaultTypeConverter> typeConverterClass = getTypeConverterClass(Optional.fromNullable(method.getAnnotation(GraphQLTypeConverter.class)), fieldType, fieldTypeClass);
+		dataFetcher = addExecutor(dataFetcher, addTypeConverter(typeConverterClass, dataFetcher));
 
 		builder.dataFetcher(dataFetcher);
 		processDeprecated(builder, Optional.of(method), field);
 		processDescription(builder, Optional.of(method), field);
 
-		return Optional.of(builder.build());
+		GraphQLFieldDefinition fieldDefinition = builder.build();
+		if (buildProfiler.isPresent()) {
+			buildProfiler.get().fieldCreated();
+			buildProfiler.get().dataFetcherCreated();
+		}
+		if (snapshotRecorder.isPresent()) {
+			snapshotRecorder.get().bindMethod(fieldDefinition, targetObject, method, fieldName.get(), dataFetcherClass, typeConverterClass);
+		}
+		return Optional.of(fieldDefinition);
+	}
+
+	/**
+	 * Creates the data fetcher for a method field of a restored schema snapshot the same way {@link #getFieldType(Type, Method, Optional, Optional)} does,
+	 * without resolving any types.
+	 */
+	DataFetcher newMethodDataFetcher(Optional<Object> targetObject, Method method, String fieldName, Class<? extends DataFetcher> dataFetcherClass,
+			Class<? extends DefaultTypeConverter> typeConverterClass) {
+		DataFetcher dataFetcher = getDataFetcherFactory().newMethodDataFetcher(this, targetObject, method, fieldName, dataFetcherClass);
+		addResultCache(dataFetcher, method, targetObject);
+		if (IDataFetcher.class.isAssignableFrom(dataFetcher.getClass())) {
+			processMethodArguments(Optional.<GraphQLFieldDefinition.Builder>absent(), (IDataFetcher) dataFetcher, method);
+		}
+		return addExecutor(dataFetcher, addTypeConverter(typeConverterClass, dataFetcher));
+	}
+
+	/**
+	 * Creates the data fetcher for a field of a restored schema snapshot the same way {@link #getFieldType(Type, Field, Optional, Optional)} does,
+	 * without resolving any types.
+	 */
+	DataFetcher newFieldDataFetcher(Optional<Object> targetObject, Field field, String fieldName, Class<? extends DataFetcher> dataFetcherClass,
+			Class<? extends DefaultTypeConverter> typeConverterClass) {
+		DataFetcher dataFetcher = getDataFetcherFactory().newFieldDataFetcher(this, targetObject, field, fieldName, dataFetcherClass);
+		return addTypeConverter(typeConverterClass, dataFetcher);
+	}
+
+	private static Type getBatchedValueType(Method method, Type returnType, Optional<Object> targetObject) {
+		if (!List.class.isAssignableFrom(TypeToken.of(returnType).getRawType()) || method.getParameterTypes().length == 0
+				|| !method.getParameterTypes()[0].isAssignableFrom(List.class)) {
+			throw new IllegalArgumentException(String.format("@GraphQLBatched method %s must take a List of objects and return a List of values", method));
+		}
+		if (!Modifier.isStatic(method.getModifiers()) && !targetObject.isPresent()) {
+			// the method is invoked once for all the objects, it has no object of its own to be invoked on
+			throw new IllegalArgumentException(String.format("@GraphQLBatched method %s must be static or a method of a controller", method));
+		}
+		return TypeToken.of(returnType).resolveType(List.class.getTypeParameters()[0]).getType();
 	}
 
-	private void processMethodArguments(GraphQLFieldDefinition.Builder builder, IDataFetcher dataFetcher, Method method) {
-		Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+	/**
+	 * Add the parameters of the method to the data fetcher, and when a field builder is provided the corresponding arguments to the field.
+	 */
+	private void processMethodArguments(Optional<GraphQLFieldDefinition.Builder> builder, IDataFetcher dataFetcher, Method method) {
+		ClassMetadata.MethodMetadata methodMetadata = ClassMetadata.of(method);
+		List<Type> parameterTypes = methodMetadata.getGenericParameterTypes();
 		int index = 0;
-		for (Type paramType : method.getGenericParameterTypes()) {
-			Optional<GraphQLParam> maybeGraphQLParam = Optional.fromNullable(AnnotationUtils.findAnnotation(parameterAnnotations[index], GraphQLParam.class));
-			Optional<GraphQLDescription> maybeGraphQLParamDesc = Optional.fromNullable(AnnotationUtils.findAnnotation(parameterAnnotations[index], GraphQLDescription.class));
+		if (method.isAnnotationPresent(GraphQLBatched.class)) {
+			// the objects the field is fetched for aren't an argument
+			parameterTypes = parameterTypes.subList(1, parameterTypes.size());
+			index = 1;
+		}
+		for (Type paramType : parameterTypes) {
+			Optional<GraphQLParam> maybeGraphQLParam = Optional.fromNullable(methodMetadata.getParameterAnnotation(index, GraphQLParam.class));
+			Optional<GraphQLDescription> maybeGraphQLParamDesc = Optional.fromNullable(methodMetadata.getParameterAnnotation(index, GraphQLDescription.class));
 
 			if (!maybeGraphQLParam.isPresent()) {
 				LOGGER.error("Missing @GraphParam annotation on parameter index {} for method {}", index, method.getName());
@@ -306,23 +411,25 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 			}
 			GraphQLParam graphQLParam = maybeGraphQLParam.get();
 
-			GraphQLInputType inputType = getInputType(paramType);
+			if (builder.isPresent()) {
+				GraphQLInputType inputType = getInputType(paramType);
 
-			if (graphQLParam.required()) {
-				inputType = new GraphQLNonNull(inputType);
-			}
+				if (graphQLParam.required()) {
+					inputType = new GraphQLNonNull(inputType);
+				}
 
-			GraphQLArgument.Builder argBuilder = GraphQLArgument.newArgument().type(inputType).name(graphQLParam.name());
+				GraphQLArgument.Builder argBuilder = GraphQLArgument.newArgument().type(inputType).name(graphQLParam.name());
 
-			if (maybeGraphQLParamDesc.isPresent()) {
-				argBuilder.description(maybeGraphQLParamDesc.get().value());
-			}
+				if (maybeGraphQLParamDesc.isPresent()) {
+					argBuilder.description(maybeGraphQLParamDesc.get().value());
+				}
 
-			if (!AnnotationUtils.isNullValue(graphQLParam.defaultValue())) {
-				argBuilder.defaultValue(graphQLParam.defaultValue());
-			}
+				if (!AnnotationUtils.isNullValue(graphQLParam.defaultValue())) {
+					argBuilder.defaultValue(graphQLParam.defaultValue());
+				}
 
-			builder.argument(argBuilder.build());
+				builder.get().argument(argBuilder.build());
+			}
 
 			dataFetcher.addParam(graphQLParam.name(),
 					paramType,
@@ -332,11 +439,15 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 		}
 	}
 
-	private DataFetcher addTypeConverter(Optional<GraphQLTypeConverter> typeConverterAnnotation, Class<?> fieldTypeClass, DataFetcher dataFetcher) {
+	private Class<? extends DefaultTypeConverter> getTypeConverterClass(Optional<GraphQLTypeConverter> typeConverterAnnotation, Type fieldType,
+			Class<?> fieldTypeClass) {
 
 		Class<? extends DefaultTypeConverter> typeConverterClass= null;
 		if (typeConverterAnnotation.isPresent()) {
 			typeConverterClass = typeConverterAnnotation.get().typeConverter();
+		} else if (Map.class.isAssignableFrom(fieldTypeClass) && MapMapper.isEnumKeyed(fieldType)) {
+			// enum keyed maps are exposed as objects whose fields read the map directly
+			return null;
 		} else {
 			for (Map.Entry<Class<?>, Class<? extends DefaultTypeConverter>> entry : defaultTypeConverters.entrySet()) {
 
@@ -345,6 +456,66 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 				}
 			}
 		}
+		return typeConverterClass;
+	}
+
+	/**
+	 * Cache the values of {@link GraphQLCacheable} methods in the cache of the method when the cache is set.
+	 */
+	private void addResultCache(DataFetcher dataFetcher, Method method, Optional<Object> targetObject) {
+		if (!method.isAnnotationPresent(GraphQLCacheable.class)) {
+			return;
+		}
+		// values are cached by the object the method is invoked on, the objects of other types are rarely the same across queries
+		if (!targetObject.isPresent()) {
+			throw new IllegalArgumentException(String.format("@GraphQLCacheable method %s must be a method of a controller", method));
+		}
+		// cached values are refreshed with the arguments of the call that loaded them, so every argument must be part of the key
+		List<String> keyArgs = Arrays.asList(method.getAnnotation(GraphQLCacheable.class).keyArgs());
+		if (!keyArgs.isEmpty()) {
+			ClassMetadata.MethodMetadata methodMetadata = ClassMetadata.of(method);
+			for (int i = 0; i < method.getParameterTypes().length; i++) {
+				GraphQLParam graphQLParam = methodMetadata.getParameterAnnotation(i, GraphQLParam.class);
+				if (graphQLParam != null && !keyArgs.contains(graphQLParam.name())) {
+					throw new IllegalArgumentException(String.format("@GraphQLCacheable method %s must list its parameter %s in keyArgs", method, graphQLParam.name()));
+				}
+			}
+		}
+		// batched data fetchers invoke the method for many objects at once
+		if (fieldResultCaches.isPresent() && dataFetcher instanceof DefaultMethodDataFetcher && !(dataFetcher instanceof BatchedMethodDataFetcher)) {
+			// cached values are loaded without the environment, which data fetchers that override invokeMethod may read
+			if (overridesInvokeMethod(dataFetcher)) {
+				LOGGER.warn("Not caching the values of {}, its data fetcher {} overrides invokeMethod", method, dataFetcher.getClass().getName());
+				return;
+			}
+			((DefaultMethodDataFetcher) dataFetcher).setResultCache(fieldResultCaches.get().getCache(method));
+		}
+	}
+
+	private static boolean overridesInvokeMethod(DataFetcher dataFetcher) {
+		try {
+			return dataFetcher.getClass().getMethod("invokeMethod", DataFetchingEnvironment.class, Method.class, Object.class, Object[].class)
+					.getDeclaringClass() != DefaultMethodDataFetcher.class;
+		} catch (NoSuchMethodException ex) {
+			throw Throwables.propagate(ex);
+		}
+	}
+
+	/**
+	 * Invoke method data fetchers, including their type converter, on the data fetcher executor when one is set.
+	 */
+	private DataFetcher addExecutor(DataFetcher methodDataFetcher, DataFetcher dataFetcher) {
+		// batched and memoized data fetchers keep the state of the query on the thread executing it
+		if (!dataFetcherExecutor.isPresent() || !(methodDataFetcher instanceof IMethodDataFetcher) || methodDataFetcher instanceof BatchedMethodDataFetcher) {
+			return dataFetcher;
+		}
+		if (methodDataFetcher instanceof DefaultMethodDataFetcher && ((DefaultMethodDataFetcher) methodDataFetcher).isMemoized()) {
+			return dataFetcher;
+		}
+		return dataFetcherExecutor.get().wrap(dataFetcher);
+	}
+
+	private DataFetcher addTypeConverter(Class<? extends DefaultTypeConverter> typeConverterClass, DataFetcher dataFetcher) {
 		if (typeConverterClass != null) {
 			try {
 				dataFetcher = typeConverterClass.getConstructor(DataFetcher.class).newInstance(dataFetcher);
@@ -405,7 +576,8 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 				}
 
 				DataFetcher	dataFetcher = getDataFetcherFactory().newFieldDataFetcher(this, targetObject,  field, fieldName,  dataFetcherClass);
-				dataFetcher = addTypeConverter(Optional.fromNullable(field.getAnnotation(GraphQLTypeConverter.class)), fieldTypeClass, dataFetcher);
+				Class<? extends DefaultTypeConverter> typeConverterClass = getTypeConverterClass(Optional.fromNullable(field.getAnnotation(GraphQLTypeConverter.class)), field.getGenericType(), fieldTypeClass);
+				dataFetcher = addTypeConverter(typeConverterClass, dataFetcher);
 
 				if (dataFetcher != null) {
 					builder.dataFetcher(dataFetcher);
@@ -413,7 +585,17 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 
 				processDeprecated(builder, Optional.<Method>absent(), Optional.of(field));
 
-				return Optional.of(builder.build());
+				GraphQLFieldDefinition fieldDefinition = builder.build();
+				if (buildProfiler.isPresent()) {
+					buildProfiler.get().fieldCreated();
+					if (dataFetcher != null) {
+						buildProfiler.get().dataFetcherCreated();
+					}
+				}
+				if (snapshotRecorder.isPresent() && dataFetcher != null) {
+					snapshotRecorder.get().bindField(fieldDefinition, targetObject, field, fieldName, dataFetcherClass, typeConverterClass);
+				}
+				return Optional.of(fieldDefinition);
 			} catch (NotMappableException ex) {
 				LOGGER.info("types field type {} not supported so ignored field named {}", type, field.getGenericType(), field.getName());
 			}
@@ -429,7 +611,14 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 		if (type instanceof TypeVariable) {
 			return Optional.absent();
 		}
-		for (IGraphQLTypeMapper typeMapper : getInterfaceTypeMappers()) {
+		// arrays are mapped by the type mapper of Array
+		if (type instanceof Class && ((Class<?>) type).isArray() && getClassTypeMappers().containsKey(Array.class)) {
+			IGraphQLTypeMapper typeMapper = getClassTypeMappers().get(Array.class);
+			if (typeMapper.handlesType(this, type)) {
+				return Optional.of(typeMapper);
+			}
+		}
+		for (IGraphQLTypeMapper typeMapper : getInterfaceTypeMappers(getClassFromType(type))) {
 
 			if (typeMapper.handlesType(this, type)) {
 				return Optional.of(typeMapper);
@@ -440,20 +629,104 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 		return Optional.absent();
 	}
 
+	/**
+	 * The interface type mappers registered for one of the interfaces the class implements. Type mappers of an interface come before the
+	 * type mappers of the interfaces it extends, IE: a type mapper of a primitive collection before the one of Collection, otherwise they are
+	 * in registration order. Resolved once per class, most classes don't implement any of the interfaces and have none.
+	 */
+	private List<IGraphQLTypeMapper> getInterfaceTypeMappers(Class<?> typeClass) {
+		List<IGraphQLTypeMapper> rv = interfaceTypeMappersByClass.get(typeClass);
+		if (rv == null) {
+			Set<Class<?>> superTypes = getSuperTypes(typeClass);
+			List<IGraphQLTypeMapper> typeMappers = Lists.newArrayList();
+			for (IGraphQLTypeMapper typeMapper : getInterfaceTypeMappers()) {
+				Class<?> mappedType = typeMapper.getClass().getAnnotation(GraphQLTypeMapper.class).type();
+				if (superTypes.contains(mappedType)) {
+					int index = 0;
+					while (index < typeMappers.size() && !isSuperType(typeMappers.get(index), mappedType)) {
+						index++;
+					}
+					typeMappers.add(index, typeMapper);
+				}
+			}
+			rv = ImmutableList.copyOf(typeMappers);
+			interfaceTypeMappersByClass.putIfAbsent(typeClass, rv);
+		}
+		return rv;
+	}
+
+	private static boolean isSuperType(IGraphQLTypeMapper typeMapper, Class<?> type) {
+		Class<?> mappedType = typeMapper.getClass().getAnnotation(GraphQLTypeMapper.class).type();
+		return mappedType != type && mappedType.isAssignableFrom(type);
+	}
+
+	/**
+	 * The class, its superclasses and all of the interfaces they implement.
+	 */
+	private static Set<Class<?>> getSuperTypes(Class<?> typeClass) {
+		Set<Class<?>> rv = Sets.newHashSet();
+		Deque<Class<?>> pending = new ArrayDeque<>();
+		pending.push(typeClass);
+		while (!pending.isEmpty()) {
+			Class<?> current = pending.pop();
+			if (rv.add(current)) {
+				if (current.getSuperclass() != null) {
+					pending.push(current.getSuperclass());
+				}
+				for (Class<?> interfaceClass : current.getInterfaces()) {
+					pending.push(interfaceClass);
+				}
+			}
+		}
+		return rv;
+	}
+
 	@Override
 	public GraphQLInputType getInputType(Type type) {
-		GraphQLInputType rv;
-		String typeName = this.getTypeNamingStrategy().getTypeName(this, type);
-		if (getInputTypeCache().containsKey(typeName)) {
+		Object typeCacheKey = TypeKey.of(type);
+		if (typeCacheKey != null) {
+			GraphQLInputType rv = inputTypesByType.get(typeCacheKey);
+			if (rv == null) {
+				rv = getInputTypeByName(type);
+				if (!(rv instanceof GraphQLTypeReference)) {
+					inputTypesByType.putIfAbsent(typeCacheKey, rv);
+				}
+			} else if (buildProfiler.isPresent()) {
+				buildProfiler.get().typeIdentityCacheHit(true);
+			}
+			return rv;
+		}
+		return getInputTypeByName(type);
+	}
+
+	private GraphQLInputType getInputTypeByName(Type type) {
+		String typeName = getTypeName(type);
+		boolean cached = getInputTypeCache().containsKey(typeName);
+		if (!buildProfiler.isPresent()) {
+			return cached ? getInputTypeCache().get(typeName) : newInputType(type, typeName);
+		}
+
+		buildProfiler.get().inputTypeCacheLookup(cached);
+		if (cached) {
 			return getInputTypeCache().get(typeName);
 		}
+		long startNanos = buildProfiler.get().typeStarted();
+		try {
+			return newInputType(type, typeName);
+		} finally {
+			buildProfiler.get().typeFinished(typeName, true, startNanos);
+		}
+	}
+
+	private GraphQLInputType newInputType(Type type, String typeName) {
+		GraphQLInputType rv;
 		// check typemapper
 		Optional<IGraphQLTypeMapper> typeMapper = getCustomTypeMapper(type);
 		if (typeMapper.isPresent()) {
-			rv = getInputTypeCache().put(typeName, typeMapper.get().getInputType(this, type));
+			rv = cacheIfAbsent(getInputTypeCache(), typeName, mapInputType(typeMapper.get(), type));
 		} else {
 			GraphQLOutputType outputType = getOutputType(type);
-			rv = getInputTypeCache().put(typeName, getInputType(outputType));
+			rv = cacheIfAbsent(getInputTypeCache(), typeName, getInputType(outputType));
 		}
 
 		return rv;
@@ -461,17 +734,53 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 
 	@Override
 	public GraphQLOutputType getOutputType(Type type) {
-		GraphQLOutputType rv;
-		Class<?> classType;
-		String typeName = this.getTypeNamingStrategy().getTypeName(this, type);
+		Object typeCacheKey = TypeKey.of(type);
+		if (typeCacheKey != null) {
+			GraphQLOutputType rv = outputTypesByType.get(typeCacheKey);
+			if (rv == null) {
+				rv = getOutputTypeByName(type);
+				// types that are still being built are only referenced
+				if (!(rv instanceof GraphQLTypeReference)) {
+					outputTypesByType.putIfAbsent(typeCacheKey, rv);
+				}
+			} else if (buildProfiler.isPresent()) {
+				buildProfiler.get().typeIdentityCacheHit(false);
+			}
+			return rv;
+		}
+		return getOutputTypeByName(type);
+	}
+
+	private GraphQLOutputType getOutputTypeByName(Type type) {
+		String typeName = getTypeName(type);
+		boolean cached = getOutputTypeCache().containsKey(typeName);
+		if (!buildProfiler.isPresent()) {
+			return cached ? getOutputTypeCache().get(typeName) : newOutputType(type, typeName);
+		}
 
-		if (getOutputTypeCache().containsKey(typeName)) {
+		buildProfiler.get().outputTypeCacheLookup(cached);
+		if (cached) {
 			return getOutputTypeCache().get(typeName);
 		}
+		if (type instanceof TypeVariable) {
+			// profiled as the type the variable resolves to
+			return newOutputType(type, typeName);
+		}
+		long startNanos = buildProfiler.get().typeStarted();
+		try {
+			return newOutputType(type, typeName);
+		} finally {
+			buildProfiler.get().typeFinished(typeName, false, startNanos);
+		}
+	}
+
+	private GraphQLOutputType newOutputType(Type type, String typeName) {
+		GraphQLOutputType rv;
+		Class<?> classType;
 
 		Optional<IGraphQLTypeMapper> typeMapper = getCustomTypeMapper(type);
 		if (typeMapper.isPresent()) {
-			rv = getOutputTypeCache().put(typeName, typeMapper.get().getOutputType(this, type));
+			rv = cacheIfAbsent(getOutputTypeCache(), typeName, mapOutputType(typeMapper.get(), type));
 		} else if (type instanceof ParameterizedType) {
 			ParameterizedType parameterizedType = (ParameterizedType) type;
 			Type rawType = parameterizedType.getRawType();
@@ -479,25 +788,28 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 
 			typeMapper = getCustomTypeMapper(rawClass);
 			if (typeMapper.isPresent()) {
-				rv = getOutputTypeCache().put(typeName, typeMapper.get().getOutputType(this, type));
+				rv = cacheIfAbsent(getOutputTypeCache(), typeName, mapOutputType(typeMapper.get(), type));
 			} else {
 				return buildObject(type, rawClass);
 			}
 		} else if (type instanceof TypeVariable) {
 			TypeVariable<?> vType = (TypeVariable<?>) type;
-			return getOutputType(typeArguments.peek().get(vType.getName()));
+			return getOutputType(typeArguments.get().peek().get(vType.getName()));
 		} else {
 			classType = getClassFromType(type);
 			Optional<GraphQLScalarType> graphQLType = getIfPrimitiveType(classType);
 
 			if (graphQLType.isPresent()) {
-				rv = getOutputTypeCache().put(typeName, graphQLType.get());
+				rv = cacheIfAbsent(getOutputTypeCache(), typeName, graphQLType.get());
 			} else if (classType.isEnum()) {
-				GraphQLEnumType.Builder enumType = GraphQLEnumType.newEnum().name(typeNamingStrategy.getTypeName(this, type));
+				if (snapshotRecorder.isPresent()) {
+					snapshotRecorder.get().addClass(classType);
+				}
+				GraphQLEnumType.Builder enumType = GraphQLEnumType.newEnum().name(typeName);
 				for (Object value : classType.getEnumConstants()) {
 					enumType.value(value.toString(), value);
 				}
-				rv = getOutputTypeCache().put(typeName, enumType.build());
+				rv = cacheIfAbsent(getOutputTypeCache(), typeName, enumType.build());
 			} else {
 				rv = buildObject(type, classType);
 			}
@@ -506,6 +818,50 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 		return rv;
 	}
 
+	private String getTypeName(Type type) {
+		if (!buildProfiler.isPresent()) {
+			return typeNames.getTypeName(this, type);
+		}
+		long startNanos = buildProfiler.get().start();
+		try {
+			return typeNames.getTypeName(this, type);
+		} finally {
+			buildProfiler.get().typeNamed(startNanos);
+		}
+	}
+
+	private GraphQLOutputType mapOutputType(IGraphQLTypeMapper typeMapper, Type type) {
+		if (!buildProfiler.isPresent()) {
+			return typeMapper.getOutputType(this, type);
+		}
+		long startNanos = buildProfiler.get().start();
+		try {
+			return typeMapper.getOutputType(this, type);
+		} finally {
+			buildProfiler.get().typeMapped(typeMapper, startNanos);
+		}
+	}
+
+	private GraphQLInputType mapInputType(IGraphQLTypeMapper typeMapper, Type type) {
+		if (!buildProfiler.isPresent()) {
+			return typeMapper.getInputType(this, type);
+		}
+		long startNanos = buildProfiler.get().start();
+		try {
+			return typeMapper.getInputType(this, type);
+		} finally {
+			buildProfiler.get().typeMapped(typeMapper, startNanos);
+		}
+	}
+
+	/**
+	 * Cache the value unless another thread cached a value for the type first, in which case that value is used.
+	 */
+	private <T> T cacheIfAbsent(IGraphQLTypeCache<T> cache, String typeName, T value) {
+		T existing = cache.putIfAbsent(typeName, value);
+		return existing != null ? existing : value;
+	}
+
 	@Override
 	public IGraphQLTypeCache<GraphQLInputType> getInputTypeCache() {
 		return inputTypeCache;
@@ -521,18 +877,32 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 		return this.typeFactory;
 	}
 
+	private String getInputTypeName(String outputTypeName) {
+		return typeNames.getInputTypeName(outputTypeName);
+	}
+
 	private GraphQLInputType getInputType(GraphQLOutputType outputType) {
-		if (GraphQLInputType.class.isAssignableFrom(outputType.getClass())) {
+		if (outputType instanceof GraphQLTypeReference) {
+			// a reference to an object type, build the input type from the object type if it's complete
+			GraphQLOutputType referencedType = getOutputTypeCache().get(outputType.getName());
+			if (referencedType != null && !(referencedType instanceof GraphQLTypeReference)) {
+				return getInputType(referencedType);
+			}
+			// the object type is still being built, create the input type once all object types are complete
+			deferredInputTypes.add(outputType.getName());
+			return new GraphQLTypeReference(getInputTypeName(outputType.getName()));
+		} else if (GraphQLInputType.class.isAssignableFrom(outputType.getClass())) {
 			return (GraphQLInputType) outputType;
 		} else if (outputType instanceof GraphQLObjectType) {
 			GraphQLObjectType objectType = (GraphQLObjectType) outputType;
 
-			final String inputTypeName;
+			final String inputTypeName = getInputTypeName(objectType.getName());
 
-			inputTypeName = String.format("%s%s%s",
-					objectType.getName(),
-					this.getTypeNamingStrategy().getDelimiter(),
-					this.getTypeNamingStrategy().getInputTypePostfix());
+			// claim the name so recursive and concurrent requests for the input type get a reference to it
+			GraphQLInputType existing = inputObjectTypes.putIfAbsent(inputTypeName, new GraphQLTypeReference(inputTypeName));
+			if (existing != null) {
+				return existing;
+			}
 
 			GraphQLInputObjectType.Builder rv = GraphQLInputObjectType.newInputObject().name(inputTypeName);
 
@@ -547,7 +917,11 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 			}
 
 			GraphQLInputType type = rv.build();
+			inputObjectTypes.put(inputTypeName, type);
 			inputTypes.add(type);
+			if (buildProfiler.isPresent()) {
+				buildProfiler.get().inputObjectTypeCreated();
+			}
 			return type;
 
 		} else {
@@ -575,16 +949,21 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 		return Optional.fromNullable(rv);
 	}
 
-	private GraphQLObjectType buildObject(Type type, Class<?> classType) {
-		GraphQLObjectType rv;
+	private GraphQLOutputType buildObject(Type type, Class<?> classType) {
+		GraphQLOutputType rv;
+		Stack<Map<String, Type>> typeArguments = this.typeArguments.get();
 		try {
 			// object types we create an object type and then recursively call ourselves to get the field types
-			String typeName = typeNamingStrategy.getTypeName(this, type);
+			String typeName = getTypeName(type);
 			GraphQLObjectType.Builder glType = GraphQLObjectType.newObject().name(typeName);
 			GraphQLTypeReference glTypeReference = new GraphQLTypeReference(typeName);
 			ImmutableList.Builder<GraphQLFieldDefinition> fields = ImmutableList.builder();
 
-			getOutputTypeCache().put(typeName, glTypeReference);
+			// if another thread is already building this type use a reference to it
+			GraphQLOutputType existing = getOutputTypeCache().putIfAbsent(typeName, glTypeReference);
+			if (existing != null) {
+				return existing;
+			}
 			Class<?> classItem = classType;
 			Optional<GraphQLController> graphQLQueryable = Optional.fromNullable((GraphQLController) classItem.getAnnotation(GraphQLController.class));
 			Optional<GraphQLDescription> maybeGraphqlDesc = Optional.fromNullable(classItem.getAnnotation(GraphQLDescription.class));
@@ -653,7 +1032,7 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 			if (INode.class.isAssignableFrom(classType)) {
 				glType.withInterface((GraphQLInterfaceType) getOutputTypeCache().get(nodeTypeName));
 			}
-			rv = (GraphQLObjectType) getOutputTypeCache().put(typeName, glType.build());
+			rv = getOutputTypeCache().put(typeName, glType.build());
 		} catch (InstantiationException | IllegalAccessException ex) {
 			LOGGER.error("Unable to instantiate query factory for type class {}", classType.getName(), ex);
 			Throwables.propagate(ex);
@@ -666,14 +1045,18 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 	@Override
 	public Collection<GraphQLFieldDefinition> getGraphQLFieldDefinitions(Optional<Object> targetObject, Type type, Class<?> classItem, Optional<List<Field>> fields, Optional<List<Method>> methods) {
 		Map<String, GraphQLFieldDefinition> fieldDefinitions = Maps.newLinkedHashMap();
-		Optional<GraphQLFieldDefinition> fieldDefinitionOptional;
 		Set<String> ignoredFields = Sets.newHashSet();
 		List<Field> fieldList;
 		List<Method> methodList;
 
-		fieldList = fields.or(ImmutableList.copyOf(classItem.getDeclaredFields()));
-		methodList = methods.or(ImmutableList.copyOf(classItem.getDeclaredMethods()));
+		ClassMetadata classMetadata = ClassMetadata.of(classItem);
+		fieldList = fields.or(classMetadata.getDeclaredFields());
+		methodList = methods.or(classMetadata.getDeclaredMethods());
+		if (snapshotRecorder.isPresent()) {
+			snapshotRecorder.get().addClass(classItem);
+		}
 
+		List<Callable<Optional<GraphQLFieldDefinition>>> methodFieldTasks = Lists.newArrayList();
 		for (Method m : methodList) {
 			Optional<String> methodName = getFieldNameFromMethod(m);
 			// we only look at getters and is types
@@ -684,12 +1067,16 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 				ignoredFields.add(methodName.get());
 				continue;
 			}
-			fieldDefinitionOptional = getFieldType(type, m, targetObject, methodName);
-			if (fieldDefinitionOptional.isPresent()) {
-				fieldDefinitions.put(fieldDefinitionOptional.get().getName(), fieldDefinitionOptional.get());
+			methodFieldTasks.add(newFieldTypeTask(type, m, targetObject, methodName));
+		}
+		for (Optional<GraphQLFieldDefinition> fieldDefinition : invokeFieldTypeTasks(methodFieldTasks)) {
+			if (fieldDefinition.isPresent()) {
+				fieldDefinitions.put(fieldDefinition.get().getName(), fieldDefinition.get());
 			}
 		}
 
+		List<Field> taskFields = Lists.newArrayList();
+		List<Callable<Optional<GraphQLFieldDefinition>>> fieldTasks = Lists.newArrayList();
 		for (Field field : fieldList) {
 			// skip ignored fields
 			if (null != field.getAnnotation(GraphQLIgnore.class) || ignoredFields.contains(field.getName())) {
@@ -702,10 +1089,15 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 			if (fieldDefinitions.containsKey(field.getName())) {
 				continue;
 			}
-			fieldDefinitionOptional = getFieldType(type, field, targetObject, Optional.<String>absent());
-			if (fieldDefinitionOptional.isPresent()) {
-				if (!field.getName().startsWith("$")) {
-					fieldDefinitions.put(fieldDefinitionOptional.get().getName(), fieldDefinitionOptional.get());
+			taskFields.add(field);
+			fieldTasks.add(newFieldTypeTask(type, field, targetObject));
+		}
+		List<Optional<GraphQLFieldDefinition>> fieldTypes = invokeFieldTypeTasks(fieldTasks);
+		for (int i = 0; i < fieldTypes.size(); i++) {
+			Optional<GraphQLFieldDefinition> fieldDefinition = fieldTypes.get(i);
+			if (fieldDefinition.isPresent()) {
+				if (!taskFields.get(i).getName().startsWith("$")) {
+					fieldDefinitions.put(fieldDefinition.get().getName(), fieldDefinition.get());
 				}
 			}
 		}
@@ -713,6 +1105,51 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 		return fieldDefinitions.values();
 	}
 
+	private Callable<Optional<GraphQLFieldDefinition>> newFieldTypeTask(final Type type, final Method method, final Optional<Object> targetObject,
+			final Optional<String> fieldName) {
+		return new Callable<Optional<GraphQLFieldDefinition>>() {
+			@Override
+			public Optional<GraphQLFieldDefinition> call() {
+				return getFieldType(type, method, targetObject, fieldName);
+			}
+		};
+	}
+
+	private Callable<Optional<GraphQLFieldDefinition>> newFieldTypeTask(final Type type, final Field field, final Optional<Object> targetObject) {
+		return new Callable<Optional<GraphQLFieldDefinition>>() {
+			@Override
+			public Optional<GraphQLFieldDefinition> call() {
+				return getFieldType(type, field, targetObject, Optional.<String>absent());
+			}
+		};
+	}
+
+	/**
+	 * Runs the tasks in the fork join pool when we are executing within it and there are no type arguments in scope, otherwise
+	 * runs them on the calling thread. Results are returned in task order.
+	 */
+	private List<Optional<GraphQLFieldDefinition>> invokeFieldTypeTasks(List<Callable<Optional<GraphQLFieldDefinition>>> tasks) {
+		ImmutableList.Builder<Optional<GraphQLFieldDefinition>> rv = ImmutableList.builder();
+		try {
+			if (tasks.size() > 1 && forkJoinPool.isPresent() && ForkJoinTask.getPool() == forkJoinPool.get() && typeArguments.get().empty()) {
+				List<ForkJoinTask<Optional<GraphQLFieldDefinition>>> forkJoinTasks = Lists.newArrayListWithCapacity(tasks.size());
+				for (Callable<Optional<GraphQLFieldDefinition>> task : tasks) {
+					forkJoinTasks.add(ForkJoinTask.adapt(task));
+				}
+				for (ForkJoinTask<Optional<GraphQLFieldDefinition>> task : ForkJoinTask.invokeAll(forkJoinTasks)) {
+					rv.add(task.join());
+				}
+			} else {
+				for (Callable<Optional<GraphQLFieldDefinition>> task : tasks) {
+					rv.add(task.call());
+				}
+			}
+		} catch (Exception ex) {
+			throw Throwables.propagate(ex);
+		}
+		return rv.build();
+	}
+
 	@Override
 	public ITypeNamingStrategy getTypeNamingStrategy() {
 		return typeNamingStrategy;
@@ -720,6 +1157,10 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 
 	public void setTypeNamingStrategy(ITypeNamingStrategy typeNamingStrategy) {
 		this.typeNamingStrategy = typeNamingStrategy;
+		this.typeNames = CachingTypeNamingStrategy.of(typeNamingStrategy);
+		// types are looked up by name again with the new strategy
+		outputTypesByType.clear();
+		inputTypesByType.clear();
 	}
 
 	@VisibleForTesting
@@ -747,7 +1188,7 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 		if (type instanceof ParameterizedType) {
 			return (Class<?>) ((ParameterizedType) type).getRawType();
 		} else if (type instanceof TypeVariable) {
-			return getClassFromType(typeArguments.peek().get(((TypeVariable<?>) type).getName()));
+			return getClassFromType(typeArguments.get().peek().get(((TypeVariable<?>) type).getName()));
 		} else if (type instanceof WildcardType) {
 			// @TODO do a better job of wild card types here
 			return getClassFromType(((WildcardType) type).getLowerBounds()[0]);
@@ -758,7 +1199,67 @@ public class GraphQLObjectMapper implements IGraphQLObjectMapper, TypeResolver {
 
 	@Override
 	public Set<GraphQLType> getInputTypes() {
-		return inputTypes;
+		// now that the object types are complete create the input types that were deferred while they were being built
+		while (!deferredInputTypes.isEmpty()) {
+			for (String outputTypeName : ImmutableList.copyOf(deferredInputTypes)) {
+				deferredInputTypes.remove(outputTypeName);
+				GraphQLOutputType outputType = getOutputTypeCache().get(outputTypeName);
+				if (outputType != null && !(outputType instanceof GraphQLTypeReference)) {
+					getInputType(outputType);
+				} else {
+					LOGGER.error("Unable to create input type for {}, the type was never completed.", outputTypeName);
+				}
+			}
+		}
+		// input types are discovered in a different order when built in parallel, so order them by name
+		Set<GraphQLType> rv = Sets.newTreeSet(new Comparator<GraphQLType>() {
+			@Override
+			public int compare(GraphQLType left, GraphQLType right) {
+				return left.getName().compareTo(right.getName());
+			}
+		});
+		rv.addAll(inputTypes);
+		return rv;
+	}
+
+	/**
+	 * Set the pool fields are resolved in when the mapper is invoked from a task executing in the pool.
+	 * @param forkJoinPool the pool, or null to always resolve fields on the calling thread
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = Optional.fromNullable(forkJoinPool);
+	}
+
+	/**
+	 * Set the executor method data fetchers are invoked on.
+	 * @param dataFetcherExecutor the executor, or null to invoke data fetchers on the thread executing the query
+	 */
+	public void setDataFetcherExecutor(DataFetcherExecutor dataFetcherExecutor) {
+		this.dataFetcherExecutor = Optional.fromNullable(dataFetcherExecutor);
+	}
+
+	/**
+	 * Set the caches of {@link GraphQLCacheable} methods.
+	 * @param fieldResultCaches the caches, or null to invoke the methods every time
+	 */
+	public void setFieldResultCaches(FieldResultCaches fieldResultCaches) {
+		this.fieldResultCaches = Optional.fromNullable(fieldResultCaches);
+	}
+
+	/**
+	 * Set the profiler that records where the time building types is spent.
+	 * @param buildProfiler the profiler, or null to stop profiling
+	 */
+	public void setBuildProfiler(GraphQLSchemaBuildProfiler buildProfiler) {
+		this.buildProfiler = Optional.fromNullable(buildProfiler);
+	}
+
+	/**
+	 * Set the recorder that collects the data fetcher bindings and classes of the types built, for writing a {@link GraphQLSchemaSnapshot}.
+	 * @param snapshotRecorder the recorder, or null to stop recording
+	 */
+	public void setSnapshotRecorder(GraphQLSchemaSnapshot.Recorder snapshotRecorder) {
+		this.snapshotRecorder = Optional.fromNullable(snapshotRecorder);
 	}
 
 	@Override
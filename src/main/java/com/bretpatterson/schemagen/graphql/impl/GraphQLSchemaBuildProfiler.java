@@ -0,0 +1,323 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects where the time of a schema build is spent. Register a profiler with
+ * {@link com.bretpatterson.schemagen.graphql.GraphQLSchemaBuilder#registerBuildProfiler(GraphQLSchemaBuildProfiler)} and read the report
+ * with {@link #toJson()} or {@link #getSummary(int)} once the schema is built.
+ *
+ * Recorded are the time spent building each type, including and excluding the types it references, and the depth of the type within the
+ * types being built, the time spent in each type mapper and in naming types, the hit ratios of the input and output type caches and the
+ * number of types, fields and data fetchers created. Depths are tracked per thread, types built in parallel start at depth 1.
+ */
+public class GraphQLSchemaBuildProfiler {
+
+	private final Ticker ticker;
+	private final AtomicLong buildNanos = new AtomicLong();
+	private final ConcurrentMap<String, TypeProfile> types = Maps.newConcurrentMap();
+	private final ConcurrentMap<Class<?>, TimeProfile> typeMappers = Maps.newConcurrentMap();
+	private final TimeProfile typeNaming = new TimeProfile();
+	private final CacheProfile outputTypeCache = new CacheProfile();
+	private final CacheProfile inputTypeCache = new CacheProfile();
+	private final AtomicLong inputObjectTypesCreated = new AtomicLong();
+	private final AtomicLong fieldsCreated = new AtomicLong();
+	private final AtomicLong dataFetchersCreated = new AtomicLong();
+	// time spent in the types referenced by each type being built on this thread
+	private final ThreadLocal<Deque<long[]>> typeStack = new ThreadLocal<Deque<long[]>>() {
+		@Override
+		protected Deque<long[]> initialValue() {
+			return new ArrayDeque<>();
+		}
+	};
+
+	public GraphQLSchemaBuildProfiler() {
+		this(Ticker.systemTicker());
+	}
+
+	@VisibleForTesting
+	GraphQLSchemaBuildProfiler(Ticker ticker) {
+		this.ticker = ticker;
+	}
+
+	private static class TimeProfile {
+		final AtomicLong calls = new AtomicLong();
+		final AtomicLong nanos = new AtomicLong();
+
+		void add(long elapsedNanos) {
+			calls.incrementAndGet();
+			nanos.addAndGet(elapsedNanos);
+		}
+	}
+
+	private static class TypeProfile extends TimeProfile {
+		final String name;
+		final String kind;
+		final int depth;
+		final AtomicLong selfNanos = new AtomicLong();
+
+		TypeProfile(String name, String kind, int depth) {
+			this.name = name;
+			this.kind = kind;
+			this.depth = depth;
+		}
+	}
+
+	private static class CacheProfile {
+		final AtomicLong hits = new AtomicLong();
+		final AtomicLong misses = new AtomicLong();
+		final AtomicLong identityHits = new AtomicLong();
+
+		double getHitRatio() {
+			long lookups = hits.get() + misses.get();
+			return lookups == 0 ? 0 : (double) hits.get() / lookups;
+		}
+	}
+
+	/**
+	 * @return the current time, to pass to the methods recording the time spent since
+	 */
+	public long start() {
+		return ticker.read();
+	}
+
+	public void buildFinished(long startNanos) {
+		buildNanos.addAndGet(ticker.read() - startNanos);
+	}
+
+	/**
+	 * Called before a type that isn't cached is built.
+	 * @return the current time, to pass to {@link #typeFinished(String, boolean, long)}
+	 */
+	public long typeStarted() {
+		typeStack.get().push(new long[1]);
+		return ticker.read();
+	}
+
+	/**
+	 * Called once the type is built, even when building it failed.
+	 * @param typeName the name of the type
+	 * @param input true for input types
+	 * @param startNanos the time returned by {@link #typeStarted()}
+	 */
+	public void typeFinished(String typeName, boolean input, long startNanos) {
+		long elapsedNanos = ticker.read() - startNanos;
+		Deque<long[]> stack = typeStack.get();
+		long referencedNanos = stack.pop()[0];
+		if (!stack.isEmpty()) {
+			stack.peek()[0] += elapsedNanos;
+		}
+
+		String kind = input ? "input" : "output";
+		String key = kind + ':' + typeName;
+		TypeProfile profile = types.get(key);
+		if (profile == null) {
+			TypeProfile existing = types.putIfAbsent(key, profile = new TypeProfile(typeName, kind, stack.size() + 1));
+			profile = existing != null ? existing : profile;
+		}
+		profile.add(elapsedNanos);
+		profile.selfNanos.addAndGet(elapsedNanos - referencedNanos);
+	}
+
+	/**
+	 * Called once a type mapper created a type.
+	 * @param typeMapper the type mapper
+	 * @param startNanos the time the type mapper was called
+	 */
+	public void typeMapped(IGraphQLTypeMapper typeMapper, long startNanos) {
+		long elapsedNanos = ticker.read() - startNanos;
+		TimeProfile profile = typeMappers.get(typeMapper.getClass());
+		if (profile == null) {
+			TimeProfile existing = typeMappers.putIfAbsent(typeMapper.getClass(), profile = new TimeProfile());
+			profile = existing != null ? existing : profile;
+		}
+		profile.add(elapsedNanos);
+	}
+
+	public void typeNamed(long startNanos) {
+		typeNaming.add(ticker.read() - startNanos);
+	}
+
+	/**
+	 * Record a lookup of the output type cache by type name.
+	 * @param hit true if the type was cached
+	 */
+	public void outputTypeCacheLookup(boolean hit) {
+		(hit ? outputTypeCache.hits : outputTypeCache.misses).incrementAndGet();
+	}
+
+	/**
+	 * Record a lookup of the input type cache by type name.
+	 * @param hit true if the type was cached
+	 */
+	public void inputTypeCacheLookup(boolean hit) {
+		(hit ? inputTypeCache.hits : inputTypeCache.misses).incrementAndGet();
+	}
+
+	/**
+	 * Record a type that was resolved by the type identity cache, without looking up the type cache by name.
+	 * @param input true for input types
+	 */
+	public void typeIdentityCacheHit(boolean input) {
+		(input ? inputTypeCache : outputTypeCache).identityHits.incrementAndGet();
+	}
+
+	public void inputObjectTypeCreated() {
+		inputObjectTypesCreated.incrementAndGet();
+	}
+
+	public void fieldCreated() {
+		fieldsCreated.incrementAndGet();
+	}
+
+	public void dataFetcherCreated() {
+		dataFetchersCreated.incrementAndGet();
+	}
+
+	private List<TypeProfile> getTypesByTime() {
+		List<TypeProfile> rv = Lists.newArrayList(types.values());
+		Collections.sort(rv, new Comparator<TypeProfile>() {
+			@Override
+			public int compare(TypeProfile left, TypeProfile right) {
+				int rv = Long.compare(right.selfNanos.get(), left.selfNanos.get());
+				return rv != 0 ? rv : left.name.compareTo(right.name);
+			}
+		});
+		return rv;
+	}
+
+	private List<Class<?>> getTypeMappersByTime() {
+		List<Class<?>> rv = Lists.newArrayList(typeMappers.keySet());
+		Collections.sort(rv, new Comparator<Class<?>>() {
+			@Override
+			public int compare(Class<?> left, Class<?> right) {
+				int rv = Long.compare(typeMappers.get(right).nanos.get(), typeMappers.get(left).nanos.get());
+				return rv != 0 ? rv : left.getName().compareTo(right.getName());
+			}
+		});
+		return rv;
+	}
+
+	/**
+	 * The report as a JSON document. Types are ordered by the time spent building the type itself, type mappers by the time spent in them.
+	 * All times are in nanoseconds.
+	 * @return
+	 */
+	public String toJson() {
+		StringBuilder rv = new StringBuilder();
+		rv.append("{\"buildNanos\":").append(buildNanos.get());
+
+		rv.append(",\"counts\":{\"types\":").append(types.size())
+				.append(",\"inputObjectTypes\":").append(inputObjectTypesCreated.get())
+				.append(",\"fields\":").append(fieldsCreated.get())
+				.append(",\"dataFetchers\":").append(dataFetchersCreated.get())
+				.append('}');
+
+		rv.append(",\"outputTypeCache\":");
+		appendCache(rv, outputTypeCache);
+		rv.append(",\"inputTypeCache\":");
+		appendCache(rv, inputTypeCache);
+
+		rv.append(",\"typeNaming\":{\"calls\":").append(typeNaming.calls.get()).append(",\"nanos\":").append(typeNaming.nanos.get()).append('}');
+
+		rv.append(",\"typeMappers\":[");
+		String separator = "";
+		for (Class<?> typeMapper : getTypeMappersByTime()) {
+			TimeProfile profile = typeMappers.get(typeMapper);
+			rv.append(separator).append("{\"typeMapper\":");
+			appendString(rv, typeMapper.getName());
+			rv.append(",\"calls\":").append(profile.calls.get()).append(",\"nanos\":").append(profile.nanos.get()).append('}');
+			separator = ",";
+		}
+		rv.append(']');
+
+		rv.append(",\"types\":[");
+		separator = "";
+		for (TypeProfile profile : getTypesByTime()) {
+			rv.append(separator).append("{\"name\":");
+			appendString(rv, profile.name);
+			rv.append(",\"kind\":\"").append(profile.kind).append('"')
+					.append(",\"depth\":").append(profile.depth)
+					.append(",\"builds\":").append(profile.calls.get())
+					.append(",\"nanos\":").append(profile.nanos.get())
+					.append(",\"selfNanos\":").append(profile.selfNanos.get())
+					.append('}');
+			separator = ",";
+		}
+		rv.append("]}");
+
+		return rv.toString();
+	}
+
+	private static void appendCache(StringBuilder rv, CacheProfile cache) {
+		rv.append("{\"hits\":").append(cache.hits.get())
+				.append(",\"misses\":").append(cache.misses.get())
+				.append(",\"identityHits\":").append(cache.identityHits.get())
+				.append(",\"hitRatio\":").append(cache.getHitRatio())
+				.append('}');
+	}
+
+	private static void appendString(StringBuilder rv, String value) {
+		rv.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				rv.append('\\').append(c);
+			} else if (c < 0x20) {
+				rv.append(String.format("\\u%04x", (int) c));
+			} else {
+				rv.append(c);
+			}
+		}
+		rv.append('"');
+	}
+
+	/**
+	 * A human readable summary of the report.
+	 * @param count the number of slowest types and type mappers to list
+	 * @return
+	 */
+	public String getSummary(int count) {
+		StringBuilder rv = new StringBuilder();
+		rv.append(String.format("Schema built in %d ms: %d types, %d input object types, %d fields, %d data fetchers%n", toMillis(buildNanos.get()),
+				types.size(), inputObjectTypesCreated.get(), fieldsCreated.get(), dataFetchersCreated.get()));
+		rv.append(String.format("Output type cache: %d hits, %d misses (%.1f%%), %d identity hits%n", outputTypeCache.hits.get(), outputTypeCache.misses.get(),
+				outputTypeCache.getHitRatio() * 100, outputTypeCache.identityHits.get()));
+		rv.append(String.format("Input type cache: %d hits, %d misses (%.1f%%), %d identity hits%n", inputTypeCache.hits.get(), inputTypeCache.misses.get(),
+				inputTypeCache.getHitRatio() * 100, inputTypeCache.identityHits.get()));
+		rv.append(String.format("Type naming: %d calls, %d ms%n", typeNaming.calls.get(), toMillis(typeNaming.nanos.get())));
+
+		rv.append(String.format("Slowest types:%n"));
+		List<TypeProfile> typesByTime = getTypesByTime();
+		for (TypeProfile profile : typesByTime.subList(0, Math.min(count, typesByTime.size()))) {
+			rv.append(String.format("  %s (%s, depth %d): %d ms, %d ms including referenced types%n", profile.name, profile.kind, profile.depth,
+					toMillis(profile.selfNanos.get()), toMillis(profile.nanos.get())));
+		}
+
+		rv.append(String.format("Slowest type mappers:%n"));
+		List<Class<?>> typeMappersByTime = getTypeMappersByTime();
+		for (Class<?> typeMapper : typeMappersByTime.subList(0, Math.min(count, typeMappersByTime.size()))) {
+			TimeProfile profile = typeMappers.get(typeMapper);
+			rv.append(String.format("  %s: %d calls, %d ms%n", typeMapper.getName(), profile.calls.get(), toMillis(profile.nanos.get())));
+		}
+
+		return rv.toString();
+	}
+
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+}
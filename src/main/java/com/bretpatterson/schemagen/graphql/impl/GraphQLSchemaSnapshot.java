@@ -0,0 +1,773 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.datafetchers.DefaultTypeConverter;
+import com.bretpatterson.schemagen.graphql.datafetchers.EnumMapDataFetcher;
+import com.bretpatterson.schemagen.graphql.datafetchers.MapEntryDataFetcher;
+import com.bretpatterson.schemagen.graphql.utils.ClassMetadata;
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Resources;
+import com.google.common.primitives.Primitives;
+import graphql.Scalars;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLEnumValueDefinition;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeReference;
+import graphql.schema.PropertyDataFetcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Binary snapshot of a generated schema used to skip walking the controllers and their types on later starts.
+ *
+ * A snapshot holds every named type of the schema with its fields, arguments and enum values, and for each field how its data fetcher
+ * was created: the method or field it is bound to, the data fetcher class and the type converter class. Restoring a snapshot creates the
+ * data fetchers through the same {@link GraphQLObjectMapper} and {@link com.bretpatterson.schemagen.graphql.IDataFetcherFactory} used for
+ * a normal build, so they are bound to the current controller instances.
+ *
+ * Each snapshot stores a fingerprint of the class files of the controllers, types, data fetchers and type converters it was generated
+ * from. A snapshot is only restored while all of them are unchanged, otherwise the schema is generated from the classes again.
+ *
+ * Only schemas using the standard scalars, object, interface, input object and enum types can be written. Fields must be bound to a
+ * method or field, or use the default property data fetcher.
+ */
+public class GraphQLSchemaSnapshot {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GraphQLSchemaSnapshot.class);
+
+	public static final int VERSION = 3;
+	private static final int MAGIC = 0x47514c53;
+
+	private static final byte OBJECT = 1;
+	private static final byte INTERFACE = 2;
+	private static final byte INPUT_OBJECT = 3;
+	private static final byte ENUM = 4;
+
+	private static final byte LIST = 1;
+	private static final byte NON_NULL = 2;
+	private static final byte NAMED = 3;
+
+	private static final byte DEFAULT_BINDING = 0;
+	private static final byte METHOD_BINDING = 1;
+	private static final byte FIELD_BINDING = 2;
+	private static final byte STATIC_BINDING = 3;
+	private static final byte MAP_ENTRY_BINDING = 4;
+	private static final byte ENUM_MAP_BINDING = 5;
+
+	private static final byte NULL_VALUE = 0;
+	private static final byte ENUM_VALUE = 1;
+	private static final byte STRING_VALUE = 2;
+
+	private static final Map<String, GraphQLScalarType> SCALARS = getStandardScalars();
+	private static final Map<String, Class<?>> PRIMITIVES = getPrimitiveTypes();
+
+	/**
+	 * Restore the schema from the snapshot.
+	 *
+	 * @param file the snapshot file
+	 * @param key identifies the configuration the schema is generated with
+	 * @param graphQLObjectMapper the object mapper of the schema being built, its output type cache is populated with the restored types
+	 * @param controllers the controllers, in the same order as when the snapshot was written
+	 * @param classLoader the classloader to load the snapshot classes from
+	 * @return the restored schema, or absent if there is no snapshot or it is out of date
+	 */
+	public static Optional<GraphQLSchema> read(File file, String key, GraphQLObjectMapper graphQLObjectMapper, List<Object> controllers, ClassLoader classLoader) {
+		if (!file.isFile()) {
+			return Optional.absent();
+		}
+		try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+			FileChannel channel = input.getChannel();
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new Reader(buffer, graphQLObjectMapper, controllers, classLoader).read(key);
+		} catch (IOException | ReflectiveOperationException | RuntimeException ex) {
+			LOGGER.warn("Unable to read schema snapshot {}.", file, ex);
+			return Optional.absent();
+		}
+	}
+
+	private static Map<String, GraphQLScalarType> getStandardScalars() {
+		ImmutableMap.Builder<String, GraphQLScalarType> rv = ImmutableMap.builder();
+		for (Field field : Scalars.class.getFields()) {
+			if (Modifier.isStatic(field.getModifiers()) && GraphQLScalarType.class.equals(field.getType())) {
+				try {
+					GraphQLScalarType scalar = (GraphQLScalarType) field.get(null);
+					rv.put(scalar.getName(), scalar);
+				} catch (IllegalAccessException ex) {
+					LOGGER.warn("Unable to read scalar {}.", field.getName(), ex);
+				}
+			}
+		}
+		return rv.build();
+	}
+
+	private static Map<String, Class<?>> getPrimitiveTypes() {
+		ImmutableMap.Builder<String, Class<?>> rv = ImmutableMap.builder();
+		for (Class<?> type : Primitives.allPrimitiveTypes()) {
+			rv.put(type.getName(), type);
+		}
+		return rv.build();
+	}
+
+	/**
+	 * The class whose class file is fingerprinted for the type. Classes generated at runtime, like proxies, don't have a class file so
+	 * their closest superclass with one is used.
+	 */
+	private static Optional<Class<?>> getFingerprintClass(Class<?> type) {
+		Class<?> current = type;
+		while (current.isArray()) {
+			current = current.getComponentType();
+		}
+		while (current != null) {
+			if (current.isPrimitive() || current.getClassLoader() == null) {
+				// bootstrap classes only change with the JVM, which is part of the snapshot key
+				return Optional.absent();
+			}
+			if (getClassFile(current) != null) {
+				return Optional.<Class<?>>of(current);
+			}
+			current = current.getSuperclass();
+		}
+		return Optional.absent();
+	}
+
+	private static URL getClassFile(Class<?> type) {
+		return type.getClassLoader().getResource(type.getName().replace('.', '/') + ".class");
+	}
+
+	private static String getFingerprint(URL classFile) throws IOException {
+		return Hashing.murmur3_128().hashBytes(Resources.toByteArray(classFile)).toString();
+	}
+
+	/**
+	 * How the data fetcher of a field was created.
+	 */
+	private static class Binding {
+		private final byte kind;
+		private final Class<?> declaringClass;
+		private final String memberName;
+		private final Class<?>[] parameterTypes;
+		private final Object targetObject;
+		private final Class<? extends DataFetcher> dataFetcherClass;
+		private final String fieldName;
+		private final Class<? extends DefaultTypeConverter> typeConverterClass;
+
+		private Binding(byte kind, Class<?> declaringClass, String memberName, Class<?>[] parameterTypes, Object targetObject,
+				Class<? extends DataFetcher> dataFetcherClass, String fieldName, Class<? extends DefaultTypeConverter> typeConverterClass) {
+			this.kind = kind;
+			this.declaringClass = declaringClass;
+			this.memberName = memberName;
+			this.parameterTypes = parameterTypes;
+			this.targetObject = targetObject;
+			this.dataFetcherClass = dataFetcherClass;
+			this.fieldName = fieldName;
+			this.typeConverterClass = typeConverterClass;
+		}
+	}
+
+	/**
+	 * Collects the data fetcher bindings and the classes of a schema while it's being built by a {@link GraphQLObjectMapper}, then writes them
+	 * to a snapshot. Safe to use from multiple threads.
+	 */
+	public static class Recorder {
+		private final List<Object> controllers;
+		private final Set<Class<?>> classes = Sets.newConcurrentHashSet();
+		private final Map<GraphQLFieldDefinition, Binding> bindings = Collections.synchronizedMap(new IdentityHashMap<GraphQLFieldDefinition, Binding>());
+		private final String key;
+
+		/**
+		 * @param key identifies the configuration the schema is generated with
+		 * @param controllers the controllers of the schema in registration order
+		 */
+		public Recorder(String key, List<Object> controllers) {
+			this.key = key;
+			this.controllers = ImmutableList.copyOf(controllers);
+		}
+
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * Add a class the schema depends on. The snapshot is out of date when it changes.
+		 */
+		public void addClass(Class<?> type) {
+			if (type != null) {
+				classes.add(type);
+			}
+		}
+
+		void bindMethod(GraphQLFieldDefinition fieldDefinition, Optional<Object> targetObject, Method method, String fieldName,
+				Class<? extends DataFetcher> dataFetcherClass, Class<? extends DefaultTypeConverter> typeConverterClass) {
+			addClasses(method.getDeclaringClass(), dataFetcherClass, typeConverterClass);
+			bindings.put(fieldDefinition, new Binding(METHOD_BINDING, method.getDeclaringClass(), method.getName(), method.getParameterTypes(),
+					targetObject.orNull(), dataFetcherClass, fieldName, typeConverterClass));
+		}
+
+		void bindField(GraphQLFieldDefinition fieldDefinition, Optional<Object> targetObject, Field field, String fieldName,
+				Class<? extends DataFetcher> dataFetcherClass, Class<? extends DefaultTypeConverter> typeConverterClass) {
+			addClasses(field.getDeclaringClass(), dataFetcherClass, typeConverterClass);
+			bindings.put(fieldDefinition, new Binding(FIELD_BINDING, field.getDeclaringClass(), field.getName(), null,
+					targetObject.orNull(), dataFetcherClass, fieldName, typeConverterClass));
+		}
+
+		/**
+		 * Record a field whose value is the controller itself.
+		 */
+		public void bindStatic(GraphQLFieldDefinition fieldDefinition, Object controller) {
+			bindings.put(fieldDefinition, new Binding(STATIC_BINDING, null, null, null, controller, null, null, null));
+		}
+
+		private void addClasses(Class<?>... types) {
+			for (Class<?> type : types) {
+				addClass(type);
+			}
+		}
+
+		/**
+		 * Write the snapshot of the schema. The file is replaced atomically where the file system supports it.
+		 *
+		 * @param file the snapshot file
+		 * @param schema the generated schema
+		 * @param graphQLObjectMapper the object mapper the schema was generated with
+		 * @throws IOException if the snapshot can't be written
+		 * @throws UnsupportedOperationException if the schema contains types or data fetchers that can't be restored
+		 */
+		public void write(File file, GraphQLSchema schema, GraphQLObjectMapper graphQLObjectMapper) throws IOException {
+			List<GraphQLType> types = getSnapshotTypes(schema, graphQLObjectMapper);
+			Map<String, String> fingerprints = getFingerprints();
+
+			File directory = file.getAbsoluteFile().getParentFile();
+			if (!directory.isDirectory() && !directory.mkdirs()) {
+				throw new IOException("Unable to create " + directory);
+			}
+			File temp = File.createTempFile(file.getName(), ".tmp", directory);
+			try {
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+					out.writeInt(MAGIC);
+					out.writeInt(VERSION);
+					writeString(out, key);
+					out.writeInt(fingerprints.size());
+					for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+						writeString(out, entry.getKey());
+						writeString(out, entry.getValue());
+					}
+					writeString(out, schema.getQueryType().getName());
+					writeString(out, schema.isSupportingMutations() ? schema.getMutationType().getName() : null);
+					out.writeInt(types.size());
+					for (GraphQLType type : types) {
+						writeType(out, type);
+					}
+				}
+				try {
+					Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException ex) {
+					Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				Files.deleteIfExists(temp.toPath());
+			}
+		}
+
+		/**
+		 * The named types of the schema, interfaces first so they exist before the object types implementing them are restored.
+		 */
+		private List<GraphQLType> getSnapshotTypes(GraphQLSchema schema, GraphQLObjectMapper graphQLObjectMapper) {
+			List<GraphQLType> interfaces = Lists.newArrayList();
+			List<GraphQLType> types = Lists.newArrayList();
+			for (GraphQLType type : schema.getAllTypesAsList()) {
+				if (type.getName().startsWith("__")) {
+					// introspection types are added by the schema
+					continue;
+				}
+				if (type instanceof GraphQLScalarType) {
+					if (SCALARS.get(type.getName()) != type) {
+						throw new UnsupportedOperationException("Custom scalar " + type.getName() + " can't be written to a snapshot.");
+					}
+				} else if (type instanceof GraphQLInterfaceType) {
+					if (((GraphQLInterfaceType) type).getTypeResolver() != graphQLObjectMapper) {
+						throw new UnsupportedOperationException("Interface " + type.getName() + " has a custom type resolver.");
+					}
+					interfaces.add(type);
+				} else if (type instanceof GraphQLObjectType) {
+					for (GraphQLFieldDefinition field : ((GraphQLObjectType) type).getFieldDefinitions()) {
+						if (field.getDataFetcher() instanceof EnumMapDataFetcher) {
+							// the fields of enum keyed maps are the constants of the enum
+							addClass(((EnumMapDataFetcher) field.getDataFetcher()).getKey().getDeclaringClass());
+						}
+					}
+					types.add(type);
+				} else if (type instanceof GraphQLInputObjectType || type instanceof GraphQLEnumType) {
+					types.add(type);
+				} else {
+					throw new UnsupportedOperationException("Type " + type.getName() + " can't be written to a snapshot.");
+				}
+			}
+			interfaces.addAll(types);
+			return interfaces;
+		}
+
+		private Map<String, String> getFingerprints() throws IOException {
+			Map<String, String> rv = new TreeMap<>();
+			for (Object controller : controllers) {
+				addClass(controller.getClass());
+			}
+			for (Class<?> type : classes) {
+				Optional<Class<?>> fingerprintClass = getFingerprintClass(type);
+				if (fingerprintClass.isPresent() && !rv.containsKey(fingerprintClass.get().getName())) {
+					rv.put(fingerprintClass.get().getName(), getFingerprint(getClassFile(fingerprintClass.get())));
+				}
+			}
+			return rv;
+		}
+
+		private void writeType(DataOutputStream out, GraphQLType type) throws IOException {
+			if (type instanceof GraphQLInterfaceType) {
+				GraphQLInterfaceType interfaceType = (GraphQLInterfaceType) type;
+				out.writeByte(INTERFACE);
+				writeString(out, interfaceType.getName());
+				writeString(out, interfaceType.getDescription());
+				writeFields(out, interfaceType.getName(), interfaceType.getFieldDefinitions());
+			} else if (type instanceof GraphQLObjectType) {
+				GraphQLObjectType objectType = (GraphQLObjectType) type;
+				out.writeByte(OBJECT);
+				writeString(out, objectType.getName());
+				writeString(out, objectType.getDescription());
+				out.writeInt(objectType.getInterfaces().size());
+				for (GraphQLInterfaceType interfaceType : objectType.getInterfaces()) {
+					writeString(out, interfaceType.getName());
+				}
+				writeFields(out, objectType.getName(), objectType.getFieldDefinitions());
+			} else if (type instanceof GraphQLInputObjectType) {
+				GraphQLInputObjectType inputType = (GraphQLInputObjectType) type;
+				out.writeByte(INPUT_OBJECT);
+				writeString(out, inputType.getName());
+				writeString(out, inputType.getDescription());
+				out.writeInt(inputType.getFields().size());
+				for (GraphQLInputObjectField field : inputType.getFields()) {
+					writeString(out, field.getName());
+					writeString(out, field.getDescription());
+					writeTypeReference(out, field.getType());
+					writeDefaultValue(out, inputType.getName() + "." + field.getName(), field.getDefaultValue());
+				}
+			} else {
+				GraphQLEnumType enumType = (GraphQLEnumType) type;
+				out.writeByte(ENUM);
+				writeString(out, enumType.getName());
+				writeString(out, enumType.getDescription());
+				out.writeInt(enumType.getValues().size());
+				for (GraphQLEnumValueDefinition value : enumType.getValues()) {
+					writeString(out, value.getName());
+					writeString(out, value.getDescription());
+					writeString(out, value.getDeprecationReason());
+					writeEnumValue(out, enumType.getName() + "." + value.getName(), value.getValue());
+				}
+			}
+		}
+
+		private void writeFields(DataOutputStream out, String typeName, List<GraphQLFieldDefinition> fields) throws IOException {
+			out.writeInt(fields.size());
+			for (GraphQLFieldDefinition field : fields) {
+				writeString(out, field.getName());
+				writeString(out, field.getDescription());
+				writeString(out, field.getDeprecationReason());
+				writeTypeReference(out, field.getType());
+				out.writeInt(field.getArguments().size());
+				for (GraphQLArgument argument : field.getArguments()) {
+					writeString(out, argument.getName());
+					writeString(out, argument.getDescription());
+					writeTypeReference(out, argument.getType());
+					writeDefaultValue(out, typeName + "." + field.getName() + "(" + argument.getName() + ")", argument.getDefaultValue());
+				}
+				writeBinding(out, typeName + "." + field.getName(), field);
+			}
+		}
+
+		private void writeBinding(DataOutputStream out, String path, GraphQLFieldDefinition field) throws IOException {
+			Binding binding = bindings.get(field);
+			if (binding == null && field.getDataFetcher() instanceof MapEntryDataFetcher) {
+				out.writeByte(MAP_ENTRY_BINDING);
+				writeString(out, ((MapEntryDataFetcher) field.getDataFetcher()).getPropertyName());
+				return;
+			}
+			if (binding == null && field.getDataFetcher() instanceof EnumMapDataFetcher) {
+				Enum<?> key = ((EnumMapDataFetcher) field.getDataFetcher()).getKey();
+				out.writeByte(ENUM_MAP_BINDING);
+				writeString(out, key.getDeclaringClass().getName());
+				writeString(out, key.name());
+				return;
+			}
+			if (binding == null) {
+				// fields built by type mappers use the default property data fetcher for the field name
+				if (field.getDataFetcher() != null && !(field.getDataFetcher() instanceof PropertyDataFetcher)) {
+					throw new UnsupportedOperationException("Field " + path + " has an unrecorded data fetcher " + field.getDataFetcher().getClass().getName());
+				}
+				out.writeByte(DEFAULT_BINDING);
+				return;
+			}
+
+			out.writeByte(binding.kind);
+			out.writeInt(getControllerIndex(path, binding.targetObject));
+			if (binding.kind == STATIC_BINDING) {
+				return;
+			}
+			writeString(out, binding.declaringClass.getName());
+			writeString(out, binding.memberName);
+			if (binding.kind == METHOD_BINDING) {
+				out.writeInt(binding.parameterTypes.length);
+				for (Class<?> parameterType : binding.parameterTypes) {
+					writeString(out, parameterType.getName());
+				}
+			}
+			writeString(out, binding.dataFetcherClass != null ? binding.dataFetcherClass.getName() : null);
+			writeString(out, binding.fieldName);
+			writeString(out, binding.typeConverterClass != null ? binding.typeConverterClass.getName() : null);
+		}
+
+		private int getControllerIndex(String path, Object targetObject) {
+			if (targetObject == null) {
+				return -1;
+			}
+			for (int i = 0; i < controllers.size(); i++) {
+				if (controllers.get(i) == targetObject) {
+					return i;
+				}
+			}
+			throw new UnsupportedOperationException("Field " + path + " is bound to an object that isn't a controller.");
+		}
+
+		private void writeTypeReference(DataOutputStream out, GraphQLType type) throws IOException {
+			if (type instanceof GraphQLNonNull) {
+				out.writeByte(NON_NULL);
+				writeTypeReference(out, ((GraphQLNonNull) type).getWrappedType());
+			} else if (type instanceof GraphQLList) {
+				out.writeByte(LIST);
+				writeTypeReference(out, ((GraphQLList) type).getWrappedType());
+			} else {
+				out.writeByte(NAMED);
+				writeString(out, type.getName());
+			}
+		}
+
+		private void writeDefaultValue(DataOutputStream out, String path, Object value) throws IOException {
+			if (value != null && !(value instanceof String)) {
+				throw new UnsupportedOperationException("Default value of " + path + " is not a string.");
+			}
+			writeString(out, (String) value);
+		}
+
+		private void writeEnumValue(DataOutputStream out, String path, Object value) throws IOException {
+			if (value == null) {
+				out.writeByte(NULL_VALUE);
+			} else if (value instanceof Enum) {
+				out.writeByte(ENUM_VALUE);
+				writeString(out, ((Enum<?>) value).getDeclaringClass().getName());
+				writeString(out, ((Enum<?>) value).name());
+			} else if (value instanceof String) {
+				out.writeByte(STRING_VALUE);
+				writeString(out, (String) value);
+			} else {
+				throw new UnsupportedOperationException("Value of " + path + " can't be written to a snapshot.");
+			}
+		}
+
+		private void writeString(DataOutputStream out, String value) throws IOException {
+			if (value == null) {
+				out.writeInt(-1);
+			} else {
+				byte[] bytes = value.getBytes(Charsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+		}
+	}
+
+	/**
+	 * Restores a schema from a mapped snapshot.
+	 */
+	private static class Reader {
+		private final ByteBuffer buffer;
+		private final GraphQLObjectMapper graphQLObjectMapper;
+		private final List<Object> controllers;
+		private final ClassLoader classLoader;
+		private final Map<String, GraphQLInterfaceType> interfaces = Maps.newHashMap();
+
+		private Reader(ByteBuffer buffer, GraphQLObjectMapper graphQLObjectMapper, List<Object> controllers, ClassLoader classLoader) {
+			this.buffer = buffer;
+			this.graphQLObjectMapper = graphQLObjectMapper;
+			this.controllers = controllers;
+			this.classLoader = classLoader;
+		}
+
+		private Optional<GraphQLSchema> read(String key) throws IOException, ReflectiveOperationException {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				throw new IOException("Not a schema snapshot.");
+			}
+			if (!key.equals(readString())) {
+				LOGGER.info("Schema snapshot was generated with a different configuration.");
+				return Optional.absent();
+			}
+			int fingerprintCount = buffer.getInt();
+			for (int i = 0; i < fingerprintCount; i++) {
+				String className = readString();
+				String fingerprint = readString();
+				URL classFile = classLoader.getResource(className.replace('.', '/') + ".class");
+				if (classFile == null || !fingerprint.equals(getFingerprint(classFile))) {
+					LOGGER.info("Schema snapshot is out of date, {} has changed.", className);
+					return Optional.absent();
+				}
+			}
+
+			String queryTypeName = readString();
+			String mutationTypeName = readString();
+			Map<String, GraphQLType> types = Maps.newLinkedHashMap();
+			int typeCount = buffer.getInt();
+			for (int i = 0; i < typeCount; i++) {
+				GraphQLType type = readType();
+				types.put(type.getName(), type);
+			}
+
+			GraphQLSchema.Builder builder = GraphQLSchema.newSchema().query((GraphQLObjectType) types.get(queryTypeName));
+			if (mutationTypeName != null) {
+				builder.mutation((GraphQLObjectType) types.get(mutationTypeName));
+			}
+			GraphQLSchema schema = builder.build(Sets.newLinkedHashSet(types.values()));
+
+			// the object mapper resolves the interface types from its cache
+			for (GraphQLType type : types.values()) {
+				if (type instanceof GraphQLOutputType) {
+					graphQLObjectMapper.getOutputTypeCache().put(type.getName(), (GraphQLOutputType) type);
+				}
+			}
+			return Optional.of(schema);
+		}
+
+		private GraphQLType readType() throws ReflectiveOperationException {
+			byte kind = buffer.get();
+			String name = readString();
+			String description = readString();
+			switch (kind) {
+				case INTERFACE: {
+					GraphQLInterfaceType interfaceType = GraphQLInterfaceType.newInterface()
+							.name(name)
+							.description(description)
+							.typeResolver(graphQLObjectMapper)
+							.fields(readFields())
+							.build();
+					interfaces.put(name, interfaceType);
+					return interfaceType;
+				}
+				case OBJECT: {
+					GraphQLObjectType.Builder objectType = GraphQLObjectType.newObject().name(name).description(description);
+					int interfaceCount = buffer.getInt();
+					for (int i = 0; i < interfaceCount; i++) {
+						objectType.withInterface(interfaces.get(readString()));
+					}
+					return objectType.fields(readFields()).build();
+				}
+				case INPUT_OBJECT: {
+					GraphQLInputObjectType.Builder inputType = GraphQLInputObjectType.newInputObject().name(name).description(description);
+					int fieldCount = buffer.getInt();
+					for (int i = 0; i < fieldCount; i++) {
+						inputType.field(GraphQLInputObjectField.newInputObjectField()
+								.name(readString())
+								.description(readString())
+								.type((GraphQLInputType) readTypeReference())
+								.defaultValue(readString())
+								.build());
+					}
+					return inputType.build();
+				}
+				case ENUM: {
+					GraphQLEnumType.Builder enumType = GraphQLEnumType.newEnum().name(name).description(description);
+					int valueCount = buffer.getInt();
+					for (int i = 0; i < valueCount; i++) {
+						String valueName = readString();
+						String valueDescription = readString();
+						String deprecationReason = readString();
+						enumType.value(valueName, readEnumValue(), valueDescription, deprecationReason);
+					}
+					return enumType.build();
+				}
+				default:
+					throw new IllegalStateException("Unknown type kind " + kind);
+			}
+		}
+
+		private List<GraphQLFieldDefinition> readFields() throws ReflectiveOperationException {
+			int fieldCount = buffer.getInt();
+			List<GraphQLFieldDefinition> fields = Lists.newArrayListWithCapacity(fieldCount);
+			for (int i = 0; i < fieldCount; i++) {
+				GraphQLFieldDefinition.Builder field = GraphQLFieldDefinition.newFieldDefinition()
+						.name(readString())
+						.description(readString());
+				String deprecationReason = readString();
+				if (deprecationReason != null) {
+					field.deprecate(deprecationReason);
+				}
+				field.type((GraphQLOutputType) readTypeReference());
+				int argumentCount = buffer.getInt();
+				for (int a = 0; a < argumentCount; a++) {
+					field.argument(GraphQLArgument.newArgument()
+							.name(readString())
+							.description(readString())
+							.type((GraphQLInputType) readTypeReference())
+							.defaultValue(readString())
+							.build());
+				}
+				readBinding(field);
+				fields.add(field.build());
+			}
+			return fields;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private void readBinding(GraphQLFieldDefinition.Builder field) throws ReflectiveOperationException {
+			byte kind = buffer.get();
+			if (kind == DEFAULT_BINDING) {
+				return;
+			}
+			if (kind == MAP_ENTRY_BINDING) {
+				field.dataFetcher(MapEntryDataFetcher.of(readString()));
+				return;
+			}
+			if (kind == ENUM_MAP_BINDING) {
+				Class<? extends Enum> enumClass = readClass();
+				field.dataFetcher(new EnumMapDataFetcher(Enum.valueOf(enumClass, readString())));
+				return;
+			}
+			int controllerIndex = buffer.getInt();
+			Optional<Object> targetObject = controllerIndex >= 0 ? Optional.of(controllers.get(controllerIndex)) : Optional.absent();
+			if (kind == STATIC_BINDING) {
+				field.staticValue(targetObject.get());
+				return;
+			}
+
+			Class<?> declaringClass = loadClass(readString());
+			String memberName = readString();
+			if (kind == METHOD_BINDING) {
+				Class<?>[] parameterTypes = new Class<?>[buffer.getInt()];
+				for (int i = 0; i < parameterTypes.length; i++) {
+					parameterTypes[i] = loadClass(readString());
+				}
+				Optional<Method> method = ClassMetadata.of(declaringClass).getDeclaredMethod(memberName, parameterTypes);
+				if (!method.isPresent()) {
+					throw new NoSuchMethodException(declaringClass.getName() + "." + memberName);
+				}
+				Class<? extends DataFetcher> dataFetcherClass = readClass();
+				String fieldName = readString();
+				Class<? extends DefaultTypeConverter> typeConverterClass = readClass();
+				field.dataFetcher(graphQLObjectMapper.newMethodDataFetcher(targetObject, method.get(), fieldName, dataFetcherClass, typeConverterClass));
+			} else {
+				Optional<Field> javaField = ClassMetadata.of(declaringClass).getDeclaredField(memberName);
+				if (!javaField.isPresent()) {
+					throw new NoSuchFieldException(declaringClass.getName() + "." + memberName);
+				}
+				Class<? extends DataFetcher> dataFetcherClass = readClass();
+				String fieldName = readString();
+				Class<? extends DefaultTypeConverter> typeConverterClass = readClass();
+				DataFetcher dataFetcher = graphQLObjectMapper.newFieldDataFetcher(targetObject, javaField.get(), fieldName, dataFetcherClass, typeConverterClass);
+				if (dataFetcher != null) {
+					field.dataFetcher(dataFetcher);
+				}
+			}
+		}
+
+		private GraphQLType readTypeReference() {
+			byte kind = buffer.get();
+			switch (kind) {
+				case NON_NULL:
+					return new GraphQLNonNull(readTypeReference());
+				case LIST:
+					return new GraphQLList(readTypeReference());
+				case NAMED: {
+					String name = readString();
+					GraphQLScalarType scalar = SCALARS.get(name);
+					if (scalar != null) {
+						return scalar;
+					}
+					// resolved when the schema is built
+					return new GraphQLTypeReference(name);
+				}
+				default:
+					throw new IllegalStateException("Unknown type reference kind " + kind);
+			}
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private Object readEnumValue() throws ClassNotFoundException {
+			byte kind = buffer.get();
+			switch (kind) {
+				case ENUM_VALUE: {
+					Class enumClass = loadClass(readString());
+					return Enum.valueOf(enumClass, readString());
+				}
+				case STRING_VALUE:
+					return readString();
+				default:
+					return null;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private <T> Class<? extends T> readClass() throws ClassNotFoundException {
+			String className = readString();
+			return className != null ? (Class<? extends T>) loadClass(className) : null;
+		}
+
+		private Class<?> loadClass(String className) throws ClassNotFoundException {
+			Class<?> primitive = PRIMITIVES.get(className);
+			return primitive != null ? primitive : Class.forName(className, false, classLoader);
+		}
+
+		private String readString() {
+			int length = buffer.getInt();
+			if (length < 0) {
+				return null;
+			}
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			return new String(bytes, Charsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.utils.AnnotationUtils;
+import com.google.common.base.Charsets;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import com.google.common.io.Resources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Locates the default {@link IGraphQLTypeMapper} implementations. Modules list their type mappers, one class name per line, in
+ * {@link #INDEX_RESOURCE} using the standard {@link java.util.ServiceLoader} file format. The index is read once per ClassLoader
+ * the first time type mappers are requested.
+ *
+ * Scanning the classpath for {@link GraphQLTypeMapper} annotated classes is still available through {@link #scanTypeMapperClasses(String)}
+ * for type mappers that aren't listed in any index, but walks every entry on the classpath and is only done when requested.
+ */
+public class GraphQLTypeMapperIndex {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GraphQLTypeMapperIndex.class);
+	public static final String INDEX_RESOURCE = "META-INF/services/" + IGraphQLTypeMapper.class.getName();
+
+	private static final LoadingCache<ClassLoader, List<Class<? extends IGraphQLTypeMapper>>> indexes = CacheBuilder.newBuilder()
+			// the type mapper classes reference their class loader, soft values let discarded class loaders be collected
+			.weakKeys()
+			.softValues()
+			.build(new CacheLoader<ClassLoader, List<Class<? extends IGraphQLTypeMapper>>>() {
+				@Override
+				public List<Class<? extends IGraphQLTypeMapper>> load(ClassLoader classLoader) {
+					return loadIndex(classLoader);
+				}
+			});
+
+	/**
+	 * Get the type mapper classes listed in the indexes visible to the classLoader.
+	 * @param classLoader the classloader to search
+	 * @return
+	 */
+	public static List<Class<? extends IGraphQLTypeMapper>> getTypeMapperClasses(ClassLoader classLoader) {
+		return indexes.getUnchecked(classLoader);
+	}
+
+	/**
+	 * Scan the classpath for {@link GraphQLTypeMapper} annotated classes in the specified package. This is expensive and
+	 * should only be used for type mappers that are not listed in an index.
+	 * @param packageName the package to recursively scan
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<Class<? extends IGraphQLTypeMapper>> scanTypeMapperClasses(String packageName) {
+		ImmutableList.Builder<Class<? extends IGraphQLTypeMapper>> rv = ImmutableList.builder();
+		for (Class<?> type : AnnotationUtils.getClassesWithAnnotation(GraphQLTypeMapper.class, packageName).keySet()) {
+			if (IGraphQLTypeMapper.class.isAssignableFrom(type)) {
+				rv.add((Class<? extends IGraphQLTypeMapper>) type);
+			}
+		}
+		return rv.build();
+	}
+
+	/**
+	 * Create a new instance of each of the type mapper classes.
+	 * @param typeMapperClasses the type mapper classes
+	 * @return
+	 */
+	public static List<IGraphQLTypeMapper> newTypeMappers(List<Class<? extends IGraphQLTypeMapper>> typeMapperClasses) {
+		ImmutableList.Builder<IGraphQLTypeMapper> rv = ImmutableList.builder();
+		try {
+			for (Class<? extends IGraphQLTypeMapper> typeMapperClass : typeMapperClasses) {
+				rv.add(typeMapperClass.newInstance());
+			}
+		} catch (InstantiationException | IllegalAccessException ex) {
+			Throwables.propagate(ex);
+		}
+		return rv.build();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Class<? extends IGraphQLTypeMapper>> loadIndex(ClassLoader classLoader) {
+		ImmutableList.Builder<Class<? extends IGraphQLTypeMapper>> rv = ImmutableList.builder();
+		Set<String> typeMapperClassNames = Sets.newLinkedHashSet();
+		try {
+			Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+			while (resources.hasMoreElements()) {
+				for (String line : Resources.readLines(resources.nextElement(), Charsets.UTF_8)) {
+					int comment = line.indexOf('#');
+					line = (comment >= 0 ? line.substring(0, comment) : line).trim();
+					if (!line.isEmpty()) {
+						typeMapperClassNames.add(line);
+					}
+				}
+			}
+		} catch (IOException ex) {
+			LOGGER.warn("Unable to read {}.", INDEX_RESOURCE, ex);
+		}
+
+		for (String typeMapperClassName : typeMapperClassNames) {
+			try {
+				Class<?> type = Class.forName(typeMapperClassName, false, classLoader);
+				if (IGraphQLTypeMapper.class.isAssignableFrom(type) && type.isAnnotationPresent(GraphQLTypeMapper.class)) {
+					rv.add((Class<? extends IGraphQLTypeMapper>) type);
+				} else {
+					LOGGER.warn("Ignoring {}, type mappers must implement {} and be annotated with {}.", typeMapperClassName, IGraphQLTypeMapper.class.getName(),
+							GraphQLTypeMapper.class.getName());
+				}
+			} catch (ClassNotFoundException | LinkageError ex) {
+				LOGGER.warn("Failed to load {}.  This is probably because of an unsatisfied runtime dependency.", typeMapperClassName, ex);
+			}
+		}
+		return rv.build();
+	}
+}
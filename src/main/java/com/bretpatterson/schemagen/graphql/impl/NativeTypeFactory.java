@@ -0,0 +1,636 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.ITypeFactory;
+import com.bretpatterson.schemagen.graphql.relay.ConnectionCursor;
+import com.bretpatterson.schemagen.graphql.typemappers.java.util.MapMapper;
+import com.bretpatterson.schemagen.graphql.utils.ClassMetadata;
+import com.google.common.base.Optional;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Primitives;
+import com.google.common.reflect.TypeToken;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Type factory that converts the values graphql-java coerces arguments to, IE: scalars, Lists and Maps, directly into the parameter types
+ * without serializing them. A binder is created once for every type converted and reused by all later conversions of the type.
+ *
+ * Supported are the scalar types, enums, {@link ConnectionCursor}, the java.math types, {@link Date}, {@link TimeZone}, {@link URI}, arrays,
+ * collections, maps, including the key/value lists maps are exposed as, and objects. Objects are created through their no argument
+ * constructor and populated through their setters, or their fields when a property has no setter. Objects without a no argument
+ * constructor can be created from a String through a String constructor.
+ */
+public class NativeTypeFactory implements ITypeFactory {
+
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+	private static final MethodType STRING_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, String.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final ConcurrentMap<Type, Binder> binders = Maps.newConcurrentMap();
+
+	public NativeTypeFactory() {
+		binders.putAll(getScalarBinders());
+	}
+
+	/**
+	 * Converts the GraphQL value of an argument to one specific type.
+	 */
+	private interface Binder {
+		Object bind(Object value);
+	}
+
+	@Override
+	public Object convertToType(Type type, Object arg) {
+		if (arg == null) {
+			return null;
+		}
+		return getBinder(type).bind(arg);
+	}
+
+	private Binder getBinder(Type type) {
+		Binder rv = binders.get(type);
+		if (rv == null) {
+			DeferredBinder deferred = new DeferredBinder();
+			synchronized (deferred) {
+				rv = binders.putIfAbsent(type, deferred);
+				if (rv == null) {
+					// recursive types reference the deferred binder while it's created
+					try {
+						rv = deferred.binder = newBinder(type);
+					} catch (RuntimeException ex) {
+						binders.remove(type, deferred);
+						throw ex;
+					}
+					binders.replace(type, deferred, rv);
+				}
+			}
+		}
+		return rv;
+	}
+
+	/**
+	 * Binder that's used while the binder of a type is being created.
+	 */
+	private static final class DeferredBinder implements Binder {
+		volatile Binder binder;
+
+		@Override
+		public Object bind(Object value) {
+			Binder rv = binder;
+			if (rv == null) {
+				// wait for the thread creating the binder
+				synchronized (this) {
+					rv = binder;
+				}
+				if (rv == null) {
+					throw new IllegalStateException("Unable to create the binder of the type.");
+				}
+			}
+			return rv.bind(value);
+		}
+	}
+
+	private Binder newBinder(Type type) {
+		if (type instanceof TypeVariable || type instanceof WildcardType) {
+			// unresolved types are left as they are
+			return binders.get(Object.class);
+		}
+		if (type instanceof GenericArrayType) {
+			return new ArrayBinder(TypeToken.of(type).getComponentType().getRawType(), getBinder(((GenericArrayType) type).getGenericComponentType()));
+		}
+
+		TypeToken<?> typeToken = TypeToken.of(type);
+		Class<?> rawType = typeToken.getRawType();
+		if (rawType.isPrimitive()) {
+			return getBinder(Primitives.wrap(rawType));
+		} else if (rawType.isArray()) {
+			return new ArrayBinder(rawType.getComponentType(), getBinder(rawType.getComponentType()));
+		} else if (rawType.isEnum()) {
+			return newEnumBinder(rawType);
+		} else if (EnumSet.class.isAssignableFrom(rawType)) {
+			return newEnumSetBinder(getTypeArgument(typeToken, Collection.class, 0).getRawType());
+		} else if (Collection.class.isAssignableFrom(rawType)) {
+			return new CollectionBinder(newCollectionConstructor(rawType), getBinder(getTypeArgument(typeToken, Collection.class, 0).getType()));
+		} else if (Map.class.isAssignableFrom(rawType)) {
+			TypeToken<?> keyType = getTypeArgument(typeToken, Map.class, 0);
+			return new MapBinder(newMapConstructor(rawType, keyType.getRawType()), getBinder(keyType.getType()),
+					getBinder(getTypeArgument(typeToken, Map.class, 1).getType()));
+		}
+		return newObjectBinder(typeToken);
+	}
+
+	/**
+	 * The type argument of the super type, IE: the element type of a Collection. Object if the type argument can't be resolved.
+	 */
+	private static TypeToken<?> getTypeArgument(TypeToken<?> typeToken, Class<?> superType, int index) {
+		Type superTypeArgument = superType.getTypeParameters()[index];
+		TypeToken<?> rv = typeToken.resolveType(superTypeArgument);
+		if (rv.getType() instanceof TypeVariable || rv.getType() instanceof WildcardType) {
+			return TypeToken.of(Object.class);
+		}
+		return rv;
+	}
+
+	private static IllegalArgumentException newConversionException(Object value, Type type) {
+		return new IllegalArgumentException(String.format("Unable to convert %s to %s", value, type));
+	}
+
+	private static Map<Type, Binder> getScalarBinders() {
+		ImmutableMap.Builder<Type, Binder> rv = ImmutableMap.builder();
+		rv.put(Object.class, new Binder() {
+			@Override
+			public Object bind(Object value) {
+				return value;
+			}
+		});
+		rv.put(String.class, new Binder() {
+			@Override
+			public Object bind(Object value) {
+				return value.toString();
+			}
+		});
+		rv.put(Character.class, new Binder() {
+			@Override
+			public Object bind(Object value) {
+				String string = value.toString();
+				if (string.length() != 1) {
+					throw newConversionException(value, Character.class);
+				}
+				return string.charAt(0);
+			}
+		});
+		rv.put(Boolean.class, new Binder() {
+			@Override
+			public Object bind(Object value) {
+				return value instanceof Boolean ? value : Boolean.valueOf(value.toString());
+			}
+		});
+		rv.put(Integer.class, new NumberBinder(Integer.class) {
+			@Override
+			Object convert(Number number) {
+				return number.intValue();
+			}
+		});
+		rv.put(Long.class, new NumberBinder(Long.class) {
+			@Override
+			Object convert(Number number) {
+				return number.longValue();
+			}
+		});
+		rv.put(Short.class, new NumberBinder(Short.class) {
+			@Override
+			Object convert(Number number) {
+				return number.shortValue();
+			}
+		});
+		rv.put(Byte.class, new NumberBinder(Byte.class) {
+			@Override
+			Object convert(Number number) {
+				return number.byteValue();
+			}
+		});
+		rv.put(Double.class, new NumberBinder(Double.class) {
+			@Override
+			Object convert(Number number) {
+				return number.doubleValue();
+			}
+		});
+		rv.put(Float.class, new NumberBinder(Float.class) {
+			@Override
+			Object convert(Number number) {
+				return number.floatValue();
+			}
+		});
+		rv.put(BigDecimal.class, new NumberBinder(BigDecimal.class) {
+			@Override
+			Object convert(Number number) {
+				return number instanceof BigDecimal ? number : new BigDecimal(number.toString());
+			}
+		});
+		rv.put(BigInteger.class, new NumberBinder(BigInteger.class) {
+			@Override
+			Object convert(Number number) {
+				if (number instanceof BigInteger) {
+					return number;
+				} else if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+					return BigInteger.valueOf(number.longValue());
+				}
+				return new BigDecimal(number.toString()).toBigInteger();
+			}
+		});
+		rv.put(Date.class, new Binder() {
+			@Override
+			public Object bind(Object value) {
+				if (value instanceof Date) {
+					return value;
+				}
+				// the DateMapper exposes dates as an object with the time
+				Object time = value instanceof Map ? ((Map<?, ?>) value).get("time") : value;
+				if (time instanceof Number) {
+					return new Date(((Number) time).longValue());
+				} else if (time instanceof String) {
+					return new Date(Long.parseLong((String) time));
+				}
+				throw newConversionException(value, Date.class);
+			}
+		});
+		rv.put(TimeZone.class, new Binder() {
+			@Override
+			public Object bind(Object value) {
+				return value instanceof TimeZone ? value : TimeZone.getTimeZone(value.toString());
+			}
+		});
+		rv.put(URI.class, new Binder() {
+			@Override
+			public Object bind(Object value) {
+				return value instanceof URI ? value : URI.create(value.toString());
+			}
+		});
+		rv.put(ConnectionCursor.class, new Binder() {
+			@Override
+			public Object bind(Object value) {
+				return value instanceof ConnectionCursor ? value : new ConnectionCursor(value.toString());
+			}
+		});
+		return rv.build();
+	}
+
+	private abstract static class NumberBinder implements Binder {
+		private final Class<?> type;
+
+		NumberBinder(Class<?> type) {
+			this.type = type;
+		}
+
+		abstract Object convert(Number number);
+
+		@Override
+		public Object bind(Object value) {
+			if (type.isInstance(value)) {
+				return value;
+			} else if (value instanceof Number) {
+				return convert((Number) value);
+			} else if (value instanceof String) {
+				try {
+					return convert(new BigDecimal((String) value));
+				} catch (NumberFormatException ex) {
+					throw newConversionException(value, type);
+				}
+			}
+			throw newConversionException(value, type);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Binder newEnumBinder(final Class<?> enumType) {
+		return new Binder() {
+			@Override
+			public Object bind(Object value) {
+				if (enumType.isInstance(value)) {
+					return value;
+				}
+				return Enum.valueOf((Class) enumType, value.toString());
+			}
+		};
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Binder newEnumSetBinder(final Class<?> enumType) {
+		final Binder elementBinder = getBinder(enumType);
+		return new Binder() {
+			@Override
+			public Object bind(Object value) {
+				EnumSet rv = EnumSet.noneOf((Class) enumType);
+				for (Object element : asIterable(value, enumType)) {
+					if (element != null) {
+						rv.add(elementBinder.bind(element));
+					}
+				}
+				return rv;
+			}
+		};
+	}
+
+	/**
+	 * Single values are accepted wherever a list is expected, the same way GraphQL does.
+	 */
+	private static Iterable<?> asIterable(Object value, Type type) {
+		if (value instanceof Iterable) {
+			return (Iterable<?>) value;
+		} else if (value.getClass().isArray()) {
+			List<Object> rv = new ArrayList<>();
+			for (int i = 0; i < Array.getLength(value); i++) {
+				rv.add(Array.get(value, i));
+			}
+			return rv;
+		} else if (value instanceof Map) {
+			throw newConversionException(value, type);
+		}
+		return ImmutableList.of(value);
+	}
+
+	private static final class ArrayBinder implements Binder {
+		private final Class<?> componentType;
+		private final Binder componentBinder;
+
+		ArrayBinder(Class<?> componentType, Binder componentBinder) {
+			this.componentType = componentType;
+			this.componentBinder = componentBinder;
+		}
+
+		@Override
+		public Object bind(Object value) {
+			List<Object> elements = new ArrayList<>();
+			for (Object element : asIterable(value, componentType)) {
+				elements.add(element != null ? componentBinder.bind(element) : null);
+			}
+			Object rv = Array.newInstance(componentType, elements.size());
+			for (int i = 0; i < elements.size(); i++) {
+				if (elements.get(i) != null || !componentType.isPrimitive()) {
+					Array.set(rv, i, elements.get(i));
+				}
+			}
+			return rv;
+		}
+	}
+
+	private static final class CollectionBinder implements Binder {
+		private final MethodHandle constructor;
+		private final Binder elementBinder;
+
+		CollectionBinder(MethodHandle constructor, Binder elementBinder) {
+			this.constructor = constructor;
+			this.elementBinder = elementBinder;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Object bind(Object value) {
+			Collection<Object> rv = (Collection<Object>) newInstance(constructor);
+			for (Object element : asIterable(value, rv.getClass())) {
+				rv.add(element != null ? elementBinder.bind(element) : null);
+			}
+			return rv;
+		}
+	}
+
+	private static final class MapBinder implements Binder {
+		private final MethodHandle constructor;
+		private final Binder keyBinder;
+		private final Binder valueBinder;
+
+		MapBinder(MethodHandle constructor, Binder keyBinder, Binder valueBinder) {
+			this.constructor = constructor;
+			this.keyBinder = keyBinder;
+			this.valueBinder = valueBinder;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Object bind(Object value) {
+			Map<Object, Object> rv = (Map<Object, Object>) newInstance(constructor);
+			if (value instanceof Map) {
+				for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+					put(rv, entry.getKey(), entry.getValue());
+				}
+			} else {
+				// the MapMapper exposes maps as a list of key value objects
+				for (Object element : asIterable(value, rv.getClass())) {
+					if (!(element instanceof Map)) {
+						throw newConversionException(value, rv.getClass());
+					}
+					Map<?, ?> entry = (Map<?, ?>) element;
+					put(rv, entry.get(MapMapper.KEY_NAME), entry.get(MapMapper.VALUE_NAME));
+				}
+			}
+			return rv;
+		}
+
+		private void put(Map<Object, Object> map, Object key, Object value) {
+			map.put(key != null ? keyBinder.bind(key) : null, value != null ? valueBinder.bind(value) : null);
+		}
+	}
+
+	private static Object newInstance(MethodHandle constructor) {
+		try {
+			return (Object) constructor.invokeExact();
+		} catch (Throwable ex) {
+			throw Throwables.propagate(ex);
+		}
+	}
+
+	private static MethodHandle newCollectionConstructor(Class<?> collectionType) {
+		if (!collectionType.isInterface() && !Modifier.isAbstract(collectionType.getModifiers())) {
+			return newConstructor(collectionType);
+		} else if (collectionType.isAssignableFrom(ArrayList.class)) {
+			return newConstructor(ArrayList.class);
+		} else if (collectionType.isAssignableFrom(LinkedHashSet.class)) {
+			return newConstructor(LinkedHashSet.class);
+		} else if (collectionType == SortedSet.class || collectionType == NavigableSet.class) {
+			return newConstructor(TreeSet.class);
+		} else if (Queue.class.isAssignableFrom(collectionType) && collectionType.isAssignableFrom(ArrayDeque.class)) {
+			return newConstructor(ArrayDeque.class);
+		}
+		throw new IllegalArgumentException(String.format("Unable to create collections of type %s", collectionType));
+	}
+
+	private static MethodHandle newMapConstructor(final Class<?> mapType, Class<?> keyType) {
+		if (mapType == EnumMap.class) {
+			try {
+				return MethodHandles.lookup().findConstructor(EnumMap.class, MethodType.methodType(void.class, Class.class)).bindTo(keyType)
+						.asType(CONSTRUCTOR_TYPE);
+			} catch (ReflectiveOperationException ex) {
+				throw Throwables.propagate(ex);
+			}
+		} else if (!mapType.isInterface() && !Modifier.isAbstract(mapType.getModifiers())) {
+			return newConstructor(mapType);
+		} else if (mapType.isAssignableFrom(LinkedHashMap.class)) {
+			return newConstructor(LinkedHashMap.class);
+		} else if (mapType == SortedMap.class || mapType == NavigableMap.class) {
+			return newConstructor(TreeMap.class);
+		}
+		throw new IllegalArgumentException(String.format("Unable to create maps of type %s", mapType));
+	}
+
+	private static MethodHandle newConstructor(Class<?> type) {
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+		} catch (ReflectiveOperationException ex) {
+			throw new IllegalArgumentException(String.format("%s doesn't have a no argument constructor", type), ex);
+		}
+	}
+
+	private Binder newObjectBinder(TypeToken<?> typeToken) {
+		final Class<?> type = typeToken.getRawType();
+		MethodHandle stringConstructor = null;
+		try {
+			Constructor<?> constructor = type.getConstructor(String.class);
+			stringConstructor = MethodHandles.lookup().unreflectConstructor(constructor).asType(STRING_CONSTRUCTOR_TYPE);
+		} catch (ReflectiveOperationException ex) {
+			// objects can only be created from maps
+		}
+		MethodHandle constructor = null;
+		Map<String, PropertyBinder> properties = null;
+		if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers()) && (!type.isMemberClass() || Modifier.isStatic(type.getModifiers()))) {
+			try {
+				type.getDeclaredConstructor();
+				constructor = newConstructor(type);
+				properties = getPropertyBinders(typeToken);
+			} catch (NoSuchMethodException ex) {
+				// objects can only be created from strings
+			}
+		}
+		if (constructor == null && stringConstructor == null) {
+			throw new IllegalArgumentException(String.format("Unable to create objects of type %s", type));
+		}
+		return new ObjectBinder(type, constructor, stringConstructor, properties);
+	}
+
+	/**
+	 * The properties of the object by name, set through the setter of the property or else the field.
+	 */
+	private Map<String, PropertyBinder> getPropertyBinders(TypeToken<?> typeToken) {
+		Map<String, PropertyBinder> rv = Maps.newHashMap();
+		try {
+			// fields of the super classes are shadowed by the fields of the sub classes
+			for (Class<?> current = typeToken.getRawType(); current != null && current != Object.class; current = current.getSuperclass()) {
+				// copies of the fields are made accessible, the shared class metadata isn't modified
+				for (Field field : current.getDeclaredFields()) {
+					int modifiers = field.getModifiers();
+					if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+							|| rv.containsKey(field.getName())) {
+						continue;
+					}
+					field.setAccessible(true);
+					rv.put(field.getName(), new PropertyBinder(MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE),
+							getBinder(typeToken.resolveType(field.getGenericType()).getType()), field.getType(), false));
+				}
+			}
+			for (Method method : typeToken.getRawType().getMethods()) {
+				if (Modifier.isStatic(method.getModifiers()) || method.getParameterTypes().length != 1 || method.getName().length() < 4
+						|| !method.getName().startsWith("set")) {
+					continue;
+				}
+				String name = method.getName().substring(3, 4).toLowerCase() + method.getName().substring(4);
+				Class<?> parameterType = method.getParameterTypes()[0];
+				PropertyBinder existing = rv.get(name);
+				// overloaded setters: keep the first setter, unless this one takes the type of the field
+				if (existing != null && existing.setterMethod && (existing.type == parameterType || !isFieldType(typeToken.getRawType(), name, parameterType))) {
+					continue;
+				}
+				method.setAccessible(true);
+				rv.put(name, new PropertyBinder(MethodHandles.lookup().unreflect(method).asType(SETTER_TYPE),
+						getBinder(typeToken.resolveType(method.getGenericParameterTypes()[0]).getType()), parameterType, true));
+			}
+		} catch (IllegalAccessException ex) {
+			throw Throwables.propagate(ex);
+		}
+		return ImmutableMap.copyOf(rv);
+	}
+
+	private static boolean isFieldType(Class<?> type, String name, Class<?> fieldType) {
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			Optional<Field> field = ClassMetadata.of(current).getDeclaredField(name);
+			if (field.isPresent()) {
+				return field.get().getType() == fieldType;
+			}
+		}
+		return false;
+	}
+
+	private static final class PropertyBinder {
+		final MethodHandle setter;
+		final Binder binder;
+		final Class<?> type;
+		final boolean primitive;
+		final boolean setterMethod;
+
+		PropertyBinder(MethodHandle setter, Binder binder, Class<?> type, boolean setterMethod) {
+			this.setter = setter;
+			this.binder = binder;
+			this.type = type;
+			this.primitive = type.isPrimitive();
+			this.setterMethod = setterMethod;
+		}
+	}
+
+	private static final class ObjectBinder implements Binder {
+		private final Class<?> type;
+		private final MethodHandle constructor;
+		private final MethodHandle stringConstructor;
+		private final Map<String, PropertyBinder> properties;
+
+		ObjectBinder(Class<?> type, MethodHandle constructor, MethodHandle stringConstructor, Map<String, PropertyBinder> properties) {
+			this.type = type;
+			this.constructor = constructor;
+			this.stringConstructor = stringConstructor;
+			this.properties = properties;
+		}
+
+		@Override
+		public Object bind(Object value) {
+			if (type.isInstance(value)) {
+				return value;
+			}
+			try {
+				if (value instanceof Map && constructor != null) {
+					Object rv = (Object) constructor.invokeExact();
+					for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+						PropertyBinder property = properties.get(entry.getKey());
+						// unknown properties are ignored, null can't be assigned to primitives
+						if (property == null || (entry.getValue() == null && property.primitive)) {
+							continue;
+						}
+						property.setter.invokeExact(rv, entry.getValue() != null ? property.binder.bind(entry.getValue()) : null);
+					}
+					return rv;
+				} else if (value instanceof String && stringConstructor != null) {
+					return (Object) stringConstructor.invokeExact((String) value);
+				}
+			} catch (Throwable ex) {
+				throw Throwables.propagate(ex);
+			}
+			throw newConversionException(value, type);
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
+import com.bretpatterson.schemagen.graphql.datafetchers.PropertyAccessorDataFetcher;
+import com.google.common.base.Optional;
+import graphql.schema.DataFetcher;
+
+import java.lang.reflect.Field;
+
+/**
+ * Data fetcher factory that creates a {@link PropertyAccessorDataFetcher} for every field without a custom data fetcher, instead of the
+ * reflective PropertyDataFetcher of the {@link DefaultDataFetcherFactory}. The accessor of each field is bound to the class declaring
+ * the field when the schema is built.
+ */
+public class PropertyAccessorDataFetcherFactory extends DefaultDataFetcherFactory {
+
+	@Override
+	public DataFetcher newFieldDataFetcher(IGraphQLObjectMapper objectMapper, Optional<Object> targetObject, Field field, String fieldName,
+			Class<? extends DataFetcher> dataFetcher) {
+		if (dataFetcher != null) {
+			return super.newFieldDataFetcher(objectMapper, targetObject, field, fieldName, dataFetcher);
+		}
+		return new PropertyAccessorDataFetcher(fieldName, field);
+	}
+}
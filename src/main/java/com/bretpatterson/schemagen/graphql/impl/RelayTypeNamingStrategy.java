@@ -11,6 +11,8 @@ import java.lang.reflect.Type;
  */
 public class RelayTypeNamingStrategy extends SimpleTypeNamingStrategy {
 
+    private static final String CONNECTION = "connection";
+
     public RelayTypeNamingStrategy(String delimiter, String inputTypePostfix) {
         super(delimiter, inputTypePostfix);
     }
@@ -19,50 +21,37 @@ public class RelayTypeNamingStrategy extends SimpleTypeNamingStrategy {
     }
 
     @Override
-    public String getTypeName(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
-        String typeString;
+    protected void appendTypeName(IGraphQLObjectMapper graphQLObjectMapper, Type type, StringBuilder typeString) {
         Class<?> theClass = graphQLObjectMapper.getClassFromType(type);
 
         GraphQLName typeName = theClass.getAnnotation(GraphQLName.class);
         if (typeName != null) {
-            return typeName.name();
+            typeString.append(typeName.name());
+            return;
         }
 
         // start with the class name
-        typeString = theClass.getSimpleName();
+        String className = theClass.getSimpleName();
         // for parameterized types append the parameter types to build unique type
         if (type instanceof ParameterizedType) {
             ParameterizedType pType = (ParameterizedType) type;
 
             // relay has special handling for types that end with Connection so we need to
             // preserve the types trailing connection in this scenario
-            if (typeString.toLowerCase().endsWith("connection")) {
-                // we only want the part of the typeString without the trailing connection
-                String prefix = typeString.substring(0, typeString.toLowerCase().lastIndexOf("connection"));
-                String suffix = typeString.substring(typeString.toLowerCase().lastIndexOf("connection"), typeString.length());
+            int suffixStart = className.length() - CONNECTION.length();
+            if (suffixStart >= 0 && className.regionMatches(true, suffixStart, CONNECTION, 0, CONNECTION.length())) {
                 // RelayConnection<String> --> Relay_String_Connection
-                if (prefix.length() > 0) {
-                    typeString = String.format("%s%s%s%s%s",
-                            prefix,
-                            this.getDelimiter(),
-                            getParametersTypeString(graphQLObjectMapper, pType),
-                            this.getDelimiter(),
-                            suffix);
-                } else {
-                    typeString = String.format("%s%s%s",
-                            getParametersTypeString(graphQLObjectMapper, pType),
-                            this.getDelimiter(),
-                            suffix);
-
+                if (suffixStart > 0) {
+                    typeString.append(className, 0, suffixStart).append(this.getDelimiter());
                 }
+                appendParametersTypeString(graphQLObjectMapper, pType, typeString);
+                typeString.append(this.getDelimiter()).append(className, suffixStart, className.length());
             } else {
-                typeString = String.format("%s%s%s",
-                        typeString,
-                        this.getDelimiter(),
-                        getParametersTypeString(graphQLObjectMapper, pType));
+                typeString.append(className).append(this.getDelimiter());
+                appendParametersTypeString(graphQLObjectMapper, pType, typeString);
             }
+        } else {
+            typeString.append(className);
         }
-
-        return typeString;
     }
 }
@@ -29,43 +29,53 @@ public class SimpleTypeNamingStrategy implements ITypeNamingStrategy {
 
     @Override
     public String getTypeName(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
-        String typeString;
+        StringBuilder typeString = new StringBuilder();
+        appendTypeName(graphQLObjectMapper, type, typeString);
+
+        return typeString.toString();
+    }
+
+    /**
+     * Append the type name of the type to the builder.
+     */
+    protected void appendTypeName(IGraphQLObjectMapper graphQLObjectMapper, Type type, StringBuilder typeString) {
         Class<?> theClass = graphQLObjectMapper.getClassFromType(type);
 
         GraphQLName typeName = theClass.getAnnotation(GraphQLName.class);
         if (typeName != null) {
-            return typeName.name();
+            typeString.append(typeName.name());
+            return;
         }
 
         // start with the class name
-        typeString = theClass.getSimpleName();
+        typeString.append(theClass.getSimpleName());
 
         // for parameterized types append the parameter types to build unique type
         if (type instanceof ParameterizedType) {
-            ParameterizedType pType = (ParameterizedType) type;
-
-            typeString += this.getDelimiter() +
-                    getParametersTypeString(graphQLObjectMapper, pType);
+            typeString.append(this.getDelimiter());
+            appendParametersTypeString(graphQLObjectMapper, (ParameterizedType) type, typeString);
         }
-
-        return typeString;
     }
 
     String getParametersTypeString(IGraphQLObjectMapper graphQLObjectMapper, ParameterizedType type) {
-        String parametersTypeString = "";
+        StringBuilder parametersTypeString = new StringBuilder();
+        appendParametersTypeString(graphQLObjectMapper, type, parametersTypeString);
+
+        return parametersTypeString.toString();
+    }
+
+    void appendParametersTypeString(IGraphQLObjectMapper graphQLObjectMapper, ParameterizedType type, StringBuilder parametersTypeString) {
         Type[] subTypes = type.getActualTypeArguments();
-        for (Type subType : subTypes) {
-            if (parametersTypeString.length() != 0) {
-                parametersTypeString += this.getDelimiter();
+        for (int i = 0; i < subTypes.length; i++) {
+            if (i > 0) {
+                parametersTypeString.append(this.getDelimiter());
             }
-            parametersTypeString += graphQLObjectMapper.getClassFromType(subType).getSimpleName();
-            if (subType instanceof ParameterizedType) {
-                parametersTypeString += this.getDelimiter() +
-                        getParametersTypeString(graphQLObjectMapper, (ParameterizedType) subType);
+            parametersTypeString.append(graphQLObjectMapper.getClassFromType(subTypes[i]).getSimpleName());
+            if (subTypes[i] instanceof ParameterizedType) {
+                parametersTypeString.append(this.getDelimiter());
+                appendParametersTypeString(graphQLObjectMapper, (ParameterizedType) subTypes[i], parametersTypeString);
             }
         }
-
-        return parametersTypeString;
     }
 
     @Override
@@ -0,0 +1,75 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.google.common.base.Objects;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+/**
+ * Structural cache key of a parameterized type without type variables or wildcards. Equal parameterized types from different sources,
+ * IE: a Method's generic return type and a TypeToken, have equal keys.
+ */
+final class TypeKey {
+	private final Object rawType;
+	private final Object ownerType;
+	private final Object[] typeArguments;
+	private final int hashCode;
+
+	private TypeKey(Object rawType, Object ownerType, Object[] typeArguments) {
+		this.rawType = rawType;
+		this.ownerType = ownerType;
+		this.typeArguments = typeArguments;
+		this.hashCode = 31 * (31 * rawType.hashCode() + Objects.hashCode(ownerType)) + Arrays.hashCode(typeArguments);
+	}
+
+	/**
+	 * The cache key of the type, or null if the type can't be cached by identity because it depends on the type arguments of the type being
+	 * built. Classes are their own key.
+	 */
+	static Object of(Type type) {
+		if (type instanceof Class) {
+			return type;
+		} else if (type instanceof ParameterizedType) {
+			return of((ParameterizedType) type);
+		}
+		return null;
+	}
+
+	private static TypeKey of(ParameterizedType type) {
+		Object ownerType = null;
+		if (type.getOwnerType() != null) {
+			ownerType = of(type.getOwnerType());
+			if (ownerType == null) {
+				return null;
+			}
+		}
+		Type[] arguments = type.getActualTypeArguments();
+		Object[] typeArguments = new Object[arguments.length];
+		for (int i = 0; i < arguments.length; i++) {
+			typeArguments[i] = of(arguments[i]);
+			if (typeArguments[i] == null) {
+				return null;
+			}
+		}
+		return new TypeKey(type.getRawType(), ownerType, typeArguments);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof TypeKey)) {
+			return false;
+		}
+		TypeKey other = (TypeKey) o;
+		return hashCode == other.hashCode && rawType.equals(other.rawType) && Objects.equal(ownerType, other.ownerType)
+				&& Arrays.equals(typeArguments, other.typeArguments);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+}
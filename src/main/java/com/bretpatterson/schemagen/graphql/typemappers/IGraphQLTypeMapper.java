@@ -14,9 +14,9 @@ public interface IGraphQLTypeMapper {
 	/**
 	 * Only used when you are seeking to handle all types that implement a specific interface.
 	 * For example if you want to write a CollectionTypeMapper you would implement this method
-	 * and then register your implementation as an interface based type mapper. These are more expensive
-	 * to  process because we  don't map from type {@literal -->} mapper but instead search for the first registered
-	 * interface mapper that handles the specified type.
+	 * and then register your implementation as an interface based type mapper. Interface mappers are only
+	 * asked about types that implement the interface they are registered for, the first registered
+	 * interface mapper that handles the specified type is used.
 	 *
 	 * @param graphQLObjectMapper
 	 * @param type
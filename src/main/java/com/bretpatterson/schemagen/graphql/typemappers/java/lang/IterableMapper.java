@@ -0,0 +1,49 @@
+package com.bretpatterson.schemagen.graphql.typemappers.java.lang;
+
+import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
+import com.google.common.reflect.TypeToken;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLOutputType;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+
+/**
+ * Default interface mapper for all Iterables that aren't Collections. Converts the iterables
+ * into a GraphQLList type containing the type of object the iterable contains.
+ */
+@GraphQLTypeMapper(type = Iterable.class)
+public class IterableMapper implements IGraphQLTypeMapper {
+	@Override
+	public boolean handlesType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		Class<?> typeClass = graphQLObjectMapper.getClassFromType(type);
+		// collections are mapped by the CollectionMapper
+		return Iterable.class.isAssignableFrom(typeClass) && !Collection.class.isAssignableFrom(typeClass);
+	}
+
+	@Override
+	public GraphQLOutputType getOutputType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		return new GraphQLList(graphQLObjectMapper.getOutputType(getElementType(Iterable.class, type)));
+	}
+
+	@Override
+	public GraphQLInputType getInputType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		return new GraphQLList(graphQLObjectMapper.getInputType(getElementType(Iterable.class, type)));
+	}
+
+	/**
+	 * The type of the elements of the iterable or iterator type, Object if it isn't parameterized.
+	 */
+	public static Type getElementType(Class<?> iterableClass, Type type) {
+		Type rv = TypeToken.of(type).resolveType(iterableClass.getTypeParameters()[0]).getType();
+		if (rv instanceof TypeVariable || rv instanceof WildcardType) {
+			return Object.class;
+		}
+		return rv;
+	}
+}
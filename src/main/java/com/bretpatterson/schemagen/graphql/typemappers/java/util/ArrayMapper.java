@@ -2,6 +2,9 @@ package com.bretpatterson.schemagen.graphql.typemappers.java.util;
 
 import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.datafetchers.PrimitiveArrayConverterDataFetcher;
+import com.bretpatterson.schemagen.graphql.datafetchers.ScalarList;
+import com.bretpatterson.schemagen.graphql.exceptions.NotMappableException;
 import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
 import graphql.schema.GraphQLInputType;
 import graphql.schema.GraphQLList;
@@ -12,26 +15,42 @@ import java.lang.reflect.Type;
 
 /**
  * Default Interface type mapper that convers all types of Array to
- * a GraphQLList of the array type.
+ * a GraphQLList of the array type. Primitive arrays are exposed through a
+ * {@link ScalarList} view, see {@link PrimitiveArrayConverterDataFetcher}.
+ * Arrays of other primitive types, and arrays of primitive arrays, are not mappable.
  */
 @GraphQLTypeMapper(type = Array.class)
 public class ArrayMapper implements IGraphQLTypeMapper {
 	@Override
 	public boolean handlesType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
 		Class<?> typeClass = graphQLObjectMapper.getClassFromType(type);
-		return Array.class.isAssignableFrom(typeClass);
+		return typeClass.isArray();
 	}
 
 	@Override
 	public GraphQLOutputType getOutputType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
-		Class<?> classType = (Class<?>) type;
+		Class<?> classType = getMappableArrayClass(type);
 		return new GraphQLList(graphQLObjectMapper.getOutputType(classType.getComponentType()));
 	}
 
 	@Override
 	public GraphQLInputType getInputType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
-		Class<?> classType = (Class<?>) type;
+		Class<?> classType = getMappableArrayClass(type);
 		return new GraphQLList(graphQLObjectMapper.getInputType(classType.getComponentType()));
 	}
 
+	/**
+	 * GraphQL completes lists from Object arrays, primitive arrays are only completed through their {@link ScalarList} view.
+	 */
+	private static Class<?> getMappableArrayClass(Type type) {
+		Class<?> classType = (Class<?>) type;
+		Class<?> componentType = classType.getComponentType();
+		boolean mappable = componentType.isPrimitive() ? ScalarList.isScalarArray(classType)
+				: !componentType.isArray() || !componentType.getComponentType().isPrimitive();
+		if (!mappable) {
+			throw new NotMappableException(String.format("%s is not mappable to GraphQL, only arrays of objects and int, long, float, double and boolean arrays are.",
+					classType.getSimpleName()));
+		}
+		return classType;
+	}
 }
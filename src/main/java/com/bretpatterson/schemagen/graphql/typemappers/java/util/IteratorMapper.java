@@ -0,0 +1,37 @@
+package com.bretpatterson.schemagen.graphql.typemappers.java.util;
+
+import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.exceptions.NotMappableException;
+import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.typemappers.java.lang.IterableMapper;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLOutputType;
+
+import java.lang.reflect.Type;
+import java.util.Iterator;
+
+/**
+ * Default interface mapper for Iterators. Iterators returned by fields are exposed as a GraphQLList
+ * containing the type of object the iterator returns, and are iterated once while the list is completed.
+ */
+@GraphQLTypeMapper(type = Iterator.class)
+public class IteratorMapper implements IGraphQLTypeMapper {
+	@Override
+	public boolean handlesType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		Class<?> typeClass = graphQLObjectMapper.getClassFromType(type);
+		return Iterator.class.isAssignableFrom(typeClass);
+	}
+
+	@Override
+	public GraphQLOutputType getOutputType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		return new GraphQLList(graphQLObjectMapper.getOutputType(IterableMapper.getElementType(Iterator.class, type)));
+	}
+
+	@Override
+	public GraphQLInputType getInputType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		throw new NotMappableException(String.format("%s is not mappable to a GraphQL input type",
+				graphQLObjectMapper.getTypeNamingStrategy().getTypeName(graphQLObjectMapper, type)));
+	}
+}
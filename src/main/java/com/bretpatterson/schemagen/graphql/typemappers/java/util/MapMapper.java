@@ -2,8 +2,11 @@ package com.bretpatterson.schemagen.graphql.typemappers.java.util;
 
 import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.datafetchers.EnumMapDataFetcher;
+import com.bretpatterson.schemagen.graphql.datafetchers.MapEntryDataFetcher;
 import com.bretpatterson.schemagen.graphql.exceptions.NotMappableException;
 import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
+import com.google.common.reflect.TypeToken;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLInputObjectField;
 import graphql.schema.GraphQLInputObjectType;
@@ -19,7 +22,7 @@ import java.util.Map;
 /**
  * GraphQL doesn't support generic maps fully. However this implementation attempts to support them as best it can. It currently supports
  * {@code Map<Enum, Object> } since the set of keys is well defined. In this case it maps this datatype to an Object of Enum {@literal -->} GraphQLType
- * where the keys of Enum are fields and values are the field values.
+ * where the keys of Enum are fields and values are the field values. Other maps are exposed as a List of key/value objects.
  */
 @GraphQLTypeMapper(type = Map.class)
 public class MapMapper implements IGraphQLTypeMapper {
@@ -33,26 +36,64 @@ public class MapMapper implements IGraphQLTypeMapper {
 		return Map.class.isAssignableFrom(typeClass);
 	}
 
+	/**
+	 * True if the keys of the map type are the constants of an enum, which is then exposed as an object.
+	 * @param type the map type
+	 * @return true if the keys are enum constants
+	 */
+	public static boolean isEnumKeyed(Type type) {
+		return getKeyType(type).getRawType().isEnum();
+	}
+
+	private static TypeToken<?> getKeyType(Type type) {
+		return TypeToken.of(type).resolveType(Map.class.getTypeParameters()[0]);
+	}
+
+	/**
+	 * The type of the values, resolved through the map interface since the type arguments of maps like {@code Int2ObjectMap<V>} aren't the key and value.
+	 */
+	private static Type getValueType(Type type) {
+		return TypeToken.of(type).resolveType(Map.class.getTypeParameters()[1]).getType();
+	}
+
 	@Override
 	public GraphQLOutputType getOutputType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
-		if (type instanceof ParameterizedType) {
+		if (isEnumKeyed(type)) {
+			return getEnumOutputMapping(graphQLObjectMapper, type);
+		} else if (type instanceof ParameterizedType) {
 			return getListOutputMapping(graphQLObjectMapper, type);
 		} else {
 			throw new NotMappableException(String.format("%s is not mappable to GraphQL", graphQLObjectMapper.getTypeNamingStrategy().getTypeName(graphQLObjectMapper, type)));
 		}
 	}
 
+	private GraphQLOutputType getEnumOutputMapping(final IGraphQLObjectMapper graphQLObjectMapper, final Type type) {
+		GraphQLOutputType valueType = graphQLObjectMapper.getOutputType(getValueType(type));
+		GraphQLObjectType.Builder objectType = GraphQLObjectType.newObject()
+				.name(graphQLObjectMapper.getTypeNamingStrategy().getTypeName(graphQLObjectMapper, type));
+		for (Object key : getKeyType(type).getRawType().getEnumConstants()) {
+			objectType.field(GraphQLFieldDefinition.newFieldDefinition()
+					.name(((Enum<?>) key).name())
+					.type(valueType)
+					.dataFetcher(new EnumMapDataFetcher((Enum<?>) key))
+					.build());
+		}
+
+		return objectType.build();
+	}
+
 	private GraphQLOutputType getListOutputMapping(final IGraphQLObjectMapper graphQLObjectMapper, final Type type) {
-		ParameterizedType pType = (ParameterizedType) type;
 		GraphQLObjectType objectType = GraphQLObjectType.newObject()
 				.name(graphQLObjectMapper.getTypeNamingStrategy().getTypeName(graphQLObjectMapper, type))
 				.field(GraphQLFieldDefinition.newFieldDefinition()
 						.name(KEY_NAME)
-						.type(graphQLObjectMapper.getOutputType(pType.getActualTypeArguments()[0]))
+						.type(graphQLObjectMapper.getOutputType(getKeyType(type).getType()))
+						.dataFetcher(MapEntryDataFetcher.KEY)
 						.build())
 				.field(GraphQLFieldDefinition.newFieldDefinition()
 						.name(VALUE_NAME)
-						.type(graphQLObjectMapper.getOutputType(pType.getActualTypeArguments()[1]))
+						.type(graphQLObjectMapper.getOutputType(getValueType(type)))
+						.dataFetcher(MapEntryDataFetcher.VALUE)
 						.build())
 				.build();
 
@@ -60,16 +101,15 @@ public class MapMapper implements IGraphQLTypeMapper {
 	}
 
 	private GraphQLInputType getListInputMapping(final IGraphQLObjectMapper graphQLObjectMapper, final Type type) {
-		ParameterizedType pType = (ParameterizedType) type;
 		GraphQLInputObjectType objectType = GraphQLInputObjectType.newInputObject()
 				.name(graphQLObjectMapper.getTypeNamingStrategy().getTypeName(graphQLObjectMapper, type))
 				.field(GraphQLInputObjectField.newInputObjectField()
 						.name(KEY_NAME)
-						.type(graphQLObjectMapper.getInputType(pType.getActualTypeArguments()[0]))
+						.type(graphQLObjectMapper.getInputType(getKeyType(type).getType()))
 						.build())
 				.field(GraphQLInputObjectField.newInputObjectField()
 						.name(VALUE_NAME)
-						.type(graphQLObjectMapper.getInputType(pType.getActualTypeArguments()[1]))
+						.type(graphQLObjectMapper.getInputType(getValueType(type)))
 						.build())
 				.build();
 
@@ -0,0 +1,51 @@
+package com.bretpatterson.schemagen.graphql.typemappers.java.util.concurrent;
+
+import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.exceptions.NotMappableException;
+import com.bretpatterson.schemagen.graphql.impl.FutureExecutionStrategy;
+import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
+import com.google.common.reflect.TypeToken;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLOutputType;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.concurrent.Future;
+
+/**
+ * Default interface mapper for Futures, IE: ListenableFuture or FutureTask. Futures are exposed as the type of the value they complete
+ * with, so queries and mutations can return their values asynchronously. Execute the schema with the {@link FutureExecutionStrategy}
+ * to wait for the values.
+ */
+@GraphQLTypeMapper(type = Future.class)
+public class FutureMapper implements IGraphQLTypeMapper {
+	@Override
+	public boolean handlesType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		Class<?> typeClass = graphQLObjectMapper.getClassFromType(type);
+		return Future.class.isAssignableFrom(typeClass);
+	}
+
+	@Override
+	public GraphQLOutputType getOutputType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		return graphQLObjectMapper.getOutputType(getValueType(type));
+	}
+
+	@Override
+	public GraphQLInputType getInputType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+		throw new NotMappableException(String.format("%s is not mappable to a GraphQL input type",
+				graphQLObjectMapper.getTypeNamingStrategy().getTypeName(graphQLObjectMapper, type)));
+	}
+
+	/**
+	 * The type of the value the future completes with, Object if the future isn't parameterized.
+	 */
+	private static Type getValueType(Type type) {
+		Type rv = TypeToken.of(type).resolveType(Future.class.getTypeParameters()[0]).getType();
+		if (rv instanceof TypeVariable || rv instanceof WildcardType) {
+			return Object.class;
+		}
+		return rv;
+	}
+}
@@ -2,7 +2,6 @@ package com.bretpatterson.schemagen.graphql.utils;
 
 import com.bretpatterson.schemagen.graphql.datafetchers.DefaultMethodDataFetcher;
 import com.google.common.base.Throwables;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.reflect.ClassPath;
@@ -23,20 +22,26 @@ public class AnnotationUtils {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(AnnotationUtils.class);
 	public static final String DEFAULT_NULL = "\n\t\t\n\t\t\n\uE000\uE001\uE002\n\t\t\t\t\n";
-	private static ClassLoader classLoader;
-	private static ClassPath classPath;
 
 	public final static class DEFAULT_NULL_CLASS extends DefaultMethodDataFetcher {}
-	static {
-		try {
-			// Change classloader to work with spring boot executable jars
-			// http://docs.spring.io/spring-boot/docs/current/reference/html/executable-jar.html#executable-jar-system-classloader
-			classLoader = Thread.currentThread().getContextClassLoader();
-			classPath = ClassPath.from(classLoader);
-		} catch (IOException ex) {
-			Throwables.propagate(ex);
+
+	/**
+	 * Holds the ClassPath so it is only read from disk the first time the classpath is scanned.
+	 */
+	private static final class ClassPathHolder {
+		private static final ClassPath classPath = loadClassPath();
+
+		private static ClassPath loadClassPath() {
+			try {
+				// Change classloader to work with spring boot executable jars
+				// http://docs.spring.io/spring-boot/docs/current/reference/html/executable-jar.html#executable-jar-system-classloader
+				return ClassPath.from(Thread.currentThread().getContextClassLoader());
+			} catch (IOException ex) {
+				throw Throwables.propagate(ex);
+			}
 		}
 	}
+
 	@SuppressWarnings("unchecked")
 	public static <T> T findAnnotation(Annotation[] annotations, Class<T> type) {
 		for (Annotation annotation : annotations) {
@@ -50,7 +55,7 @@ public class AnnotationUtils {
 	public static <T extends Annotation> Map<Class<?>, T> getClassesWithAnnotation(Class<T> annotation, String packageName) {
 		ImmutableMap.Builder<Class<?>, T> results = ImmutableMap.builder();
 		try {
-			ImmutableSet<ClassPath.ClassInfo> classes = classPath.getTopLevelClassesRecursive(packageName);
+			ImmutableSet<ClassPath.ClassInfo> classes = ClassPathHolder.classPath.getTopLevelClassesRecursive(packageName);
 			for (ClassPath.ClassInfo info : classes) {
 				try {
 					Class<?> type = info.load();
@@ -71,29 +76,11 @@ public class AnnotationUtils {
 	}
 
 	public static <T extends Annotation> List<Method> getMethodsWithAnnotation(Class<?> targetClass, Class<T> annotationClass) {
-		ImmutableList.Builder<Method> methods = ImmutableList.builder();
-
-		for (Method method : targetClass.getDeclaredMethods()) {
-			T annotation = method.getAnnotation(annotationClass);
-			if (annotation != null) {
-				methods.add(method);
-			}
-		}
-
-		return methods.build();
+		return ClassMetadata.of(targetClass).getMethodsWithAnnotation(annotationClass);
 	}
 
 	public static <T extends Annotation> List<Field> getFieldsWithAnnotation(Class<?> targetClass, Class<T> annotationClass) {
-		ImmutableList.Builder<Field> fields = ImmutableList.builder();
-
-		for (Field field : targetClass.getDeclaredFields()) {
-			T annotation = field.getAnnotation(annotationClass);
-			if (annotation != null) {
-				fields.add(field);
-			}
-		}
-
-		return fields.build();
+		return ClassMetadata.of(targetClass).getFieldsWithAnnotation(annotationClass);
 	}
 
 	public static boolean isNullValue(String value) {
@@ -0,0 +1,237 @@
+package com.bretpatterson.schemagen.graphql.utils;
+
+import com.bretpatterson.schemagen.graphql.datafetchers.IMethodInvoker;
+import com.bretpatterson.schemagen.graphql.datafetchers.MethodHandleInvoker;
+import com.bretpatterson.schemagen.graphql.impl.GraphQLControllerMetadataIndex;
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reflective metadata of a class that is computed once and shared by every schema builder, IE: the declared fields and methods, the
+ * members with a specific annotation and the generic signatures and parameter annotations of the methods.
+ *
+ * The field and method instances returned are shared as well, so their annotations are only read once.
+ */
+public final class ClassMetadata {
+
+	private static final LoadingCache<Class<?>, ClassMetadata> REGISTRY = CacheBuilder.newBuilder()
+			// the metadata references its class, soft values let classes of discarded class loaders be collected
+			.weakKeys()
+			.softValues()
+			.build(new CacheLoader<Class<?>, ClassMetadata>() {
+				@Override
+				public ClassMetadata load(Class<?> type) {
+					return new ClassMetadata(type);
+				}
+			});
+
+	private final Class<?> type;
+	// the members are listed the first time they're requested, so the metadata of a single method doesn't list the whole class
+	private volatile List<Field> declaredFields;
+	private volatile List<Method> declaredMethods;
+	private volatile Map<String, Field> declaredFieldsByName;
+	private final ConcurrentMap<Method, MethodMetadata> methodMetadata = Maps.newConcurrentMap();
+	private final ConcurrentMap<Class<? extends Annotation>, List<Field>> fieldsWithAnnotation = Maps.newConcurrentMap();
+	private final ConcurrentMap<Class<? extends Annotation>, List<Method>> methodsWithAnnotation = Maps.newConcurrentMap();
+
+	private ClassMetadata(Class<?> type) {
+		this.type = type;
+	}
+
+	/**
+	 * The metadata of the specified class.
+	 * @param type the class
+	 * @return
+	 */
+	public static ClassMetadata of(Class<?> type) {
+		return REGISTRY.getUnchecked(type);
+	}
+
+	/**
+	 * The metadata of the specified method.
+	 * @param method the method
+	 * @return
+	 */
+	public static MethodMetadata of(Method method) {
+		return of(method.getDeclaringClass()).getMethod(method);
+	}
+
+	public Class<?> getType() {
+		return type;
+	}
+
+	public List<Field> getDeclaredFields() {
+		List<Field> rv = declaredFields;
+		if (rv == null) {
+			declaredFields = rv = ImmutableList.copyOf(type.getDeclaredFields());
+		}
+		return rv;
+	}
+
+	public List<Method> getDeclaredMethods() {
+		List<Method> rv = declaredMethods;
+		if (rv == null) {
+			declaredMethods = rv = ImmutableList.copyOf(type.getDeclaredMethods());
+		}
+		return rv;
+	}
+
+	/**
+	 * The field declared by this class with the specified name.
+	 * @param name the field name
+	 * @return
+	 */
+	public Optional<Field> getDeclaredField(String name) {
+		Map<String, Field> fieldsByName = declaredFieldsByName;
+		if (fieldsByName == null) {
+			ImmutableMap.Builder<String, Field> builder = ImmutableMap.builder();
+			for (Field field : getDeclaredFields()) {
+				builder.put(field.getName(), field);
+			}
+			declaredFieldsByName = fieldsByName = builder.build();
+		}
+		return Optional.fromNullable(fieldsByName.get(name));
+	}
+
+	/**
+	 * The method declared by this class with the specified name and parameter types.
+	 * @param name the method name
+	 * @param parameterTypes the method parameter types
+	 * @return
+	 */
+	public Optional<Method> getDeclaredMethod(String name, Class<?>... parameterTypes) {
+		for (Method method : getDeclaredMethods()) {
+			if (method.getName().equals(name) && Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+				return Optional.of(method);
+			}
+		}
+		return Optional.absent();
+	}
+
+	/**
+	 * The declared fields that have the specified annotation, in declaration order.
+	 * @param annotationClass the annotation
+	 * @return
+	 */
+	public List<Field> getFieldsWithAnnotation(Class<? extends Annotation> annotationClass) {
+		List<Field> rv = fieldsWithAnnotation.get(annotationClass);
+		if (rv == null) {
+			ImmutableList.Builder<Field> fields = ImmutableList.builder();
+			for (Field field : getDeclaredFields()) {
+				if (field.isAnnotationPresent(annotationClass)) {
+					fields.add(field);
+				}
+			}
+			rv = fields.build();
+			fieldsWithAnnotation.putIfAbsent(annotationClass, rv);
+		}
+		return rv;
+	}
+
+	/**
+	 * The declared methods that have the specified annotation, in declaration order.
+	 * @param annotationClass the annotation
+	 * @return
+	 */
+	public List<Method> getMethodsWithAnnotation(Class<? extends Annotation> annotationClass) {
+		List<Method> rv = methodsWithAnnotation.get(annotationClass);
+		if (rv == null) {
+			ImmutableList.Builder<Method> methods = ImmutableList.builder();
+			for (Method method : getDeclaredMethods()) {
+				if (method.isAnnotationPresent(annotationClass)) {
+					methods.add(method);
+				}
+			}
+			rv = methods.build();
+			methodsWithAnnotation.putIfAbsent(annotationClass, rv);
+		}
+		return rv;
+	}
+
+	/**
+	 * The metadata of a method of this class. Methods that aren't declared by this class, IE: inherited methods, are not remembered.
+	 * @param method the method
+	 * @return
+	 */
+	public MethodMetadata getMethod(Method method) {
+		MethodMetadata rv = methodMetadata.get(method);
+		if (rv == null) {
+			rv = new MethodMetadata(method);
+			if (method.getDeclaringClass() == type) {
+				MethodMetadata existing = methodMetadata.putIfAbsent(method, rv);
+				if (existing != null) {
+					rv = existing;
+				}
+			}
+		}
+		return rv;
+	}
+
+	/**
+	 * The generic signature, parameter annotations and invoker of a method. The parameter annotations of controller methods are read at
+	 * compile time when the controller was processed by the schemagen-graphql-apt annotation processor.
+	 */
+	public static final class MethodMetadata {
+		private final Method method;
+		private final Type genericReturnType;
+		private final List<Type> genericParameterTypes;
+		private final Annotation[][] parameterAnnotations;
+		private volatile Optional<IMethodInvoker> methodInvoker;
+
+		private MethodMetadata(Method method) {
+			this.method = method;
+			this.genericReturnType = method.getGenericReturnType();
+			this.genericParameterTypes = ImmutableList.copyOf(method.getGenericParameterTypes());
+			Optional<Annotation[][]> generatedAnnotations = GraphQLControllerMetadataIndex.getParameterAnnotations(method);
+			this.parameterAnnotations = generatedAnnotations.isPresent() ? generatedAnnotations.get() : method.getParameterAnnotations();
+		}
+
+		public Method getMethod() {
+			return method;
+		}
+
+		public Type getGenericReturnType() {
+			return genericReturnType;
+		}
+
+		public List<Type> getGenericParameterTypes() {
+			return genericParameterTypes;
+		}
+
+		/**
+		 * The invoker bound to the method, created the first time it's requested.
+		 * @return the invoker, or absent if the method must be invoked through reflection
+		 */
+		public Optional<IMethodInvoker> getMethodInvoker() {
+			Optional<IMethodInvoker> rv = methodInvoker;
+			if (rv == null) {
+				methodInvoker = rv = MethodHandleInvoker.of(method);
+			}
+			return rv;
+		}
+
+		/**
+		 * The annotation of the specified type on the parameter at the specified index.
+		 * @param index the parameter index
+		 * @param annotationClass the annotation
+		 * @return the annotation or null if the parameter doesn't have it
+		 */
+		public <T extends Annotation> T getParameterAnnotation(int index, Class<T> annotationClass) {
+			return AnnotationUtils.findAnnotation(parameterAnnotations[index], annotationClass);
+		}
+	}
+}
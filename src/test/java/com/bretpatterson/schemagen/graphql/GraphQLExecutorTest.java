@@ -0,0 +1,80 @@
+package com.bretpatterson.schemagen.graphql;
+
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLController;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLParam;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLQuery;
+import com.bretpatterson.schemagen.graphql.impl.FutureExecutionStrategy;
+import com.bretpatterson.schemagen.graphql.impl.common.JacksonTypeFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import graphql.ErrorType;
+import graphql.ExecutionResult;
+import graphql.schema.GraphQLSchema;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class GraphQLExecutorTest {
+
+	private EchoController controller;
+	private GraphQLSchema schema;
+
+	@GraphQLController
+	public static class EchoController {
+		private int invocations;
+
+		@GraphQLQuery
+		public String echo(@GraphQLParam(name = "value") String value) {
+			invocations++;
+			return value;
+		}
+	}
+
+	@Before
+	public void setup() {
+		controller = new EchoController();
+		schema = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(controller))
+				.build();
+	}
+
+	@Test
+	public void testDocumentsAreCached() {
+		GraphQLExecutor executor = new GraphQLExecutor(schema, new FutureExecutionStrategy());
+		String query = "query Echo($value: String) { echo(value: $value) }";
+
+		ExecutionResult result = executor.execute(query, null, null, ImmutableMap.<String, Object> of("value", "a"));
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals(ImmutableMap.of("echo", "a"), result.getData());
+		result = executor.execute(query, null, null, ImmutableMap.<String, Object> of("value", "b"));
+		assertEquals(ImmutableMap.of("echo", "b"), result.getData());
+
+		// the query is parsed once and executed every time
+		assertEquals(2, controller.invocations);
+		assertEquals(1, executor.getDocumentCacheStats().missCount());
+		assertEquals(1, executor.getDocumentCacheStats().hitCount());
+		assertEquals(1, executor.getDocumentCacheSize());
+	}
+
+	@Test
+	public void testInvalidDocuments() {
+		GraphQLExecutor executor = new GraphQLExecutor(schema, null, null, 1);
+
+		ExecutionResult result = executor.execute("{ echo(value: ");
+		assertEquals(ErrorType.InvalidSyntax, result.getErrors().get(0).getErrorType());
+		for (int i = 0; i < 2; i++) {
+			result = executor.execute("{ unknown }");
+			assertEquals(ErrorType.ValidationError, result.getErrors().get(0).getErrorType());
+		}
+		assertEquals(0, controller.invocations);
+		// the least recently used document is evicted
+		assertEquals(1, executor.getDocumentCacheStats().evictionCount());
+		assertEquals(1, executor.getDocumentCacheStats().hitCount());
+
+		executor.invalidateDocuments();
+		assertEquals(0, executor.getDocumentCacheSize());
+	}
+}
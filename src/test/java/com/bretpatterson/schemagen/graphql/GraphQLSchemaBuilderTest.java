@@ -1,30 +1,88 @@
 package com.bretpatterson.schemagen.graphql;
 
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLBatched;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLCacheable;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLController;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLDataFetcher;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLDescription;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLMutation;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLParam;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLQuery;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLTypeConverter;
 import com.bretpatterson.schemagen.graphql.annotations.GraphQLName;
+import com.bretpatterson.schemagen.graphql.datafetchers.CollectionConverterDataFetcher;
+import com.bretpatterson.schemagen.graphql.datafetchers.DataFetcherExecutor;
+import com.bretpatterson.schemagen.graphql.datafetchers.DefaultMethodDataFetcher;
 import com.bretpatterson.schemagen.graphql.datafetchers.DefaultTypeConverter;
+import com.bretpatterson.schemagen.graphql.datafetchers.FieldResultCache;
+import com.bretpatterson.schemagen.graphql.datafetchers.FieldResultCaches;
+import com.bretpatterson.schemagen.graphql.datafetchers.PropertyAccessorDataFetcher;
+import com.bretpatterson.schemagen.graphql.datafetchers.ScalarList;
+import com.bretpatterson.schemagen.graphql.impl.FutureExecutionStrategy;
+import com.bretpatterson.schemagen.graphql.impl.GraphQLSchemaBuildProfiler;
+import com.bretpatterson.schemagen.graphql.impl.PropertyAccessorDataFetcherFactory;
 import com.bretpatterson.schemagen.graphql.impl.common.JacksonTypeFactory;
+import com.bretpatterson.schemagen.graphql.relay.controller.GameController;
+import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.base.Predicates;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import graphql.ExceptionWhileDataFetching;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.introspection.IntrospectionQuery;
 import graphql.Scalars;
 import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
 
 /**
  * Created by bpatterson on 1/23/16.
@@ -232,4 +290,1119 @@ public class GraphQLSchemaBuilderTest {
 		assertEquals("getSomeStrings description", someQuery.getDescription());
 		assertEquals("setSomeStrings description", someMutation.getDescription());
 	}
+
+	public static class TreeNode {
+
+		public String name;
+		public TreeNode child;
+	}
+
+	@GraphQLController
+	public class RecursiveInputController {
+
+		@GraphQLQuery(name = "childName")
+		public String childName(@GraphQLParam(name = "node") TreeNode node) {
+			return node.child.name;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testRecursiveInputType() {
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new RecursiveInputController()))
+				.build();
+
+		GraphQLInputObjectType nodeType = (GraphQLInputObjectType) schema.getQueryType().getFieldDefinition("childName").getArgument("node").getType();
+		assertEquals("TreeNode_Input", nodeType.getName());
+		assertEquals(nodeType, nodeType.getField("child").getType());
+
+		ExecutionResult result = new GraphQL(schema).execute("{ childName(node: {name: \"parent\", child: {name: \"child\"}}) }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals("child", ((Map<String, String>) result.getData()).get("childName"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> getTypesByName(ExecutionResult introspectionResult) {
+		Map<String, Object> schema = (Map<String, Object>) ((Map<String, Object>) introspectionResult.getData()).get("__schema");
+		Map<String, Object> types = Maps.newTreeMap();
+		for (Map<String, Object> type : (List<Map<String, Object>>) schema.get("types")) {
+			types.put((String) type.get("name"), type);
+		}
+		return types;
+	}
+
+	@Test
+	public void testParallelBuild() {
+		ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+		try {
+			List<Object> controllers = ImmutableList.<Object> of(new TestController(), new ControllerScoping(), new TypeConverterTest(),
+					new RecursiveInputController(), new GameController());
+			GraphQLSchema sequential = GraphQLSchemaBuilder.newBuilder()
+					.registerGraphQLControllerObjects(controllers)
+					.build();
+			GraphQLSchema parallel = GraphQLSchemaBuilder.newBuilder()
+					.registerGraphQLControllerObjects(controllers)
+					.registerForkJoinPool(forkJoinPool)
+					.build();
+
+			ExecutionResult sequentialResult = new GraphQL(sequential).execute(IntrospectionQuery.INTROSPECTION_QUERY);
+			ExecutionResult parallelResult = new GraphQL(parallel).execute(IntrospectionQuery.INTROSPECTION_QUERY);
+			assertEquals(0, parallelResult.getErrors().size());
+			// types are listed in the order graphql-java discovers them, which depends on which thread built them
+			assertEquals(getTypesByName(sequentialResult), getTypesByName(parallelResult));
+		} finally {
+			forkJoinPool.shutdown();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSchemaSnapshot() throws Exception {
+		File snapshotDirectory = Files.createTempDirectory("schema-snapshot").toFile();
+		try {
+			List<Object> controllers = ImmutableList.<Object> of(new TestController(), new ControllerScoping(), new TypeConverterTest(),
+					new RecursiveInputController(), new GameController());
+			GraphQLSchemaBuilder generatedBuilder = GraphQLSchemaBuilder.newBuilder()
+					.registerGraphQLControllerObjects(controllers)
+					.registerSchemaSnapshotDirectory(snapshotDirectory);
+			GraphQLSchema generated = generatedBuilder.build();
+			assertEquals(1, snapshotDirectory.listFiles().length);
+			assertFalse(generatedBuilder.getGraphQLObjectMapper().getInputTypes().isEmpty());
+
+			GraphQLSchemaBuilder restoredBuilder = GraphQLSchemaBuilder.newBuilder()
+					.registerGraphQLControllerObjects(controllers)
+					.registerSchemaSnapshotDirectory(snapshotDirectory);
+			GraphQLSchema restored = restoredBuilder.build();
+			// restored schemas don't walk the controllers so no input types are built
+			assertTrue(restoredBuilder.getGraphQLObjectMapper().getInputTypes().isEmpty());
+
+			ExecutionResult generatedResult = new GraphQL(generated).execute(IntrospectionQuery.INTROSPECTION_QUERY);
+			ExecutionResult restoredResult = new GraphQL(restored).execute(IntrospectionQuery.INTROSPECTION_QUERY);
+			assertEquals(0, restoredResult.getErrors().size());
+			assertEquals(getTypesByName(generatedResult), getTypesByName(restoredResult));
+
+			ExecutionResult mutationResult = new GraphQL(restored).execute("mutation M { setName(name: \"restored\") }");
+			assertEquals(0, mutationResult.getErrors().size());
+			assertEquals("restored", ((Map<String, Object>) mutationResult.getData()).get("setName"));
+		} finally {
+			for (File file : snapshotDirectory.listFiles()) {
+				file.delete();
+			}
+			snapshotDirectory.delete();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testBuildProfiler() throws IOException {
+		GraphQLSchemaBuildProfiler profiler = new GraphQLSchemaBuildProfiler();
+		GraphQLSchemaBuilder.newBuilder()
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new TestController(), new RecursiveInputController()))
+				.registerBuildProfiler(profiler)
+				.build();
+
+		Map<String, Object> report = new ObjectMapper().readValue(profiler.toJson(), Map.class);
+		assertTrue((Long.valueOf(report.get("buildNanos").toString())) > 0);
+		Map<String, Object> counts = (Map<String, Object>) report.get("counts");
+		assertTrue((Integer) counts.get("fields") > 0);
+		assertTrue((Integer) counts.get("dataFetchers") > 0);
+		assertTrue((Integer) counts.get("inputObjectTypes") > 0);
+		assertTrue((Integer) ((Map<String, Object>) report.get("outputTypeCache")).get("hits") > 0);
+
+		Set<String> typeNames = Sets.newHashSet();
+		for (Map<String, Object> type : (List<Map<String, Object>>) report.get("types")) {
+			typeNames.add(type.get("kind") + ":" + type.get("name"));
+			assertTrue((Integer) type.get("depth") > 0);
+		}
+		assertTrue(typeNames.contains("output:TreeNode"));
+		assertTrue(typeNames.contains("input:TreeNode"));
+		assertFalse(((List<Object>) report.get("typeMappers")).isEmpty());
+
+		assertTrue(profiler.getSummary(5).contains("Slowest types:"));
+	}
+
+	public static class PropertyDTO {
+		private String name;
+		private boolean active;
+		public int count;
+		@SuppressWarnings("unused")
+		private String hidden = "hidden";
+
+		public PropertyDTO() {
+		}
+
+		public PropertyDTO(String name, boolean active, int count) {
+			this.name = name;
+			this.active = active;
+			this.count = count;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public boolean isActive() {
+			return active;
+		}
+	}
+
+	@GraphQLController
+	public static class PropertyController {
+		@GraphQLQuery
+		public List<PropertyDTO> properties() {
+			return ImmutableList.of(new PropertyDTO("first", true, 1), new PropertyDTO("second", false, 2));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testPropertyAccessorDataFetcherFactory() {
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerDataFetcherFactory(new PropertyAccessorDataFetcherFactory())
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new PropertyController()))
+				.build();
+		assertEquals(PropertyAccessorDataFetcher.class,
+				((GraphQLObjectType) ((GraphQLList) schema.getQueryType().getFieldDefinition("properties").getType()).getWrappedType())
+						.getFieldDefinition("count").getDataFetcher().getClass());
+
+		ExecutionResult result = new GraphQL(schema).execute("query Q { properties { name, active, count, hidden } }");
+		assertEquals(0, result.getErrors().size());
+		List<Map<String, Object>> properties = (List<Map<String, Object>>) ((Map<String, Object>) result.getData()).get("properties");
+		assertEquals(ImmutableMap.of("name", "first", "active", true, "count", 1), Maps.filterValues(properties.get(0), Predicates.notNull()));
+		assertEquals(ImmutableMap.of("name", "second", "active", false, "count", 2), Maps.filterValues(properties.get(1), Predicates.notNull()));
+		// private fields without a getter aren't readable, like with the PropertyDataFetcher
+		assertNull(properties.get(0).get("hidden"));
+	}
+
+	@GraphQLController
+	public static class DefaultValueController {
+		@GraphQLQuery
+		public String repeat(@GraphQLParam(name = "value", defaultValue = "default") String value, @GraphQLParam(name = "count", defaultValue = "2") Integer count) {
+			return Strings.repeat(value, count);
+		}
+
+		public List<String> append(List<String> values) {
+			values.add("b");
+			return values;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testDefaultValues() {
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new DefaultValueController()))
+				.build();
+
+		GraphQL graphQL = new GraphQL(schema);
+		assertEquals("defaultdefault", ((Map<String, Object>) graphQL.execute("query Q { repeat }").getData()).get("repeat"));
+		assertEquals("abab", ((Map<String, Object>) graphQL.execute("query Q { repeat(value: \"ab\") }").getData()).get("repeat"));
+		assertEquals("abc", ((Map<String, Object>) graphQL.execute("query Q { repeat(value: \"abc\", count: 1) }").getData()).get("repeat"));
+
+		// the data fetcher is compiled once used
+		DefaultMethodDataFetcher dataFetcher = (DefaultMethodDataFetcher) schema.getQueryType().getFieldDefinition("repeat").getDataFetcher();
+		try {
+			dataFetcher.setFieldName("renamed");
+			fail();
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testMutableDefaultValues() throws NoSuchMethodException {
+		DefaultMethodDataFetcher dataFetcher = new DefaultMethodDataFetcher();
+		dataFetcher.setTypeFactory(new ITypeFactory() {
+			@Override
+			public Object convertToType(Type type, Object arg) {
+				return arg instanceof String ? Lists.newArrayList(arg) : Lists.newArrayList((List<?>) arg);
+			}
+		});
+		dataFetcher.setMethod(DefaultValueController.class.getMethod("append", List.class));
+		dataFetcher.setFieldName("append");
+		dataFetcher.setTargetObject(new DefaultValueController());
+		dataFetcher.addParam("values", List.class, Optional.<Object> of("a"));
+
+		// the default value a call changes isn't used by the next calls
+		DataFetchingEnvironment environment = mock(DataFetchingEnvironment.class);
+		assertEquals(ImmutableList.of("a", "b"), dataFetcher.get(environment));
+		assertEquals(ImmutableList.of("a", "b"), dataFetcher.get(environment));
+	}
+
+	@GraphQLController
+	public static class FutureController {
+		private final SettableFuture<String> first = SettableFuture.create();
+
+		@GraphQLQuery
+		public ListenableFuture<String> first() {
+			return first;
+		}
+
+		@GraphQLQuery
+		public ListenableFuture<List<String>> second() {
+			// the first future completes once its sibling has been fetched
+			first.set("first");
+			return Futures.<List<String>> immediateFuture(ImmutableList.of("second"));
+		}
+
+		@GraphQLQuery
+		public ListenableFuture<String> failing() {
+			return Futures.immediateFailedFuture(new IllegalStateException("failed"));
+		}
+
+		private final List<String> mutations = Lists.newArrayList();
+
+		@GraphQLMutation
+		public Future<String> mutate(@GraphQLParam(name = "name") final String name) {
+			mutations.add(name + " invoked");
+			return Futures.lazyTransform(Futures.immediateFuture(name), new Function<String, String>() {
+				@Override
+				public String apply(String input) {
+					mutations.add(name + " completed");
+					return input;
+				}
+			});
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testFutureResults() {
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new FutureController()))
+				.build();
+		assertEquals(Scalars.GraphQLString, schema.getQueryType().getFieldDefinition("first").getType());
+		assertTrue(schema.getQueryType().getFieldDefinition("second").getType() instanceof GraphQLList);
+
+		ExecutionResult result = new GraphQL(schema, new FutureExecutionStrategy()).execute("{ first second failing }");
+		Map<String, Object> data = (Map<String, Object>) result.getData();
+		assertEquals("first", data.get("first"));
+		assertEquals(ImmutableList.of("second"), data.get("second"));
+		assertNull(data.get("failing"));
+		assertEquals(1, result.getErrors().size());
+		assertEquals("failed", ((ExceptionWhileDataFetching) result.getErrors().get(0)).getException().getMessage());
+
+		// mutations are executed with the strategy as well, one field after the other
+		FutureController controller = new FutureController();
+		schema = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(controller))
+				.build();
+		FutureExecutionStrategy strategy = new FutureExecutionStrategy();
+		result = new GraphQL(schema, strategy, strategy).execute("mutation { a: mutate(name: \"a\") b: mutate(name: \"b\") }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals(ImmutableMap.of("a", "a", "b", "b"), result.getData());
+		assertEquals(ImmutableList.of("a invoked", "a completed", "b invoked", "b completed"), controller.mutations);
+
+		result = new GraphQLExecutor(schema, new FutureExecutionStrategy()).execute("mutation { c: mutate(name: \"c\") }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals(ImmutableMap.of("c", "c"), result.getData());
+	}
+
+	@GraphQLController
+	public static class BlockingController {
+		private final CountDownLatch latch = new CountDownLatch(2);
+
+		@GraphQLQuery
+		public boolean left() throws InterruptedException {
+			latch.countDown();
+			// only returns true if the right field is fetched at the same time
+			return latch.await(10, TimeUnit.SECONDS);
+		}
+
+		@GraphQLQuery
+		public boolean right() throws InterruptedException {
+			latch.countDown();
+			return latch.await(10, TimeUnit.SECONDS);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testDataFetcherExecutor() {
+		ExecutorService executorService = Executors.newCachedThreadPool();
+		try {
+			DataFetcherExecutor dataFetcherExecutor = new DataFetcherExecutor(executorService, 2);
+			GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+					.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+					.registerDataFetcherExecutor(dataFetcherExecutor)
+					.registerGraphQLControllerObjects(ImmutableList.<Object> of(new BlockingController()))
+					.build();
+			assertTrue(schema.getQueryType().getFieldDefinition("left").getDataFetcher() instanceof DataFetcherExecutor.ExecutorDataFetcher);
+
+			ExecutionResult result = new GraphQL(schema, new FutureExecutionStrategy()).execute("{ left right }", new Object());
+			assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+			assertEquals(ImmutableMap.of("left", true, "right", true), result.getData());
+			assertEquals(2, dataFetcherExecutor.getInvocations());
+			assertEquals(0, dataFetcherExecutor.getThrottledInvocations());
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@GraphQLController
+	public static class ThrottledController {
+		private final AtomicInteger running = new AtomicInteger();
+		private final AtomicInteger maxRunning = new AtomicInteger();
+
+		private int fetch(int value) throws InterruptedException {
+			int current = running.incrementAndGet();
+			int max;
+			while ((max = maxRunning.get()) < current && !maxRunning.compareAndSet(max, current)) {
+			}
+			try {
+				Thread.sleep(50);
+			} finally {
+				running.decrementAndGet();
+			}
+			return value;
+		}
+
+		@GraphQLQuery
+		public int a() throws InterruptedException {
+			return fetch(1);
+		}
+
+		@GraphQLQuery
+		public int b() throws InterruptedException {
+			return fetch(2);
+		}
+
+		@GraphQLQuery
+		public int c() throws InterruptedException {
+			return fetch(3);
+		}
+	}
+
+	@Test
+	public void testDataFetcherExecutorThrottling() {
+		ExecutorService executorService = Executors.newCachedThreadPool();
+		try {
+			DataFetcherExecutor dataFetcherExecutor = new DataFetcherExecutor(executorService, 2);
+			dataFetcherExecutor.setSlowInvocationThreshold(10, TimeUnit.MILLISECONDS);
+			ThrottledController controller = new ThrottledController();
+			GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+					.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+					.registerDataFetcherExecutor(dataFetcherExecutor)
+					.registerGraphQLControllerObjects(ImmutableList.<Object> of(controller))
+					.build();
+
+			ExecutionResult result = new GraphQL(schema, new FutureExecutionStrategy()).execute("{ a b c }", new Object());
+			assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+			assertEquals(ImmutableMap.of("a", 1, "b", 2, "c", 3), result.getData());
+			// the executor has a thread for every field, the limit of the request keeps the third one waiting
+			assertEquals(2, controller.maxRunning.get());
+			assertEquals(3, dataFetcherExecutor.getInvocations());
+			assertEquals(1, dataFetcherExecutor.getThrottledInvocations());
+			assertTrue(dataFetcherExecutor.getPermitWaitNanos() > 0);
+			assertEquals(3, dataFetcherExecutor.getSlowInvocations());
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testDataFetcherExecutorQueryLimits() throws Exception {
+		ExecutorService executorService = Executors.newCachedThreadPool();
+		try {
+			final DataFetcherExecutor dataFetcherExecutor = new DataFetcherExecutor(executorService, 1);
+			GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+					.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+					.registerDataFetcherExecutor(dataFetcherExecutor)
+					.registerGraphQLControllerObjects(ImmutableList.<Object> of(new BlockingController()))
+					.build();
+			final GraphQL graphQL = new GraphQL(schema, new FutureExecutionStrategy());
+
+			// each query has its own limit, also without a context, so the fields of two queries run at the same time
+			Future<ExecutionResult> left = executorService.submit(new Callable<ExecutionResult>() {
+				@Override
+				public ExecutionResult call() {
+					return graphQL.execute("{ left }");
+				}
+			});
+			ExecutionResult right = graphQL.execute("{ right }");
+			assertEquals(ImmutableMap.of("right", true), right.getData());
+			assertEquals(ImmutableMap.of("left", true), left.get(10, TimeUnit.SECONDS).getData());
+			assertEquals(2, dataFetcherExecutor.getInvocations());
+			assertEquals(0, dataFetcherExecutor.getThrottledInvocations());
+			assertEquals(0, dataFetcherExecutor.getSlowInvocations());
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	public static class BatchedGame {
+		private static final List<List<String>> userBatches = Lists.newArrayList();
+		private static final List<Integer> scoreBatchSizes = Lists.newArrayList();
+		private String name;
+
+		BatchedGame(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof BatchedGame && ((BatchedGame) obj).name.equals(name);
+		}
+
+		@Override
+		public int hashCode() {
+			return name.hashCode();
+		}
+
+		@GraphQLBatched
+		public static List<List<String>> getUsers(List<BatchedGame> games, @GraphQLParam(name = "prefix") String prefix) {
+			List<List<String>> rv = Lists.newArrayList();
+			List<String> batch = Lists.newArrayList();
+			for (BatchedGame game : games) {
+				rv.add(ImmutableList.of(prefix + game.name));
+				batch.add(game.name);
+			}
+			userBatches.add(batch);
+			return rv;
+		}
+
+		@GraphQLBatched(maxBatchSize = 2, deduplicate = false)
+		public static List<Integer> getScore(List<BatchedGame> games) {
+			scoreBatchSizes.add(games.size());
+			List<Integer> rv = Lists.newArrayList();
+			for (BatchedGame game : games) {
+				rv.add(game.name.length());
+			}
+			return rv;
+		}
+	}
+
+	public static class BatchedFilter {
+		private String suffix;
+
+		public String getSuffix() {
+			return suffix;
+		}
+
+		public void setSuffix(String suffix) {
+			this.suffix = suffix;
+		}
+	}
+
+	public static class FilteredGame {
+		private static final List<Integer> rankBatchSizes = Lists.newArrayList();
+		private int rank;
+
+		FilteredGame(int rank) {
+			this.rank = rank;
+		}
+
+		@GraphQLBatched
+		public static List<String> getRank(List<FilteredGame> games, @GraphQLParam(name = "filter") BatchedFilter filter) {
+			rankBatchSizes.add(games.size());
+			List<String> rv = Lists.newArrayList();
+			for (FilteredGame game : games) {
+				rv.add(game.rank + filter.getSuffix());
+			}
+			return rv;
+		}
+	}
+
+	public static class InstanceBatchedGame {
+		@GraphQLBatched
+		public List<String> getUsers(List<InstanceBatchedGame> games) {
+			return Lists.newArrayList();
+		}
+	}
+
+	@GraphQLController
+	public static class BatchedGameController {
+		@GraphQLQuery
+		public List<BatchedGame> games() {
+			BatchedGame first = new BatchedGame("first");
+			return ImmutableList.of(first, new BatchedGame("second"), first, new BatchedGame("first"));
+		}
+
+		@GraphQLQuery
+		public List<FilteredGame> filteredGames() {
+			return ImmutableList.of(new FilteredGame(1), new FilteredGame(2));
+		}
+	}
+
+	@GraphQLController
+	public static class InstanceBatchedGameController {
+		@GraphQLQuery
+		public List<InstanceBatchedGame> games() {
+			return ImmutableList.of(new InstanceBatchedGame());
+		}
+	}
+
+	@GraphQLController
+	public static class NestedQueryController {
+		private GraphQL graphQL;
+
+		@GraphQLQuery
+		public String nested() {
+			return graphQL.execute("{ games { users(prefix: \"nested-\") } }").getData().toString();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testBatchedFields() {
+		BatchedGame.userBatches.clear();
+		BatchedGame.scoreBatchSizes.clear();
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new BatchedGameController()))
+				.build();
+		GraphQLObjectType gameType = (GraphQLObjectType) schema.getType("BatchedGame");
+		assertEquals(Scalars.GraphQLInt, gameType.getFieldDefinition("score").getType());
+		assertEquals(1, gameType.getFieldDefinition("users").getArguments().size());
+
+		ExecutionResult result = new GraphQL(schema, new FutureExecutionStrategy()).execute("{ games { users(prefix: \"user-\") score } }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		List<Map<String, Object>> games = (List<Map<String, Object>>) ((Map<String, Object>) result.getData()).get("games");
+		assertEquals(ImmutableList.of("user-first"), games.get(0).get("users"));
+		assertEquals(ImmutableList.of("user-second"), games.get(1).get("users"));
+		assertEquals(ImmutableList.of("user-first"), games.get(2).get("users"));
+		assertEquals(ImmutableList.of("user-first"), games.get(3).get("users"));
+		assertEquals(6, games.get(1).get("score"));
+		// one invocation for every game, the same game is only passed once although equal games are each passed
+		assertEquals(ImmutableList.of(ImmutableList.of("first", "second", "first")), BatchedGame.userBatches);
+		assertEquals(ImmutableList.of(2, 2), BatchedGame.scoreBatchSizes);
+
+		// invoked for each game without the future strategy
+		result = new GraphQL(schema).execute("{ games { users(prefix: \"user-\") } }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals(5, BatchedGame.userBatches.size());
+
+		// the arguments are equal although the converted filters aren't
+		result = new GraphQL(schema, new FutureExecutionStrategy())
+				.execute("{ a: filteredGames { rank(filter: { suffix: \"st\" }) } b: filteredGames { rank(filter: { suffix: \"st\" }) } }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals(ImmutableList.of(ImmutableMap.of("rank", "1st"), ImmutableMap.of("rank", "2st")), ((Map<String, Object>) result.getData()).get("b"));
+		assertEquals(ImmutableList.of(4), FilteredGame.rankBatchSizes);
+	}
+
+	@Test
+	public void testBatchedInstanceMethods() {
+		try {
+			GraphQLSchemaBuilder.newBuilder()
+					.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+					.registerGraphQLControllerObjects(ImmutableList.<Object> of(new InstanceBatchedGameController()))
+					.build();
+			fail();
+		} catch (RuntimeException ex) {
+			assertTrue(Throwables.getRootCause(ex).getMessage().contains("must be static or a method of a controller"));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testBatchedNestedQueries() {
+		NestedQueryController nestedQueryController = new NestedQueryController();
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new BatchedGameController(), nestedQueryController))
+				.build();
+		nestedQueryController.graphQL = new GraphQL(schema, new FutureExecutionStrategy());
+
+		// the query executed by the data fetcher completes its own fields, and the outer query its own
+		ExecutionResult result = nestedQueryController.graphQL.execute("{ games { users(prefix: \"outer-\") } nested }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		Map<String, Object> data = (Map<String, Object>) result.getData();
+		assertEquals("{games=[{users=[nested-first]}, {users=[nested-second]}, {users=[nested-first]}, {users=[nested-first]}]}", data.get("nested"));
+		assertEquals(ImmutableMap.of("users", ImmutableList.of("outer-second")), ((List<Object>) data.get("games")).get(1));
+	}
+
+	@GraphQLController
+	public static class MemoizedController {
+		private int invocations;
+
+		@GraphQLQuery(memoize = true)
+		public String echo(@GraphQLParam(name = "value") String value) {
+			invocations++;
+			return value;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testMemoizedQueries() {
+		MemoizedController controller = new MemoizedController();
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(controller))
+				.build();
+		GraphQL graphQL = new GraphQL(schema, new FutureExecutionStrategy());
+
+		ExecutionResult result = graphQL.execute("{ a: echo(value: \"x\") b: echo(value: \"x\") c: echo(value: \"y\") }");
+		assertEquals(ImmutableMap.of("a", "x", "b", "x", "c", "y"), result.getData());
+		assertEquals(2, controller.invocations);
+		// values aren't shared between queries
+		graphQL.execute("{ a: echo(value: \"x\") }");
+		assertEquals(3, controller.invocations);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testMemoizedQueriesWithDataFetcherExecutor() {
+		ExecutorService executorService = Executors.newCachedThreadPool();
+		try {
+			MemoizedController controller = new MemoizedController();
+			DataFetcherExecutor dataFetcherExecutor = new DataFetcherExecutor(executorService, 2);
+			GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+					.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+					.registerDataFetcherExecutor(dataFetcherExecutor)
+					.registerGraphQLControllerObjects(ImmutableList.<Object> of(controller))
+					.build();
+
+			// memoized methods are invoked on the thread executing the query, which remembers their values
+			ExecutionResult result = new GraphQL(schema, new FutureExecutionStrategy()).execute("{ a: echo(value: \"x\") b: echo(value: \"x\") }");
+			assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+			assertEquals(ImmutableMap.of("a", "x", "b", "x"), result.getData());
+			assertEquals(1, controller.invocations);
+			assertEquals(0, dataFetcherExecutor.getInvocations());
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@GraphQLController
+	public static class CachedController {
+		private final FieldResultCaches caches;
+		private String greeting = "hello";
+		private int invocations;
+
+		public CachedController(FieldResultCaches caches) {
+			this.caches = caches;
+		}
+
+		@GraphQLQuery
+		@GraphQLCacheable
+		public String greet(@GraphQLParam(name = "name") String name, @GraphQLParam(name = "punctuation", defaultValue = "!") String punctuation) {
+			invocations++;
+			return greeting + " " + name + punctuation;
+		}
+
+		@GraphQLMutation
+		public String setGreeting(@GraphQLParam(name = "greeting") String greeting) {
+			this.greeting = greeting;
+			caches.invalidate(CachedController.class, "greet");
+			return greeting;
+		}
+	}
+
+	@Test
+	public void testCacheableQueries() {
+		FieldResultCaches caches = new FieldResultCaches(MoreExecutors.directExecutor());
+		CachedController controller = new CachedController(caches);
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerFieldResultCaches(caches)
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(controller))
+				.build();
+		GraphQL graphQL = new GraphQL(schema);
+
+		ExecutionResult result = graphQL.execute("{ a: greet(name: \"x\") b: greet(name: \"y\") }");
+		assertEquals(ImmutableMap.of("a", "hello x!", "b", "hello y!"), result.getData());
+		// values are shared between queries, and cached by every argument
+		result = graphQL.execute("{ a: greet(name: \"x\") b: greet(name: \"x\", punctuation: \"?\") }");
+		assertEquals(ImmutableMap.of("a", "hello x!", "b", "hello x?"), result.getData());
+		assertEquals(3, controller.invocations);
+		FieldResultCache cache = caches.getCache(CachedController.class, "greet").get();
+		assertEquals(1, cache.getStats().hitCount());
+		assertEquals(3, cache.getStats().missCount());
+
+		result = graphQL.execute("mutation { setGreeting(greeting: \"hi\") }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals(0, cache.size());
+		result = graphQL.execute("{ a: greet(name: \"x\") }");
+		assertEquals(ImmutableMap.of("a", "hi x!"), result.getData());
+		assertEquals(4, controller.invocations);
+
+		cache.invalidate(controller, ImmutableList.of("x", "!"));
+		graphQL.execute("{ a: greet(name: \"x\") b: greet(name: \"x\") }");
+		assertEquals(5, controller.invocations);
+	}
+
+	@GraphQLController
+	public static class PartiallyKeyedController {
+		@GraphQLQuery
+		@GraphQLCacheable(keyArgs = "name")
+		public String greet(@GraphQLParam(name = "name") String name, @GraphQLParam(name = "punctuation") String punctuation) {
+			return name + punctuation;
+		}
+	}
+
+	@Test
+	public void testCacheableNonKeyArguments() {
+		try {
+			GraphQLSchemaBuilder.newBuilder()
+					.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+					.registerGraphQLControllerObjects(ImmutableList.<Object> of(new PartiallyKeyedController()))
+					.build();
+			fail();
+		} catch (RuntimeException ex) {
+			assertTrue(Throwables.getRootCause(ex).getMessage(), Throwables.getRootCause(ex).getMessage().endsWith("must list its parameter punctuation in keyArgs"));
+		}
+	}
+
+	public static class EnvironmentDataFetcher extends DefaultMethodDataFetcher {
+		@Override
+		public Object invokeMethod(DataFetchingEnvironment environment, Method method, Object target, Object[] arguments) {
+			Preconditions.checkNotNull(environment);
+			return super.invokeMethod(environment, method, target, arguments);
+		}
+	}
+
+	@GraphQLController
+	public static class CachedIteratorController {
+		private int invocations;
+
+		@GraphQLQuery
+		@GraphQLCacheable
+		public Iterator<String> names() {
+			invocations++;
+			return ImmutableList.of("a", "b").iterator();
+		}
+
+		@GraphQLQuery
+		@GraphQLCacheable
+		@GraphQLDataFetcher(dataFetcher = EnvironmentDataFetcher.class)
+		public String environment() {
+			invocations++;
+			return "environment";
+		}
+	}
+
+	public static class CachedGame {
+		@GraphQLCacheable
+		public String getName() {
+			return "game";
+		}
+	}
+
+	@GraphQLController
+	public static class CachedGameController {
+		@GraphQLQuery
+		public CachedGame game() {
+			return new CachedGame();
+		}
+	}
+
+	@Test
+	public void testCacheableSingleUseValues() {
+		FieldResultCaches caches = new FieldResultCaches(MoreExecutors.directExecutor());
+		CachedIteratorController controller = new CachedIteratorController();
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerFieldResultCaches(caches)
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(controller))
+				.build();
+		GraphQL graphQL = new GraphQL(schema);
+
+		// the iterator is copied before it's cached, so every query completes all of its values
+		for (int i = 0; i < 2; i++) {
+			ExecutionResult result = graphQL.execute("{ names }");
+			assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+			assertEquals(ImmutableMap.of("names", ImmutableList.of("a", "b")), result.getData());
+		}
+		assertEquals(1, controller.invocations);
+
+		// data fetchers that override invokeMethod are invoked with the environment every time
+		for (int i = 0; i < 2; i++) {
+			ExecutionResult result = graphQL.execute("{ environment }");
+			assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+			assertEquals(ImmutableMap.of("environment", "environment"), result.getData());
+		}
+		assertEquals(3, controller.invocations);
+		assertFalse(caches.getCache(CachedIteratorController.class, "environment").isPresent());
+	}
+
+	@Test
+	public void testCacheableTypeMethods() {
+		try {
+			GraphQLSchemaBuilder.newBuilder()
+					.registerFieldResultCaches(new FieldResultCaches())
+					.registerGraphQLControllerObjects(ImmutableList.<Object> of(new CachedGameController()))
+					.build();
+			fail();
+		} catch (RuntimeException ex) {
+			assertTrue(Throwables.getRootCause(ex).getMessage().contains("must be a method of a controller"));
+		}
+	}
+
+	@GraphQLController
+	public static class IterableController {
+		@GraphQLQuery
+		public Set<String> set() {
+			return Sets.newLinkedHashSet(ImmutableList.of("a", "b"));
+		}
+
+		@GraphQLQuery
+		public Iterable<String> iterable() {
+			return Iterables.limit(ImmutableList.of("a", "b", "c"), 2);
+		}
+
+		@GraphQLQuery
+		public Iterator<Integer> iterator() {
+			return ImmutableList.of(1, 2).iterator();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testIterableResults() {
+		// lists aren't copied
+		List<String> list = Lists.newArrayList("a");
+		assertSame(list, new CollectionConverterDataFetcher(null).convert(list));
+
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new IterableController()))
+				.build();
+		assertEquals(new GraphQLList(Scalars.GraphQLString), schema.getQueryType().getFieldDefinition("iterable").getType());
+		assertEquals(new GraphQLList(Scalars.GraphQLInt), schema.getQueryType().getFieldDefinition("iterator").getType());
+
+		ExecutionResult result = new GraphQL(schema).execute("{ set iterable iterator }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals(ImmutableMap.of("set", ImmutableList.of("a", "b"), "iterable", ImmutableList.of("a", "b"), "iterator", ImmutableList.of(1, 2)),
+				result.getData());
+	}
+
+	@GraphQLController
+	public static class MemoizedIteratorController {
+		@GraphQLQuery(memoize = true)
+		public Iterator<String> names() {
+			return ImmutableList.of("a", "b").iterator();
+		}
+	}
+
+	@Test
+	public void testMemoizedIteratorResults() {
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new MemoizedIteratorController()))
+				.build();
+
+		// both fields complete the same value
+		ExecutionResult result = new GraphQL(schema, new FutureExecutionStrategy()).execute("{ x: names y: names }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals(ImmutableMap.of("x", ImmutableList.of("a", "b"), "y", ImmutableList.of("a", "b")), result.getData());
+	}
+
+	@GraphQLController
+	public static class MapController {
+		@GraphQLQuery
+		public Map<String, Integer> counts() {
+			Map<String, Integer> rv = Maps.newHashMap();
+			rv.put("a", 1);
+			return rv;
+		}
+
+		@GraphQLQuery
+		public EnumMap<TimeUnit, String> units() {
+			EnumMap<TimeUnit, String> rv = new EnumMap<>(TimeUnit.class);
+			rv.put(TimeUnit.SECONDS, "s");
+			return rv;
+		}
+	}
+
+	@Test
+	public void testMapResults() throws Exception {
+		File snapshotDirectory = Files.createTempDirectory("schema-snapshot").toFile();
+		try {
+			List<Object> controllers = ImmutableList.<Object> of(new MapController());
+			GraphQLSchema generated = GraphQLSchemaBuilder.newBuilder()
+					.registerGraphQLControllerObjects(controllers)
+					.registerSchemaSnapshotDirectory(snapshotDirectory)
+					.build();
+			GraphQLSchema restored = GraphQLSchemaBuilder.newBuilder()
+					.registerGraphQLControllerObjects(controllers)
+					.registerSchemaSnapshotDirectory(snapshotDirectory)
+					.build();
+			// the entries of a HashMap can't be read through property reflection
+			for (GraphQLSchema schema : ImmutableList.of(generated, restored)) {
+				ExecutionResult result = new GraphQL(schema).execute("{ counts { key value } units { SECONDS DAYS } }");
+				assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+				Map<String, Object> units = Maps.newHashMap();
+				units.put("SECONDS", "s");
+				units.put("DAYS", null);
+				assertEquals(ImmutableMap.of("counts", ImmutableList.of(ImmutableMap.of("key", "a", "value", 1)), "units", units), result.getData());
+			}
+		} finally {
+			for (File file : snapshotDirectory.listFiles()) {
+				file.delete();
+			}
+			snapshotDirectory.delete();
+		}
+	}
+
+	@GraphQLController
+	public static class PrimitiveArrayController {
+		@GraphQLQuery
+		public int[] ints() {
+			return new int[] { 1, 2 };
+		}
+
+		@GraphQLQuery
+		public double[] doubles() {
+			return new double[] { 0.5, Double.NaN };
+		}
+
+		@GraphQLQuery
+		public float[] floats() {
+			return new float[] { 0.5f };
+		}
+
+		@GraphQLQuery
+		public boolean[] booleans() {
+			return null;
+		}
+
+		@GraphQLQuery
+		public String[] strings() {
+			return new String[] { "a" };
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testPrimitiveArrays() {
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new PrimitiveArrayController()))
+				.build();
+		assertEquals(new GraphQLList(Scalars.GraphQLInt), schema.getQueryType().getFieldDefinition("ints").getType());
+		assertEquals(new GraphQLList(Scalars.GraphQLString), schema.getQueryType().getFieldDefinition("strings").getType());
+
+		String query = "{ ints doubles floats booleans strings }";
+		ExecutionResult completed = new GraphQL(schema).execute(query);
+		assertEquals(completed.getErrors().toString(), 0, completed.getErrors().size());
+		Map<String, Object> data = completed.getData();
+		assertEquals(ImmutableList.of(1, 2), data.get("ints"));
+		assertEquals(Lists.newArrayList(0.5, null), data.get("doubles"));
+		assertEquals(ImmutableList.of(0.5), data.get("floats"));
+		assertEquals(ImmutableList.of(), data.get("booleans"));
+		assertEquals(ImmutableList.of("a"), data.get("strings"));
+
+		// the future strategy returns the views of the arrays instead of completing each value
+		ExecutionResult result = new GraphQL(schema, new FutureExecutionStrategy()).execute(query);
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals(data, result.getData());
+		assertTrue(((Map<String, Object>) result.getData()).get("ints") instanceof ScalarList);
+	}
+
+	public static class PrimitiveArrayHolder {
+		private int[] ints = { 1 };
+		private char[] chars = { 'a' };
+		private int[][] grid = { { 1 } };
+	}
+
+	@GraphQLController
+	public static class PrimitiveArrayHolderController {
+		@GraphQLQuery
+		public PrimitiveArrayHolder holder() {
+			return new PrimitiveArrayHolder();
+		}
+	}
+
+	@GraphQLController
+	public static class ShortArrayController {
+		@GraphQLQuery
+		public short[] shorts() {
+			return new short[] { 1 };
+		}
+	}
+
+	@Test
+	public void testUnmappablePrimitiveArrays() {
+		// fields of arrays GraphQL can't complete are ignored
+		GraphQLSchema schema = GraphQLSchemaBuilder.newBuilder()
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new PrimitiveArrayHolderController()))
+				.build();
+		GraphQLObjectType holderType = (GraphQLObjectType) schema.getType("PrimitiveArrayHolder");
+		assertNotNull(holderType.getFieldDefinition("ints"));
+		assertNull(holderType.getFieldDefinition("chars"));
+		assertNull(holderType.getFieldDefinition("grid"));
+
+		try {
+			GraphQLSchemaBuilder.newBuilder()
+					.registerGraphQLControllerObjects(ImmutableList.<Object> of(new ShortArrayController()))
+					.build();
+			fail();
+		} catch (RuntimeException ex) {
+			assertTrue(Throwables.getRootCause(ex).getMessage(), Throwables.getRootCause(ex).getMessage().startsWith("short[] is not mappable"));
+		}
+	}
+
+	@Test
+	public void testDiscoveryClassLoader() {
+		final List<ClassLoader> classLoaders = Lists.newArrayList();
+		GraphQLSchema schema = new GraphQLSchemaBuilder() {
+			@Override
+			protected ClassLoader getDiscoveryClassLoader() {
+				ClassLoader rv = GraphQLSchemaBuilderTest.class.getClassLoader();
+				classLoaders.add(rv);
+				return rv;
+			}
+		}.registerGraphQLControllerObjects(ImmutableList.<Object> of(new PrimitiveArrayController())).build();
+		assertEquals(1, classLoaders.size());
+		assertEquals(new GraphQLList(Scalars.GraphQLInt), schema.getQueryType().getFieldDefinition("ints").getType());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testAddAndRemoveController() {
+		RecursiveInputController recursiveInputController = new RecursiveInputController();
+		GraphQLSchemaBuilder builder = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new TestController()));
+		GraphQLSchema schema = builder.build();
+		GraphQLType testType = schema.getType("TestType");
+		assertNotNull(testType);
+		assertNull(schema.getType("TreeNode_Input"));
+
+		GraphQLSchema added = builder.addGraphQLController(recursiveInputController);
+		assertSame(testType, added.getType("TestType"));
+		assertNotNull(added.getType("TreeNode_Input"));
+		assertNull(schema.getQueryType().getFieldDefinition("childName"));
+		ExecutionResult result = new GraphQL(added).execute("{ childName(node: {name: \"parent\", child: {name: \"child\"}}) }");
+		assertEquals(result.getErrors().toString(), 0, result.getErrors().size());
+		assertEquals("child", ((Map<String, String>) result.getData()).get("childName"));
+
+		GraphQLSchema removed = builder.removeGraphQLController(recursiveInputController);
+		assertSame(testType, removed.getType("TestType"));
+		assertNull(removed.getType("TreeNode_Input"));
+		assertNull(removed.getQueryType().getFieldDefinition("childName"));
+		assertNotNull(added.getQueryType().getFieldDefinition("childName"));
+	}
+
+	@Test
+	public void testRepeatedBuilds() {
+		GraphQLSchemaBuilder builder = GraphQLSchemaBuilder.newBuilder()
+				.registerTypeFactory(new JacksonTypeFactory(new ObjectMapper()))
+				.registerGraphQLControllerObjects(ImmutableList.<Object> of(new TestController()))
+				.relayEnabled(true);
+		builder.build();
+		List<Object> controllers = ImmutableList.copyOf(builder.getGraphQLControllers());
+		List<IGraphQLTypeMapper> typeMappers = ImmutableList.copyOf(builder.getTypeMappers());
+		assertEquals(2, controllers.size());
+
+		// the default type mappers and the node handler aren't added again
+		GraphQLSchema schema = builder.build();
+		assertEquals(controllers, builder.getGraphQLControllers());
+		assertEquals(typeMappers, builder.getTypeMappers());
+		assertNotNull(schema.getQueryType().getFieldDefinition("node"));
+
+		// controllers whose fields can't be generated aren't kept
+		try {
+			builder.addGraphQLController(new ShortArrayController());
+			fail();
+		} catch (RuntimeException ex) {
+			assertTrue(Throwables.getRootCause(ex).getMessage(), Throwables.getRootCause(ex).getMessage().startsWith("short[] is not mappable"));
+		}
+		assertEquals(controllers, builder.getGraphQLControllers());
+		assertNotNull(builder.build().getQueryType());
+	}
 }
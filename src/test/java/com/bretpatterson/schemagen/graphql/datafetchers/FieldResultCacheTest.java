@@ -0,0 +1,97 @@
+package com.bretpatterson.schemagen.graphql.datafetchers;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class FieldResultCacheTest {
+
+	private final Object controller = new Object();
+	private FakeTicker ticker;
+	private List<Runnable> refreshes;
+	private Executor refreshExecutor;
+	private int invocations;
+	private Callable<Object> loader;
+
+	private static final class FakeTicker extends Ticker {
+		private long nanos;
+
+		@Override
+		public long read() {
+			return nanos;
+		}
+
+		void advance(long duration, TimeUnit unit) {
+			nanos += unit.toNanos(duration);
+		}
+	}
+
+	@Before
+	public void setUp() {
+		ticker = new FakeTicker();
+		refreshes = Lists.newArrayList();
+		refreshExecutor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				refreshes.add(command);
+			}
+		};
+		invocations = 0;
+		loader = new Callable<Object>() {
+			@Override
+			public Object call() {
+				return "value-" + ++invocations;
+			}
+		};
+	}
+
+	@Test
+	public void testTtl() {
+		FieldResultCache cache = new FieldResultCache(10, 60, 0, TimeUnit.SECONDS, refreshExecutor, ticker);
+		assertEquals("value-1", cache.get(controller, ImmutableList.of("x"), loader));
+		ticker.advance(59, TimeUnit.SECONDS);
+		assertEquals("value-1", cache.get(controller, ImmutableList.of("x"), loader));
+
+		// expired values are fetched again by the query that requests them
+		ticker.advance(1, TimeUnit.SECONDS);
+		assertEquals("value-2", cache.get(controller, ImmutableList.of("x"), loader));
+		assertEquals(2, invocations);
+		assertEquals(0, refreshes.size());
+		assertEquals(1, cache.getStats().hitCount());
+		assertEquals(2, cache.getStats().missCount());
+	}
+
+	@Test
+	public void testRefreshAfter() {
+		FieldResultCache cache = new FieldResultCache(10, 60, 10, TimeUnit.SECONDS, refreshExecutor, ticker);
+		assertEquals("value-1", cache.get(controller, ImmutableList.of("x"), loader));
+		ticker.advance(10, TimeUnit.SECONDS);
+		assertEquals("value-1", cache.get(controller, ImmutableList.of("x"), loader));
+		assertEquals(0, refreshes.size());
+		ticker.advance(1, TimeUnit.SECONDS);
+
+		// the stale value is returned while it's refreshed in the background
+		assertEquals("value-1", cache.get(controller, ImmutableList.of("x"), loader));
+		assertEquals(1, refreshes.size());
+		assertEquals(1, invocations);
+		assertEquals("value-1", cache.get(controller, ImmutableList.of("x"), loader));
+
+		refreshes.get(0).run();
+		assertEquals(2, invocations);
+		assertEquals("value-2", cache.get(controller, ImmutableList.of("x"), loader));
+
+		// values that weren't requested until they expired are fetched again by the query
+		ticker.advance(60, TimeUnit.SECONDS);
+		assertEquals("value-3", cache.get(controller, ImmutableList.of("x"), loader));
+		assertEquals(1, refreshes.size());
+	}
+}
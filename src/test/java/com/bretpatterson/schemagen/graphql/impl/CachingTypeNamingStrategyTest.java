@@ -0,0 +1,43 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.IGraphQLObjectMapper;
+import com.bretpatterson.schemagen.graphql.ITypeNamingStrategy;
+import com.bretpatterson.schemagen.graphql.relay.RelayConnection;
+import com.google.common.reflect.TypeToken;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CachingTypeNamingStrategyTest {
+	IGraphQLObjectMapper graphQLObjectMapper = mock(IGraphQLObjectMapper.class);
+
+	@SuppressWarnings({ "unchecked", "serial", "rawtypes" })
+	@Test
+	public void testNamesAreGeneratedOnce() {
+		ITypeNamingStrategy delegate = spy(new RelayTypeNamingStrategy());
+		CachingTypeNamingStrategy strategy = CachingTypeNamingStrategy.of(delegate);
+		assertSame(strategy, CachingTypeNamingStrategy.of(strategy));
+
+		given(graphQLObjectMapper.getClassFromType(eq(String.class))).willReturn((Class) String.class);
+		given(graphQLObjectMapper.getClassFromType(eq(new TypeToken<RelayConnection<String>>(){}.getType()))).willReturn((Class) RelayConnection.class);
+
+		assertEquals("Relay_String_Connection", strategy.getTypeName(graphQLObjectMapper, new TypeToken<RelayConnection<String>>(){}.getType()));
+		assertEquals("Relay_String_Connection", strategy.getTypeName(graphQLObjectMapper, new TypeToken<RelayConnection<String>>(){}.getType()));
+		assertEquals("String", strategy.getTypeName(graphQLObjectMapper, String.class));
+		assertEquals("String", strategy.getTypeName(graphQLObjectMapper, String.class));
+		verify(delegate, times(2)).getTypeName(any(IGraphQLObjectMapper.class), any(Type.class));
+
+		assertEquals("String_Input", strategy.getInputTypeName("String"));
+		assertSame(strategy.getInputTypeName("String"), strategy.getInputTypeName("String"));
+	}
+}
@@ -18,8 +18,10 @@ import com.bretpatterson.schemagen.graphql.datafetchers.DefaultTypeConverter;
 import com.bretpatterson.schemagen.graphql.datafetchers.IDataFetcher;
 import com.bretpatterson.schemagen.graphql.relay.RelayConnection;
 import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.typemappers.java.util.MapMapper;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.reflect.TypeToken;
 import graphql.Scalars;
 import graphql.schema.DataFetcher;
@@ -35,14 +37,22 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 /**
  * Created by bpatterson on 1/23/16.
@@ -595,4 +605,61 @@ public class GraphQLObjectMapperTest {
 
 		assertTrue(objectType.getFieldDefinitions().isEmpty());
 	}
+
+	@SuppressWarnings("unused")
+	private GenericObjectVariableResolution1<String, String> genericField;
+
+	@SuppressWarnings("serial")
+	@Test
+	public void testTypeIdentityCache() throws NoSuchFieldException {
+		ITypeNamingStrategy typeNamingStrategy = spy(new SimpleTypeNamingStrategy());
+		IGraphQLObjectMapper graphQLObjectMapper = newGraphQLObjectMapper(Optional.of(typeNamingStrategy));
+
+		GraphQLOutputType outputType = graphQLObjectMapper.getOutputType(new TypeToken<GenericObjectVariableResolution1<String, String>>() {
+		}.getType());
+		GraphQLInputType inputType = graphQLObjectMapper.getInputType(String.class);
+		reset(typeNamingStrategy);
+
+		// equal parameterized types from another source are resolved without naming the type again
+		assertSame(outputType, graphQLObjectMapper.getOutputType(GraphQLObjectMapperTest.class.getDeclaredField("genericField").getGenericType()));
+		assertSame(inputType, graphQLObjectMapper.getInputType(String.class));
+		verify(typeNamingStrategy, never()).getTypeName(any(IGraphQLObjectMapper.class), any(Type.class));
+	}
+
+	@GraphQLTypeMapper(type = Map.class)
+	public static class CountingMapMapper extends MapMapper {
+		int handlesTypeCount;
+
+		@Override
+		public boolean handlesType(IGraphQLObjectMapper graphQLObjectMapper, Type type) {
+			handlesTypeCount++;
+			return super.handlesType(graphQLObjectMapper, type);
+		}
+	}
+
+	@SuppressWarnings("serial")
+	@Test
+	public void testInterfaceTypeMapperDispatch() {
+		CountingMapMapper mapMapper = new CountingMapMapper();
+		List<IGraphQLTypeMapper> typeMappers = Lists.newArrayList(GraphQLSchemaBuilder.getDefaultTypeMappers());
+		typeMappers.add(0, mapMapper);
+		IGraphQLObjectMapper graphQLObjectMapper = new GraphQLObjectMapper(objectMapper,
+				typeMappers,
+				Optional.<ITypeNamingStrategy> absent(),
+				Optional.<IDataFetcherFactory> absent(),
+				Optional.<Class<? extends IDataFetcher>> absent(),
+				GraphQLSchemaBuilder.getDefaultTypeConverters(),
+				ImmutableList.<Class<?>> of());
+
+		// classes that don't implement Map are never offered to the map mapper
+		assertEquals(GraphQLList.class, graphQLObjectMapper.getOutputType(new TypeToken<ArrayList<String>>() {
+		}.getType()).getClass());
+		graphQLObjectMapper.getOutputType(TestType.class);
+		assertEquals(0, mapMapper.handlesTypeCount);
+
+		// implementations of Map are found through their superclasses
+		assertEquals(GraphQLList.class, graphQLObjectMapper.getOutputType(new TypeToken<LinkedHashMap<String, String>>() {
+		}.getType()).getClass());
+		assertTrue(mapMapper.handlesTypeCount > 0);
+	}
 }
@@ -4,6 +4,7 @@ import com.bretpatterson.schemagen.graphql.GraphQLSchemaBuilder;
 import com.bretpatterson.schemagen.graphql.IDataFetcherFactory;
 import com.bretpatterson.schemagen.graphql.ITypeNamingStrategy;
 import com.bretpatterson.schemagen.graphql.ITypeFactory;
+import com.bretpatterson.schemagen.graphql.datafetchers.EnumMapDataFetcher;
 import com.bretpatterson.schemagen.graphql.datafetchers.IDataFetcher;
 import com.bretpatterson.schemagen.graphql.datafetchers.MapConverterDataFetcher;
 import com.bretpatterson.schemagen.graphql.typemappers.java.util.MapMapper;
@@ -11,7 +12,6 @@ import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.reflect.TypeToken;
 import graphql.Scalars;
-import graphql.schema.GraphQLEnumType;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLObjectType;
@@ -23,6 +23,7 @@ import org.mockito.Mock;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -31,6 +32,7 @@ import java.util.TreeSet;
 import java.util.Vector;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 
 /**
@@ -361,17 +363,38 @@ public class GraphQLObjectMapper_CollectionsTest {
 
 	}
 
+	private class EnumMapTestObject {
+		@SuppressWarnings("unused")
+		EnumMap<TestEnum, String> mapField;
+	}
+
+	@SuppressWarnings("serial")
+	@Test
+	public void testEnumMapTypeMapping() {
+		GraphQLObjectType mapType = (GraphQLObjectType) graphQLObjectMapper.getOutputType(new TypeToken<Map<TestEnum, List<String>>>() {
+		}.getType());
+		assertEquals("Map_TestEnum_List_String", mapType.getName());
+		assertEquals(3, mapType.getFieldDefinitions().size());
+		assertEquals(new GraphQLList(Scalars.GraphQLString), mapType.getFieldDefinition(TestEnum.KEY2.name()).getType());
+		assertEquals(EnumMapDataFetcher.class, mapType.getFieldDefinition(TestEnum.KEY2.name()).getDataFetcher().getClass());
+
+		GraphQLObjectType objectType = (GraphQLObjectType) graphQLObjectMapper.getOutputType(EnumMapTestObject.class);
+		assertEquals(GraphQLObjectType.class, objectType.getFieldDefinition("mapField").getType().getClass());
+		// the fields read the map, it's not converted
+		assertFalse(objectType.getFieldDefinition("mapField").getDataFetcher() instanceof MapConverterDataFetcher);
+	}
+
 	@SuppressWarnings("serial")
 	@Test
 	public void testRecursiveTypes() {
 		GraphQLList listType = (GraphQLList) graphQLObjectMapper
-				.getOutputType(new TypeToken<Map<TestEnum, List<List<List<List<List<List<String>>>>>>>>() {
+				.getOutputType(new TypeToken<Map<String, List<List<List<List<List<List<String>>>>>>>>() {
 				}.getType());
 		GraphQLObjectType outputType = (GraphQLObjectType) listType.getWrappedType();
 
-		assertEquals("Map_TestEnum_List_List_List_List_List_List_String", outputType.getName());
+		assertEquals("Map_String_List_List_List_List_List_List_String", outputType.getName());
 
-		GraphQLEnumType keyType = (GraphQLEnumType) outputType.getFieldDefinition(MapMapper.KEY_NAME).getType();
+		assertEquals(Scalars.GraphQLString, outputType.getFieldDefinition(MapMapper.KEY_NAME).getType());
 		GraphQLType valueType = outputType.getFieldDefinition(MapMapper.VALUE_NAME).getType();
 		int depth = 0;
 		while (valueType.getClass() == GraphQLList.class) {
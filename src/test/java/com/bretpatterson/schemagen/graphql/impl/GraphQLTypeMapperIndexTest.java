@@ -0,0 +1,35 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.typemappers.IGraphQLTypeMapper;
+import com.bretpatterson.schemagen.graphql.typemappers.java.util.CollectionMapper;
+import com.bretpatterson.schemagen.graphql.typemappers.java.util.MapMapper;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GraphQLTypeMapperIndexTest {
+
+	@Test
+	public void testIndexedTypeMappers() {
+		List<Class<? extends IGraphQLTypeMapper>> typeMapperClasses = GraphQLTypeMapperIndex.getTypeMapperClasses(getClass().getClassLoader());
+
+		assertTrue(typeMapperClasses.contains(CollectionMapper.class));
+		assertTrue(typeMapperClasses.contains(MapMapper.class));
+		// the index is only read once per classloader
+		assertSame(typeMapperClasses, GraphQLTypeMapperIndex.getTypeMapperClasses(getClass().getClassLoader()));
+		assertEquals(typeMapperClasses.size(), GraphQLTypeMapperIndex.newTypeMappers(typeMapperClasses).size());
+	}
+
+	@Test
+	public void testIndexMatchesScan() {
+		List<Class<? extends IGraphQLTypeMapper>> typeMapperClasses = GraphQLTypeMapperIndex.getTypeMapperClasses(getClass().getClassLoader());
+
+		for (Class<? extends IGraphQLTypeMapper> scanned : GraphQLTypeMapperIndex.scanTypeMapperClasses(IGraphQLTypeMapper.class.getPackage().getName())) {
+			assertTrue(scanned.getName() + " is not indexed", typeMapperClasses.contains(scanned));
+		}
+	}
+}
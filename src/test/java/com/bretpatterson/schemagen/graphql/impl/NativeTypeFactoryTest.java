@@ -0,0 +1,107 @@
+package com.bretpatterson.schemagen.graphql.impl;
+
+import com.bretpatterson.schemagen.graphql.relay.ConnectionCursor;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.reflect.TypeToken;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NativeTypeFactoryTest {
+
+	private enum Color {
+		RED, GREEN
+	}
+
+	private static class TreeNode<T> {
+		private T value;
+		private int depth;
+		private List<TreeNode<T>> children;
+		private String label;
+
+		public void setLabel(String label) {
+			this.label = "set " + label;
+		}
+	}
+
+	private static class Settings {
+		private Map<String, Integer> limits;
+		private SortedMap<Color, Date> dates;
+		private Set<Color> colors;
+		private EnumSet<Color> enumColors;
+		private long[] ids;
+		private ConnectionCursor cursor;
+		private BigDecimal price;
+		private BigInteger count;
+	}
+
+	private final NativeTypeFactory typeFactory = new NativeTypeFactory();
+
+	@SuppressWarnings({ "serial", "unchecked" })
+	@Test
+	public void testConvertObjects() {
+		Map<String, Object> tree = ImmutableMap.<String, Object> of("value", "root", "label", "a", "unknown", 1, "children",
+				ImmutableList.of(ImmutableMap.of("value", "child", "depth", 1)));
+
+		TreeNode<String> node = (TreeNode<String>) typeFactory.convertToType(new TypeToken<TreeNode<String>>() {
+		}.getType(), tree);
+		assertEquals("root", node.value);
+		assertEquals("set a", node.label);
+		assertEquals(0, node.depth);
+		assertEquals(1, node.children.size());
+		assertEquals("child", node.children.get(0).value);
+		assertEquals(1, node.children.get(0).depth);
+		assertNull(node.children.get(0).children);
+
+		TreeNode<Integer> integerNode = (TreeNode<Integer>) typeFactory.convertToType(new TypeToken<TreeNode<Integer>>() {
+		}.getType(), ImmutableMap.of("value", 5L));
+		assertEquals(Integer.valueOf(5), integerNode.value);
+	}
+
+	@Test
+	public void testConvertCollectionsAndScalars() {
+		Map<String, Object> settings = ImmutableMap.<String, Object> builder()
+				.put("limits", ImmutableList.of(ImmutableMap.of("key", "a", "value", 1L), ImmutableMap.of("key", "b", "value", 2L)))
+				.put("dates", ImmutableMap.of("GREEN", ImmutableMap.of("time", "2"), "RED", 1L))
+				.put("colors", ImmutableList.of(Color.GREEN, "RED"))
+				.put("enumColors", ImmutableList.of("GREEN"))
+				.put("ids", ImmutableList.of(1, 2L))
+				.put("cursor", "next")
+				.put("price", 1.5)
+				.put("count", "12")
+				.build();
+
+		Settings rv = (Settings) typeFactory.convertToType(Settings.class, settings);
+		assertEquals(ImmutableMap.of("a", 1, "b", 2), rv.limits);
+		assertEquals(ImmutableList.of(Color.GREEN, Color.RED), ImmutableList.copyOf(rv.colors));
+		assertEquals(ImmutableList.of(Color.RED, Color.GREEN), ImmutableList.copyOf(rv.dates.keySet()));
+		assertEquals(new Date(2), rv.dates.get(Color.GREEN));
+		assertEquals(new Date(1), rv.dates.get(Color.RED));
+		assertEquals(EnumSet.of(Color.GREEN), rv.enumColors);
+		assertArrayEquals(new long[] { 1, 2 }, rv.ids);
+		assertEquals("next", rv.cursor.getValue());
+		assertEquals(new BigDecimal("1.5"), rv.price);
+		assertEquals(BigInteger.valueOf(12), rv.count);
+
+		assertSame(Color.RED, typeFactory.convertToType(Color.class, "RED"));
+		assertEquals(ImmutableSet.of('a'), ImmutableSet.copyOf((Set<?>) typeFactory.convertToType(new TypeToken<Set<Character>>() {
+		}.getType(), "a")));
+		assertNull(typeFactory.convertToType(Settings.class, null));
+		assertTrue((Boolean) typeFactory.convertToType(boolean.class, true));
+	}
+}
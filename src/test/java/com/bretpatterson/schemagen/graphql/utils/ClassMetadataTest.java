@@ -0,0 +1,91 @@
+package com.bretpatterson.schemagen.graphql.utils;
+
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLParam;
+import com.bretpatterson.schemagen.graphql.annotations.GraphQLQuery;
+import com.bretpatterson.schemagen.graphql.datafetchers.IMethodInvoker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeToken;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ClassMetadataTest {
+
+	@SuppressWarnings("unused")
+	private static class TestController {
+		private String name;
+
+		@GraphQLQuery
+		public List<String> find(@GraphQLParam(name = "names") List<String> names, int limit) {
+			return names;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	@SuppressWarnings("serial")
+	@Test
+	public void testMetadataIsShared() throws NoSuchMethodException {
+		ClassMetadata metadata = ClassMetadata.of(TestController.class);
+		assertSame(metadata, ClassMetadata.of(TestController.class));
+		assertSame(metadata.getDeclaredFields(), ClassMetadata.of(TestController.class).getDeclaredFields());
+
+		assertEquals("name", metadata.getDeclaredField("name").get().getName());
+		assertFalse(metadata.getDeclaredField("missing").isPresent());
+
+		Method find = TestController.class.getDeclaredMethod("find", List.class, int.class);
+		assertEquals(ImmutableList.of(find), metadata.getMethodsWithAnnotation(GraphQLQuery.class));
+		assertSame(metadata.getMethodsWithAnnotation(GraphQLQuery.class).get(0), metadata.getDeclaredMethod("find", List.class, int.class).get());
+
+		ClassMetadata.MethodMetadata methodMetadata = ClassMetadata.of(find);
+		assertSame(methodMetadata, metadata.getMethod(find));
+		assertEquals(new TypeToken<List<String>>() {
+		}.getType(), methodMetadata.getGenericReturnType());
+		assertEquals(ImmutableList.of(new TypeToken<List<String>>() {
+		}.getType(), int.class), methodMetadata.getGenericParameterTypes());
+		assertEquals("names", methodMetadata.getParameterAnnotation(0, GraphQLParam.class).name());
+		assertNull(methodMetadata.getParameterAnnotation(1, GraphQLParam.class));
+	}
+
+	public static class InvokedObject {
+		public static String join(String left, String right) {
+			return left + right;
+		}
+
+		public int size(List<String> values) {
+			return values.size();
+		}
+
+		public void fail(String message) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+	@Test
+	public void testMethodInvoker() throws Exception {
+		ClassMetadata metadata = ClassMetadata.of(InvokedObject.class);
+		IMethodInvoker join = metadata.getMethod(metadata.getDeclaredMethod("join", String.class, String.class).get()).getMethodInvoker().get();
+		IMethodInvoker size = metadata.getMethod(metadata.getDeclaredMethod("size", List.class).get()).getMethodInvoker().get();
+		IMethodInvoker fail = metadata.getMethod(metadata.getDeclaredMethod("fail", String.class).get()).getMethodInvoker().get();
+		assertSame(join, metadata.getMethod(metadata.getDeclaredMethod("join", String.class, String.class).get()).getMethodInvoker().get());
+
+		assertEquals("ab", join.invoke(null, new Object[] { "a", "b" }));
+		assertEquals(2, size.invoke(new InvokedObject(), new Object[] { ImmutableList.of("a", "b") }));
+		try {
+			fail.invoke(new InvokedObject(), new Object[] { "failed" });
+			fail();
+		} catch (IllegalStateException ex) {
+			// exceptions of the method aren't wrapped
+			assertEquals("failed", ex.getMessage());
+		}
+	}
+}